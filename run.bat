@@ -7,13 +7,55 @@ if not exist bin mkdir bin
 
 REM Compile the Java files
 javac -d bin -cp "lib\*" ^
+    src\com\unifix\database\PoolConfig.java ^
+    src\com\unifix\database\PoolStats.java ^
+    src\com\unifix\database\StatementCacheStats.java ^
+    src\com\unifix\database\StatementCache.java ^
+    src\com\unifix\database\LatencyHistogram.java ^
+    src\com\unifix\database\QueryStats.java ^
+    src\com\unifix\database\QueryMetrics.java ^
+    src\com\unifix\database\InstrumentedStatement.java ^
+    src\com\unifix\database\PooledConnection.java ^
+    src\com\unifix\database\ConnectionPool.java ^
+    src\com\unifix\database\ReplicaRouter.java ^
+    src\com\unifix\database\DatabaseBackend.java ^
     src\com\unifix\database\DBConnection.java ^
+    src\com\unifix\database\SchemaCapabilities.java ^
+    src\com\unifix\database\ScriptStats.java ^
+    src\com\unifix\database\ScriptRunner.java ^
+    src\com\unifix\database\SchemaMigrator.java ^
+    src\com\unifix\database\DatabaseExecutor.java ^
+    src\com\unifix\database\LatestQuery.java ^
+    src\com\unifix\database\UnitOfWork.java ^
+    src\com\unifix\database\ChunkedBuffer.java ^
+    src\com\unifix\database\StreamingReader.java ^
+    src\com\unifix\database\NamedLock.java ^
     src\com\unifix\utils\Location.java ^
     src\com\unifix\utils\UIUtilities.java ^
     src\com\unifix\auth\LoginPage.java ^
     src\com\unifix\auth\SignupPage.java ^
+    src\com\unifix\complaints\ComplaintSummary.java ^
+    src\com\unifix\complaints\ComplaintFilter.java ^
+    src\com\unifix\complaints\ComplaintRepository.java ^
+    src\com\unifix\complaints\ComplaintRollups.java ^
+    src\com\unifix\complaints\DeltaMerge.java ^
+    src\com\unifix\complaints\ComplaintPager.java ^
+    src\com\unifix\complaints\StatusCountService.java ^
+    src\com\unifix\complaints\StatusCounters.java ^
+    src\com\unifix\complaints\TechnicianDirectory.java ^
+    src\com\unifix\complaints\AssignmentEngine.java ^
+    src\com\unifix\complaints\BackgroundJobs.java ^
+    src\com\unifix\complaints\ComplaintBulkUpdate.java ^
+    src\com\unifix\complaints\LazyTableModel.java ^
+    src\com\unifix\complaints\ComplaintStore.java ^
+    src\com\unifix\complaints\ComplaintStoreModel.java ^
+    src\com\unifix\complaints\ComplaintStoreSorter.java ^
     src\com\unifix\complaints\ComplaintForm.java ^
     src\com\unifix\complaints\ComplaintTable.java ^
+    src\com\unifix\complaints\ComplaintCsvExport.java ^
+    src\com\unifix\complaints\ComplaintDetail.java ^
+    src\com\unifix\complaints\ComplaintDetailCache.java ^
+    src\com\unifix\complaints\ComplaintDetailPrefetcher.java ^
     src\com\unifix\complaints\ComplaintDetailsView.java ^
     src\com\unifix\solutions\SolutionPage.java ^
     src\com\unifix\dashboard\StudentDashboard.java ^
@@ -22,6 +64,9 @@ javac -d bin -cp "lib\*" ^
     src\com\unifix\dashboard\AdminDashboard.java ^
     src\com\unifix\main\FirstTimeSetup.java ^
     src\com\unifix\main\UpdateDatabase.java ^
+    src\com\unifix\main\RunScript.java ^
+    src\com\unifix\main\SyntheticData.java ^
+    src\com\unifix\main\QueryPlanCheck.java ^
     src\com\unifix\main\UniFix.java
 
 if %errorlevel% neq 0 (
@@ -33,14 +78,6 @@ if %errorlevel% neq 0 (
 
 echo.
 echo Compilation successful!
-echo.
-echo Updating database schema...
-echo =============================
-echo.
-
-REM Update database schema
-java -cp "bin;lib/*;resources" com.unifix.main.UpdateDatabase
-
 echo.
 echo Starting UniFix Application...
 echo =============================
@@ -0,0 +1,2 @@
+-- Technician directory: users of one role, by name
+CREATE INDEX idx_users_role_name ON users (role, name);
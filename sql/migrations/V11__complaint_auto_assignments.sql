@@ -0,0 +1,10 @@
+-- Automatic assignment (AssignmentEngine): the engine's latest decision per
+-- complaint, listed for wardens to review and override
+CREATE TABLE complaint_auto_assignments (
+    complaint_id INT PRIMARY KEY,
+    technician VARCHAR(100) NOT NULL,
+    score DOUBLE NOT NULL,
+    reason VARCHAR(200) NOT NULL,
+    assigned_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+CREATE INDEX idx_auto_assignments_assigned ON complaint_auto_assignments (assigned_at);
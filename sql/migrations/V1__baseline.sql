@@ -1,14 +1,11 @@
 -- ===========================================
---  UniFix Database Schema
+--  UniFix baseline schema
 -- ===========================================
+-- Tables as of the first release. Later columns are added by the
+-- following migrations so existing databases and fresh installs end up
+-- with the same schema.
 
-CREATE DATABASE IF NOT EXISTS unifix_db;
-USE unifix_db;
-
--- =============================
---  USERS TABLE
--- =============================
-CREATE TABLE users (
+CREATE TABLE IF NOT EXISTS users (
     user_id INT AUTO_INCREMENT PRIMARY KEY,
     name VARCHAR(100) NOT NULL,
     email VARCHAR(100) UNIQUE NOT NULL,
@@ -17,30 +14,23 @@ CREATE TABLE users (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
--- =============================
---  COMPLAINTS TABLE
--- =============================
-CREATE TABLE complaints (
+CREATE TABLE IF NOT EXISTS complaints (
     complaint_id INT AUTO_INCREMENT PRIMARY KEY,
     user_id INT,
     location VARCHAR(100),
     category VARCHAR(100),
     description TEXT,
-    image_path VARCHAR(255),
     status ENUM('Pending', 'In Progress', 'Resolved') DEFAULT 'Pending',
     assigned_to VARCHAR(100),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(user_id)
 );
 
--- =============================
---  SOLUTIONS TABLE
--- =============================
-CREATE TABLE solutions (
+CREATE TABLE IF NOT EXISTS solutions (
     solution_id INT AUTO_INCREMENT PRIMARY KEY,
     complaint_id INT,
     topic VARCHAR(100),
     resolution TEXT,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (complaint_id) REFERENCES complaints(complaint_id)
-);
\ No newline at end of file
+);
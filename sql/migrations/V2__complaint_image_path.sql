@@ -0,0 +1,2 @@
+-- Photo attached to a complaint (path under uploads/complaints)
+ALTER TABLE complaints ADD COLUMN image_path VARCHAR(255) AFTER description;
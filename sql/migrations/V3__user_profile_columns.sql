@@ -0,0 +1,4 @@
+-- Student profile page fields
+ALTER TABLE users ADD COLUMN register_no VARCHAR(20) AFTER email;
+ALTER TABLE users ADD COLUMN address VARCHAR(255) AFTER register_no;
+ALTER TABLE users ADD COLUMN phone VARCHAR(20) AFTER address;
@@ -0,0 +1,3 @@
+-- Used by the warden and technician queues
+ALTER TABLE complaints ADD COLUMN subcategory VARCHAR(100) AFTER category;
+ALTER TABLE complaints ADD COLUMN priority ENUM('Low', 'Medium', 'High') DEFAULT 'Low' AFTER location;
@@ -0,0 +1,16 @@
+-- Composite indexes for the dashboard queries (checked by QueryPlanCheck)
+
+-- Technician queue: assigned_to = ? AND status != 'Resolved' ORDER BY priority, created_at
+CREATE INDEX idx_complaints_assignee_queue ON complaints (assigned_to, status, priority, created_at);
+
+-- A student's complaints, newest first, and their per-status counts
+CREATE INDEX idx_complaints_user_created ON complaints (user_id, created_at);
+
+-- Admin list filtered by status, newest first; resolved-today count
+CREATE INDEX idx_complaints_status_created ON complaints (status, created_at);
+
+-- Warden queue: status = 'Pending' ORDER BY priority
+CREATE INDEX idx_complaints_status_priority ON complaints (status, priority);
+
+-- Unfiltered admin list, newest first
+CREATE INDEX idx_complaints_created ON complaints (created_at);
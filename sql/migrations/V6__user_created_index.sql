@@ -0,0 +1,2 @@
+-- Admin users list, newest first, read a block at a time
+CREATE INDEX idx_users_created ON users (created_at);
@@ -0,0 +1,13 @@
+-- Delta refresh (ComplaintRepository.fetchChanges): the database stamps every
+-- insert and update, so views can ask for what changed since they last synced
+
+ALTER TABLE complaints ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+CREATE INDEX idx_complaints_updated ON complaints (updated_at);
+CREATE INDEX idx_complaints_user_updated ON complaints (user_id, updated_at);
+
+-- Deleted complaints leave their id here so views can drop them too
+CREATE TABLE complaint_deletions (
+    complaint_id INT PRIMARY KEY,
+    deleted_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+CREATE INDEX idx_complaint_deletions_deleted ON complaint_deletions (deleted_at);
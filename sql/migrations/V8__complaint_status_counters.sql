@@ -0,0 +1,24 @@
+-- Maintained complaint counts per scope and status (StatusCounters), so the
+-- dashboards read a few primary-key rows instead of counting complaints.
+-- Scopes: 'global', 'user:<user_id>', 'assignee:<technician>'
+-- The seed counts overwrite any rows already there, so a re-run is harmless
+CREATE TABLE complaint_status_counters (
+    scope VARCHAR(120) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    complaints INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (scope, status)
+);
+
+INSERT INTO complaint_status_counters (scope, status, complaints)
+SELECT 'global', status, COUNT(*) FROM complaints WHERE status IS NOT NULL GROUP BY status
+ON DUPLICATE KEY UPDATE complaints = VALUES(complaints);
+
+INSERT INTO complaint_status_counters (scope, status, complaints)
+SELECT CONCAT('user:', user_id), status, COUNT(*) FROM complaints
+WHERE user_id IS NOT NULL AND status IS NOT NULL GROUP BY user_id, status
+ON DUPLICATE KEY UPDATE complaints = VALUES(complaints);
+
+INSERT INTO complaint_status_counters (scope, status, complaints)
+SELECT CONCAT('assignee:', assigned_to), status, COUNT(*) FROM complaints
+WHERE assigned_to IS NOT NULL AND status IS NOT NULL GROUP BY assigned_to, status
+ON DUPLICATE KEY UPDATE complaints = VALUES(complaints);
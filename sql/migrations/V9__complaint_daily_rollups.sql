@@ -0,0 +1,36 @@
+-- Admin statistics read per-day aggregates (ComplaintRollups) instead of
+-- grouping and joining every complaint and solution
+CREATE TABLE complaint_daily_rollups (
+    rollup_day DATE NOT NULL,
+    location VARCHAR(100) NOT NULL,
+    category VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    complaints INT NOT NULL,
+    -- Solutions of resolved complaints and the hours from complaint to solution, summed
+    resolutions INT NOT NULL,
+    resolution_hours BIGINT NOT NULL,
+    PRIMARY KEY (rollup_day, location, category, status)
+);
+
+-- How far each incremental job has read complaints.updated_at
+CREATE TABLE rollup_watermarks (
+    name VARCHAR(50) PRIMARY KEY,
+    watermark TIMESTAMP(3) NOT NULL
+);
+
+-- A deleted complaint's day has to be recomputed too
+ALTER TABLE complaint_deletions ADD COLUMN created_at TIMESTAMP NULL;
+
+-- Seeds overwrite rows already there, so a re-run is harmless
+INSERT INTO rollup_watermarks (name, watermark) VALUES ('complaint_daily_rollups', CURRENT_TIMESTAMP(3))
+ON DUPLICATE KEY UPDATE watermark = VALUES(watermark);
+
+INSERT INTO complaint_daily_rollups (rollup_day, location, category, status, complaints, resolutions, resolution_hours)
+SELECT CAST(c.created_at AS DATE), COALESCE(c.location, ''), COALESCE(c.category, ''), c.status,
+       COUNT(DISTINCT c.complaint_id), COUNT(s.solution_id),
+       COALESCE(SUM(TIMESTAMPDIFF(HOUR, c.created_at, s.updated_at)), 0)
+FROM complaints c LEFT JOIN solutions s ON s.complaint_id = c.complaint_id AND c.status = 'Resolved'
+WHERE c.created_at IS NOT NULL AND c.status IS NOT NULL
+GROUP BY CAST(c.created_at AS DATE), COALESCE(c.location, ''), COALESCE(c.category, ''), c.status
+ON DUPLICATE KEY UPDATE complaints = VALUES(complaints), resolutions = VALUES(resolutions),
+                        resolution_hours = VALUES(resolution_hours);
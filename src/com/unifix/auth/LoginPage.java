@@ -1,7 +1,8 @@
 package com.unifix.auth;
 
+import com.unifix.complaints.BackgroundJobs;
 import com.unifix.dashboard.*;
-import com.unifix.database.DBConnection;
+import com.unifix.database.DatabaseExecutor;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
@@ -288,43 +289,69 @@ public class LoginPage extends JFrame {
         String email = emailField.getText();
         String password = new String(passwordField.getPassword());
 
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT * FROM users WHERE email=? AND password=?";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setString(1, email);
-            stmt.setString(2, password);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                int userId = rs.getInt("user_id");
-                String userName = rs.getString("name");
-                String role = rs.getString("role");
-                JOptionPane.showMessageDialog(this, "Login Successful as " + role);
-
-                switch (role) {
-                    case "Student": 
-                        StudentDashboard studentDash = new StudentDashboard();
-                        studentDash.setUserInfo(userId, userName);
-                        break;
-                    case "Warden": 
-                        WardenDashboard wardenDash = new WardenDashboard();
-                        wardenDash.setUserInfo(userId, userName);
-                        break;
-                    case "Technician": 
-                        TechnicianDashboard techDash = new TechnicianDashboard();
-                        techDash.setUserInfo(userId, userName);
-                        break;
-                    case "Admin": 
-                        AdminDashboard adminDash = new AdminDashboard();
-                        adminDash.setUserInfo(userId, userName);
-                        break;
+        // Query off the event thread so the window stays responsive
+        loginButton.setEnabled(false);
+        DatabaseExecutor.submitToEdt(conn -> {
+            String sql = "SELECT user_id, name, role FROM users WHERE email=? AND password=?";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, email);
+                stmt.setString(2, password);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return new AuthenticatedUser(rs.getInt("user_id"), rs.getString("name"), rs.getString("role"));
+                    }
                 }
-                dispose();
+            }
+            return null;
+        }, user -> {
+            loginButton.setEnabled(true);
+            if (user != null) {
+                openDashboard(user);
             } else {
                 JOptionPane.showMessageDialog(this, "Invalid Credentials!");
             }
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Database Error: " + ex.getMessage());
+        }, error -> {
+            loginButton.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Database Error: " + error.getMessage());
+        });
+    }
+
+    private void openDashboard(AuthenticatedUser user) {
+        JOptionPane.showMessageDialog(this, "Login Successful as " + user.role);
+
+        switch (user.role) {
+            case "Student": 
+                StudentDashboard studentDash = new StudentDashboard();
+                studentDash.setUserInfo(user.userId, user.name);
+                break;
+            case "Warden": 
+                BackgroundJobs.start();
+                WardenDashboard wardenDash = new WardenDashboard();
+                wardenDash.setUserInfo(user.userId, user.name);
+                break;
+            case "Technician": 
+                TechnicianDashboard techDash = new TechnicianDashboard();
+                techDash.setUserInfo(user.userId, user.name);
+                break;
+            case "Admin": 
+                BackgroundJobs.start();
+                AdminDashboard adminDash = new AdminDashboard();
+                adminDash.setUserInfo(user.userId, user.name);
+                break;
+        }
+        dispose();
+    }
+
+    // Row returned by the login query
+    private static final class AuthenticatedUser {
+        private final int userId;
+        private final String name;
+        private final String role;
+
+        AuthenticatedUser(int userId, String name, String role) {
+            this.userId = userId;
+            this.name = name;
+            this.role = role;
         }
     }
     
@@ -0,0 +1,467 @@
+package com.unifix.complaints;
+
+import com.unifix.database.DBConnection;
+import com.unifix.database.NamedLock;
+import com.unifix.database.UnitOfWork;
+import com.unifix.utils.Location;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assigns pending, unassigned complaints to technicians automatically, so
+ * wardens review the engine's choices instead of assigning each one.
+ *
+ * Each technician is scored per complaint, and the highest score wins:
+ * <ul>
+ * <li>workload: minus WORKLOAD_WEIGHT per open complaint (from
+ *     {@link TechnicianDirectory}, i.e. the maintained counters);</li>
+ * <li>skill: SKILL_WEIGHT * ln(1 + complaints of the category they have
+ *     resolved);</li>
+ * <li>proximity: SAME_LOCATION if they already have open work at the
+ *     complaint's location, else SAME_AREA if nearby (same
+ *     {@link Location.Area}).</li>
+ * </ul>
+ * Technicians have no declared skills or base, so both come from their
+ * history. The queue is scored in memory, highest priority first, counting
+ * each decision towards the technician's workload and whereabouts before
+ * the next, then written BATCH_SIZE complaints per transaction with one
+ * multi-row UPDATE. A complaint assigned by someone else in the meantime is
+ * skipped. Every decision is recorded in complaint_auto_assignments, which
+ * the warden dashboard lists for review; reassigning a complaint there
+ * overrides it.
+ *
+ * {@link #startEngine()} runs it every db.assignment.intervalSeconds
+ * (default 30, 0 to disable) while a warden or admin is signed in, and
+ * wardens can run it from their dashboard. A server lock (LOCK_NAME) lets
+ * one client at a time run a cycle; another client asking meanwhile is
+ * turned away.
+ */
+public final class AssignmentEngine {
+    public static final int BATCH_SIZE = 500;
+
+    /**
+     * What {@link #run} returns when another client is running a cycle.
+     */
+    public static final int BUSY = -1;
+
+    private static final String LOCK_NAME = "unifix_assign";
+    // One cycle at a time within this client; LOCK_NAME covers the others
+    private static final Object RUN_LOCK = new Object();
+
+    private static final double WORKLOAD_WEIGHT = 1.0;
+    private static final double SKILL_WEIGHT = 2.0;
+    private static final double SAME_LOCATION = 3.0;
+    private static final double SAME_AREA = 1.0;
+
+    // Resolved history changes slowly; it is recounted at most this often
+    private static final long SKILL_TTL_MS = 10 * 60_000;
+    private static final int MAX_REASON = 200;
+
+    private static final String SKILL_SQL =
+        "SELECT assigned_to, category, COUNT(*) FROM complaints " +
+        "WHERE status = 'Resolved' AND assigned_to IS NOT NULL GROUP BY assigned_to, category";
+    private static final String WHEREABOUTS_SQL =
+        "SELECT assigned_to, location, COUNT(*) FROM complaints " +
+        "WHERE status = 'In Progress' AND assigned_to IS NOT NULL GROUP BY assigned_to, location";
+    private static final String RECENT_SQL =
+        "SELECT a.complaint_id, c.category, c.location, c.priority, a.technician, a.reason, a.assigned_at " +
+        "FROM complaint_auto_assignments a JOIN complaints c ON c.complaint_id = a.complaint_id " +
+        "WHERE c.assigned_to = a.technician AND c.status = 'In Progress' " +
+        "ORDER BY a.assigned_at DESC LIMIT ?";
+
+    private static final ComplaintRepository REPOSITORY = new ComplaintRepository();
+
+    // technician -> category -> resolved complaints
+    private static Map<String, Map<String, Integer>> skills;
+    private static long skillsLoadedAt;
+
+    private static ScheduledExecutorService scheduler;
+
+    private AssignmentEngine() {
+    }
+
+    /**
+     * Assigns every pending, unassigned complaint, unless another client is
+     * doing so right now.
+     *
+     * @return the number of complaints assigned, or {@link #BUSY}
+     */
+    public static int run(Connection conn) throws SQLException {
+        synchronized (RUN_LOCK) {
+            if (!NamedLock.acquire(conn, LOCK_NAME, 0)) {
+                return BUSY;
+            }
+            try {
+                return assignQueue(conn);
+            } finally {
+                NamedLock.release(conn, LOCK_NAME);
+            }
+        }
+    }
+
+    private static int assignQueue(Connection conn) throws SQLException {
+        List<TechnicianDirectory.Technician> technicians = TechnicianDirectory.load(conn);
+        if (technicians.isEmpty()) {
+            return 0;
+        }
+        List<ComplaintSummary> queue = new ArrayList<>();
+        REPOSITORY.forEachRow(conn, ComplaintFilter.all().withStatus("Pending"), ComplaintRepository.Order.PRIORITY,
+            c -> {
+                if (c.getAssignedTo() == null) {
+                    queue.add(c);
+                }
+            });
+        if (queue.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Candidate> candidates = loadCandidates(conn, technicians);
+        List<Decision> decisions = new ArrayList<>(queue.size());
+        for (ComplaintSummary complaint : queue) {
+            decisions.add(decide(candidates.values(), complaint));
+        }
+
+        int assigned = 0;
+        for (int from = 0; from < decisions.size(); from += BATCH_SIZE) {
+            List<Decision> batch = decisions.subList(from, Math.min(from + BATCH_SIZE, decisions.size()));
+            assigned += UnitOfWork.run(conn, c -> write(c, batch));
+        }
+        if (assigned > 0) {
+            TechnicianDirectory.load(conn);
+        }
+        return assigned;
+    }
+
+    /**
+     * The most recent automatic assignments still standing: in progress and
+     * not reassigned since. Newest first.
+     */
+    public static List<AutoAssignment> recent(Connection conn, int limit) throws SQLException {
+        List<AutoAssignment> rows = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(RECENT_SQL)) {
+            stmt.setInt(1, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new AutoAssignment(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getString(5), rs.getString(6), rs.getTimestamp(7)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Starts the periodic run on a background thread. Safe to call more than once.
+     */
+    public static synchronized void startEngine() {
+        long seconds = DBConnection.getLongSetting("db.assignment.intervalSeconds", 30);
+        if (scheduler != null || seconds <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "unifix-assignment");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(AssignmentEngine::runNow, seconds, seconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic run, if running; a run in progress finishes.
+     */
+    public static synchronized void stopEngine() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    private static void runNow() {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                return;
+            }
+            int assigned = run(conn);
+            if (assigned > 0) {
+                System.out.println("⚙️ Auto-assigned " + assigned + " pending complaints");
+                StatusCountService.invalidate();
+            }
+        } catch (SQLException e) {
+            System.out.println("❌ Automatic assignment failed: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Candidate> loadCandidates(Connection conn,
+                                                         List<TechnicianDirectory.Technician> technicians)
+            throws SQLException {
+        if (skills == null || System.currentTimeMillis() - skillsLoadedAt > SKILL_TTL_MS) {
+            Map<String, Map<String, Integer>> loaded = new HashMap<>();
+            try (PreparedStatement stmt = conn.prepareStatement(SKILL_SQL);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    loaded.computeIfAbsent(rs.getString(1), t -> new HashMap<>()).put(rs.getString(2), rs.getInt(3));
+                }
+            }
+            skills = loaded;
+            skillsLoadedAt = System.currentTimeMillis();
+        }
+
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        for (TechnicianDirectory.Technician technician : technicians) {
+            candidates.put(technician.getName(), new Candidate(technician.getName(), technician.getOpenComplaints(),
+                skills.getOrDefault(technician.getName(), Collections.emptyMap())));
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(WHEREABOUTS_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Candidate candidate = candidates.get(rs.getString(1));
+                if (candidate != null) {
+                    candidate.addWork(rs.getString(2), rs.getInt(3));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static Decision decide(Iterable<Candidate> candidates, ComplaintSummary complaint) {
+        Location location = Location.fromDisplayName(complaint.getLocation());
+        Candidate best = null;
+        double bestScore = 0;
+        for (Candidate candidate : candidates) {
+            double score = candidate.score(complaint.getCategory(), complaint.getLocation(), location);
+            // Ties go to the less loaded technician, then to directory (name) order
+            if (best == null || score > bestScore || (score == bestScore && candidate.open < best.open)) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        String reason = best.explain(complaint.getCategory(), complaint.getLocation(), location);
+        best.take(complaint.getLocation());
+        return new Decision(complaint, best.name, bestScore, reason);
+    }
+
+    /**
+     * Writes one batch of decisions: locks the complaints still pending and
+     * unassigned, assigns them with one UPDATE, records the decisions and
+     * moves the status counters.
+     */
+    private static int write(Connection conn, List<Decision> batch) throws SQLException {
+        Map<Integer, Decision> byId = new LinkedHashMap<>();
+        for (Decision decision : batch) {
+            byId.put(decision.complaint.getComplaintId(), decision);
+        }
+
+        List<Decision> pending = new ArrayList<>(batch.size());
+        List<StatusCounters.Snapshot> before = new ArrayList<>(batch.size());
+        List<StatusCounters.Snapshot> after = new ArrayList<>(batch.size());
+        String lockSql = "SELECT complaint_id, user_id FROM complaints WHERE complaint_id IN ("
+                         + placeholders(byId.size()) + ") AND status = 'Pending' AND assigned_to IS NULL "
+                         + "ORDER BY complaint_id FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(lockSql)) {
+            int index = 1;
+            for (int complaintId : byId.keySet()) {
+                stmt.setInt(index++, complaintId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Decision decision = byId.get(rs.getInt(1));
+                    int userId = rs.getInt(2);
+                    Integer owner = rs.wasNull() ? null : userId;
+                    pending.add(decision);
+                    before.add(new StatusCounters.Snapshot(owner, "Pending", null));
+                    after.add(new StatusCounters.Snapshot(owner, "In Progress", decision.technician));
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder update = new StringBuilder("UPDATE complaints SET status = 'In Progress', assigned_to = CASE complaint_id");
+        for (int i = 0; i < pending.size(); i++) {
+            update.append(" WHEN ? THEN ?");
+        }
+        update.append(" END WHERE complaint_id IN (").append(placeholders(pending.size())).append(')');
+        try (PreparedStatement stmt = conn.prepareStatement(update.toString())) {
+            int index = 1;
+            for (Decision decision : pending) {
+                stmt.setInt(index++, decision.complaint.getComplaintId());
+                stmt.setString(index++, decision.technician);
+            }
+            for (Decision decision : pending) {
+                stmt.setInt(index++, decision.complaint.getComplaintId());
+            }
+            stmt.executeUpdate();
+        }
+
+        StringBuilder record = new StringBuilder(
+            "INSERT INTO complaint_auto_assignments (complaint_id, technician, score, reason, assigned_at) VALUES ");
+        for (int i = 0; i < pending.size(); i++) {
+            record.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, CURRENT_TIMESTAMP(3))");
+        }
+        record.append(" ON DUPLICATE KEY UPDATE technician = VALUES(technician), score = VALUES(score), ")
+              .append("reason = VALUES(reason), assigned_at = VALUES(assigned_at)");
+        try (PreparedStatement stmt = conn.prepareStatement(record.toString())) {
+            int index = 1;
+            for (Decision decision : pending) {
+                stmt.setInt(index++, decision.complaint.getComplaintId());
+                stmt.setString(index++, decision.technician);
+                stmt.setDouble(index++, decision.score);
+                stmt.setString(index++, decision.reason);
+            }
+            stmt.executeUpdate();
+        }
+
+        StatusCounters.changed(conn, before, after);
+        return pending.size();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * One technician's standing while the queue is scored.
+     */
+    private static final class Candidate {
+        final String name;
+        final Map<String, Integer> resolvedByCategory;
+        final Map<String, Integer> openAtLocation = new HashMap<>();
+        final Map<Location.Area, Integer> openInArea = new EnumMap<>(Location.Area.class);
+        int open;
+
+        Candidate(String name, int open, Map<String, Integer> resolvedByCategory) {
+            this.name = name;
+            this.open = open;
+            this.resolvedByCategory = resolvedByCategory;
+        }
+
+        // Open work already counted in the directory's open count
+        void addWork(String locationName, int complaints) {
+            if (locationName == null) {
+                return;
+            }
+            openAtLocation.merge(locationName, complaints, Integer::sum);
+            Location location = Location.fromDisplayName(locationName);
+            if (location != null) {
+                openInArea.merge(location.getArea(), complaints, Integer::sum);
+            }
+        }
+
+        // A complaint just decided for this technician
+        void take(String locationName) {
+            addWork(locationName, 1);
+            open++;
+        }
+
+        double score(String category, String locationName, Location location) {
+            return SKILL_WEIGHT * Math.log1p(resolvedByCategory.getOrDefault(category, 0))
+                + proximity(locationName, location)
+                - WORKLOAD_WEIGHT * open;
+        }
+
+        double proximity(String locationName, Location location) {
+            if (locationName != null && openAtLocation.containsKey(locationName)) {
+                return SAME_LOCATION;
+            }
+            return location != null && openInArea.containsKey(location.getArea()) ? SAME_AREA : 0;
+        }
+
+        String explain(String category, String locationName, Location location) {
+            StringBuilder reason = new StringBuilder(open + " open");
+            int resolved = resolvedByCategory.getOrDefault(category, 0);
+            if (resolved > 0) {
+                reason.append(", resolved ").append(resolved).append(' ').append(category);
+            }
+            double proximity = proximity(locationName, location);
+            if (proximity == SAME_LOCATION) {
+                reason.append(", already at ").append(locationName);
+            } else if (proximity == SAME_AREA) {
+                reason.append(", working nearby");
+            }
+            return reason.length() > MAX_REASON ? reason.substring(0, MAX_REASON) : reason.toString();
+        }
+    }
+
+    private static final class Decision {
+        final ComplaintSummary complaint;
+        final String technician;
+        final double score;
+        final String reason;
+
+        Decision(ComplaintSummary complaint, String technician, double score, String reason) {
+            this.complaint = complaint;
+            this.technician = technician;
+            this.score = score;
+            this.reason = reason;
+        }
+    }
+
+    /**
+     * One standing automatic assignment, as listed for wardens.
+     */
+    public static final class AutoAssignment {
+        private final int complaintId;
+        private final String category;
+        private final String location;
+        private final String priority;
+        private final String technician;
+        private final String reason;
+        private final Timestamp assignedAt;
+
+        AutoAssignment(int complaintId, String category, String location, String priority,
+                       String technician, String reason, Timestamp assignedAt) {
+            this.complaintId = complaintId;
+            this.category = category;
+            this.location = location;
+            this.priority = priority;
+            this.technician = technician;
+            this.reason = reason;
+            this.assignedAt = assignedAt;
+        }
+
+        public int getComplaintId() {
+            return complaintId;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public String getPriority() {
+            return priority;
+        }
+
+        public String getTechnician() {
+            return technician;
+        }
+
+        /**
+         * Why the engine chose this technician, e.g. "2 open, resolved 14 Maintenance, working nearby".
+         */
+        public String getReason() {
+            return reason;
+        }
+
+        public Timestamp getAssignedAt() {
+            return assignedAt;
+        }
+    }
+}
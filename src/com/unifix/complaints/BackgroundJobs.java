@@ -0,0 +1,37 @@
+package com.unifix.complaints;
+
+/**
+ * The periodic background jobs, each listed in {@link #start()}.
+ *
+ * They run only while a warden or admin is signed in, so student and
+ * technician clients add no background load; each is still safe to run
+ * from several clients at once.
+ */
+public final class BackgroundJobs {
+    private BackgroundJobs() {
+    }
+
+    /**
+     * Starts the jobs for a signed-in warden or admin. Safe to call more than once.
+     */
+    public static void start() {
+        // Corrects drift in the maintained status counters now and then
+        StatusCounters.startReconciliation();
+        // Keeps the admin statistics rollups current
+        ComplaintRollups.startRefresh();
+        // Technicians and their open complaints for the assign dialog
+        TechnicianDirectory.startRefresh();
+        // Assigns the pending queue in the background for wardens to review
+        AssignmentEngine.startEngine();
+    }
+
+    /**
+     * Stops the jobs on logout; runs in progress finish first.
+     */
+    public static void stop() {
+        AssignmentEngine.stopEngine();
+        TechnicianDirectory.stopRefresh();
+        ComplaintRollups.stopRefresh();
+        StatusCounters.stopReconciliation();
+    }
+}
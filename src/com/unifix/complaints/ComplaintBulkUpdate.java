@@ -0,0 +1,158 @@
+package com.unifix.complaints;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Assigns or changes the status of many complaints in one transaction: the
+ * rows are locked with a SELECT ... FOR UPDATE and changed with an UPDATE per
+ * CHUNK_SIZE complaints, and the status counters moved with one batched
+ * delta. Complaints deleted in the meantime are skipped. Every IN list has
+ * CHUNK_SIZE placeholders (a short last chunk repeats its last id), so a
+ * large selection stays within the placeholder limit and each statement is
+ * prepared once whatever the selection size.
+ *
+ * Methods take the connection to use; wrap them in a UnitOfWork:
+ * <pre>
+ * DatabaseExecutor.submitToEdt(UnitOfWork.of(conn -&gt; ComplaintBulkUpdate.assign(conn, ids, name)), ...);
+ * </pre>
+ */
+public final class ComplaintBulkUpdate {
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String IN_LIST = "(" + String.join(", ", Collections.nCopies(CHUNK_SIZE, "?")) + ")";
+
+    private ComplaintBulkUpdate() {
+    }
+
+    /**
+     * Assigns the complaints to a technician and marks them In Progress,
+     * overriding any automatic assignment.
+     */
+    public static Result assign(Connection conn, List<Integer> complaintIds, String technician) throws SQLException {
+        List<StatusCounters.Snapshot> before = lock(conn, complaintIds);
+        List<Integer> ids = new ArrayList<>(before.size());
+        List<StatusCounters.Snapshot> after = new ArrayList<>(before.size());
+        for (StatusCounters.Snapshot complaint : before) {
+            ids.add(complaint.getComplaintId());
+            after.add(complaint.with("In Progress", technician));
+        }
+        if (ids.isEmpty()) {
+            return new Result(before, after);
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE complaints SET status = 'In Progress', assigned_to = ? WHERE complaint_id IN " + IN_LIST)) {
+            stmt.setString(1, technician);
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                bindChunk(stmt, 2, ids, from);
+                stmt.executeUpdate();
+            }
+        }
+        // A warden's choice overrides the engine's
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "DELETE FROM complaint_auto_assignments WHERE complaint_id IN " + IN_LIST)) {
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                bindChunk(stmt, 1, ids, from);
+                stmt.executeUpdate();
+            }
+        }
+        StatusCounters.changed(conn, before, after);
+        return new Result(before, after);
+    }
+
+    /**
+     * Sets the status of the complaints, leaving their assignees unchanged.
+     */
+    public static Result setStatus(Connection conn, List<Integer> complaintIds, String status) throws SQLException {
+        List<StatusCounters.Snapshot> before = lock(conn, complaintIds);
+        List<Integer> ids = new ArrayList<>(before.size());
+        List<StatusCounters.Snapshot> after = new ArrayList<>(before.size());
+        for (StatusCounters.Snapshot complaint : before) {
+            ids.add(complaint.getComplaintId());
+            after.add(complaint.with(status, complaint.getAssignee()));
+        }
+        if (ids.isEmpty()) {
+            return new Result(before, after);
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE complaints SET status = ? WHERE complaint_id IN " + IN_LIST)) {
+            stmt.setString(1, status);
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                bindChunk(stmt, 2, ids, from);
+                stmt.executeUpdate();
+            }
+        }
+        StatusCounters.changed(conn, before, after);
+        return new Result(before, after);
+    }
+
+    // In id order, chunk after chunk, so two bulk writes over overlapping
+    // selections lock rows in the same order
+    private static List<StatusCounters.Snapshot> lock(Connection conn, List<Integer> complaintIds) throws SQLException {
+        List<Integer> ids = new ArrayList<>(new TreeSet<>(complaintIds));
+        List<StatusCounters.Snapshot> locked = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return locked;
+        }
+        String sql = "SELECT complaint_id, user_id, status, assigned_to FROM complaints WHERE complaint_id IN "
+                     + IN_LIST + " ORDER BY complaint_id FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                bindChunk(stmt, 1, ids, from);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        int complaintId = rs.getInt(1);
+                        int userId = rs.getInt(2);
+                        Integer owner = rs.wasNull() ? null : userId;
+                        locked.add(new StatusCounters.Snapshot(complaintId, owner, rs.getString(3), rs.getString(4)));
+                    }
+                }
+            }
+        }
+        return locked;
+    }
+
+    // Binds ids[from, from + CHUNK_SIZE) to one IN_LIST; past the end the last id repeats
+    private static void bindChunk(PreparedStatement stmt, int index, List<Integer> ids, int from) throws SQLException {
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            stmt.setInt(index + i, ids.get(Math.min(from + i, ids.size() - 1)));
+        }
+    }
+
+    /**
+     * What each changed complaint counted towards before and after, for
+     * {@link TechnicianDirectory#applied(List, List)} once committed.
+     */
+    public static final class Result {
+        private final List<StatusCounters.Snapshot> before;
+        private final List<StatusCounters.Snapshot> after;
+
+        Result(List<StatusCounters.Snapshot> before, List<StatusCounters.Snapshot> after) {
+            this.before = before;
+            this.after = after;
+        }
+
+        public List<StatusCounters.Snapshot> getBefore() {
+            return before;
+        }
+
+        public List<StatusCounters.Snapshot> getAfter() {
+            return after;
+        }
+
+        /**
+         * The number of complaints changed.
+         */
+        public int size() {
+            return before.size();
+        }
+    }
+}
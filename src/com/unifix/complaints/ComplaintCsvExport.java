@@ -0,0 +1,79 @@
+package com.unifix.complaints;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Writes complaints to a CSV file as they stream from the database, so an
+ * export of millions of rows needs no more memory than one row.
+ *
+ * The file is written next to the target and moved into place when
+ * complete, so a failed export never leaves a truncated file behind.
+ */
+public final class ComplaintCsvExport {
+    private static final String[] HEADER = {
+        "ID", "Student", "Category", "Location", "Priority", "Status", "Assigned To", "Created", "Description"
+    };
+
+    private ComplaintCsvExport() {
+    }
+
+    /**
+     * Exports the complaints matching the filter, newest first. Runs on the
+     * database executor.
+     *
+     * @return the number of complaints written
+     */
+    public static long export(Connection conn, ComplaintRepository repository, ComplaintFilter filter,
+                              Path target) throws SQLException, IOException {
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        long rows;
+        try (BufferedWriter out = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            writeRow(out, (Object[]) HEADER);
+            rows = repository.forEachRow(conn, filter, ComplaintRepository.Order.NEWEST_FIRST, c -> {
+                try {
+                    writeRow(out, c.getComplaintId(), c.getUserName(), c.getCategory(), c.getLocation(),
+                        c.getPriority(), c.getStatus(), c.getAssignedTo(), c.getCreatedAt(), c.getDescription());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(partial);
+            throw e.getCause();
+        } catch (SQLException | IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        return rows;
+    }
+
+    private static void writeRow(Writer out, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                out.write(escape(values[i].toString()));
+            }
+        }
+        out.write("\r\n");
+    }
+
+    // RFC 4180: quote fields holding a separator, quote or line break, doubling inner quotes
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,102 @@
+package com.unifix.complaints;
+
+import java.awt.Dimension;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.swing.ImageIcon;
+
+/**
+ * Everything a details panel shows for one complaint, as cached by
+ * {@link ComplaintDetailCache}. The version is the row's updated_at.
+ */
+public class ComplaintDetail {
+    private final int complaintId;
+    private final String category;
+    private final String location;
+    private final String description;
+    private final String status;
+    private final Timestamp createdAt;
+    private final String imagePath;
+    private final String userName;
+    private final Timestamp version;
+
+    // Attached image scaled to each size a view asked for; null when it could not be read
+    private final Map<Dimension, ImageIcon> images = new ConcurrentHashMap<>();
+    private final Map<Dimension, Boolean> missing = new ConcurrentHashMap<>();
+
+    ComplaintDetail(int complaintId, String category, String location, String description, String status,
+                    Timestamp createdAt, String imagePath, String userName, Timestamp version) {
+        this.complaintId = complaintId;
+        this.category = category;
+        this.location = location;
+        this.description = description;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.imagePath = imagePath;
+        this.userName = userName;
+        this.version = version;
+    }
+
+    public int getComplaintId() {
+        return complaintId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * The attached image's path, or null if there is none (or no image_path column).
+     */
+    public String getImagePath() {
+        return imagePath;
+    }
+
+    /**
+     * Name of the student who raised the complaint.
+     */
+    public String getUserName() {
+        return userName;
+    }
+
+    Timestamp getVersion() {
+        return version;
+    }
+
+    /**
+     * The attached image scaled to fit the size, or null if there is no image,
+     * it could not be read, or it has not been loaded at that size yet.
+     */
+    public ImageIcon getImage(Dimension size) {
+        return images.get(size);
+    }
+
+    boolean hasImage(Dimension size) {
+        return images.containsKey(size) || missing.containsKey(size);
+    }
+
+    void putImage(Dimension size, ImageIcon image) {
+        if (image == null) {
+            missing.put(size, Boolean.TRUE);
+        } else {
+            images.put(size, image);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.unifix.complaints;
+
+import com.unifix.database.LatestQuery;
+import com.unifix.database.SchemaCapabilities;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+/**
+ * Complaint details shared by every details panel, keyed by complaint_id and
+ * bounded to MAX_ENTRIES with least-recently-used eviction.
+ *
+ * A cached entry is shown at once and then revalidated by comparing its
+ * version with the row's updated_at, a primary-key read; the full join is
+ * only run again when the complaint has changed. The attached image is read
+ * and scaled off the event thread, once per entry and size.
+ *
+ * The student's name is part of the entry but not of the version, so a
+ * renamed student shows up once the complaint itself changes or is evicted.
+ */
+public final class ComplaintDetailCache {
+    public static final int MAX_ENTRIES = 200;
+
+    private static final Map<Integer, ComplaintDetail> ENTRIES =
+        new LinkedHashMap<Integer, ComplaintDetail>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ComplaintDetail> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+
+    private ComplaintDetailCache() {
+    }
+
+    /**
+     * Shows a complaint's details: the cached entry right away if there is
+     * one, then the current details once checked, unless they are unchanged.
+     * show receives null if the complaint no longer exists.
+     *
+     * @param imageSize the box the attached image is scaled to fit
+     */
+    public static void load(LatestQuery query, int complaintId, Dimension imageSize,
+                            Consumer<ComplaintDetail> show, Consumer<Throwable> failed) {
+        ComplaintDetail cached = peek(complaintId);
+        if (cached != null && cached.hasImage(imageSize)) {
+            show.accept(cached);
+        } else {
+            cached = null;
+        }
+        ComplaintDetail shown = cached;
+        query.submit(conn -> get(conn, complaintId, imageSize), detail -> {
+            if (detail != shown) {
+                show.accept(detail);
+            }
+        }, failed);
+    }
+
+    /**
+     * The cached entry without any check, or null.
+     */
+    public static ComplaintDetail peek(int complaintId) {
+        synchronized (ENTRIES) {
+            return ENTRIES.get(complaintId);
+        }
+    }
+
+    /**
+     * The current details, from the cache when its version still matches,
+     * with the image loaded at the given size. Null if the complaint is gone.
+     * Runs on the database executor.
+     */
+    public static ComplaintDetail get(Connection conn, int complaintId, Dimension imageSize) throws SQLException {
+        ComplaintDetail detail = peek(complaintId);
+        if (detail != null) {
+            Timestamp version = version(conn, complaintId);
+            if (version == null) {
+                invalidate(complaintId);
+                return null;
+            }
+            if (!version.equals(detail.getVersion())) {
+                detail = null;
+            }
+        }
+        if (detail == null) {
+            detail = fetch(conn, complaintId);
+            if (detail == null) {
+                invalidate(complaintId);
+                return null;
+            }
+            synchronized (ENTRIES) {
+                ENTRIES.put(complaintId, detail);
+            }
+        }
+        if (imageSize != null && !detail.hasImage(imageSize)) {
+            detail.putImage(imageSize, readImage(detail.getImagePath(), imageSize));
+        }
+        return detail;
+    }
+
+    public static void invalidate(int complaintId) {
+        synchronized (ENTRIES) {
+            ENTRIES.remove(complaintId);
+        }
+    }
+
+    private static Timestamp version(Connection conn, int complaintId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT updated_at FROM complaints WHERE complaint_id = ?")) {
+            stmt.setInt(1, complaintId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getTimestamp(1) : null;
+            }
+        }
+    }
+
+    private static ComplaintDetail fetch(Connection conn, int complaintId) throws SQLException {
+        boolean imagePathExists = SchemaCapabilities.hasComplaintImagePath();
+        String sql = "SELECT c.category, c.location, c.description, c.status, c.created_at, c.updated_at, " +
+                     (imagePathExists ? "c.image_path, " : "") +
+                     "u.name as user_name " +
+                     "FROM complaints c " +
+                     "JOIN users u ON c.user_id = u.user_id " +
+                     "WHERE c.complaint_id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, complaintId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return new ComplaintDetail(complaintId,
+                    rs.getString("category"),
+                    rs.getString("location"),
+                    rs.getString("description"),
+                    rs.getString("status"),
+                    rs.getTimestamp("created_at"),
+                    imagePathExists ? rs.getString("image_path") : null,
+                    rs.getString("user_name"),
+                    rs.getTimestamp("updated_at"));
+            }
+        }
+    }
+
+    /**
+     * The image scaled to fit the size, or null if there is none or it cannot be read.
+     */
+    private static ImageIcon readImage(String imagePath, Dimension size) {
+        if (imagePath == null || imagePath.isEmpty()) {
+            return null;
+        }
+        File file = new File(imagePath);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            BufferedImage image = ImageIO.read(file);
+            if (image == null) {
+                return null;
+            }
+            double scale = Math.min(
+                (double) size.width / image.getWidth(),
+                (double) size.height / image.getHeight()
+            );
+            int scaledWidth = Math.max(1, (int) (scale * image.getWidth()));
+            int scaledHeight = Math.max(1, (int) (scale * image.getHeight()));
+
+            BufferedImage scaled = new BufferedImage(scaledWidth, scaledHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = scaled.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, scaledWidth, scaledHeight, null);
+            g.dispose();
+            return new ImageIcon(scaled);
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not read image " + imagePath + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
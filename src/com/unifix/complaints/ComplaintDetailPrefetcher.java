@@ -0,0 +1,88 @@
+package com.unifix.complaints;
+
+import com.unifix.database.LatestQuery;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.JTable;
+
+/**
+ * Warms {@link ComplaintDetailCache} with the rows around a table's
+ * selection, nearest first, so moving to a neighbouring row (arrow keys or
+ * the next click) finds its details and thumbnail already loaded.
+ *
+ * A new selection supersedes the prefetch still running for the previous
+ * one: its statement is cancelled and it stops before the next row.
+ */
+public class ComplaintDetailPrefetcher {
+    public static final int DEFAULT_RADIUS = 3;
+
+    private final JTable table;
+    private final int idColumn;
+    private final Dimension imageSize;
+    private final int radius;
+    private final LatestQuery query = new LatestQuery();
+    // Bumped per selection; a running prefetch stops once it is out of date
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * @param idColumn  the view column holding complaint_id
+     * @param imageSize the size the table's details panel shows images at
+     * @param radius    rows prefetched on each side of the selection
+     */
+    public ComplaintDetailPrefetcher(JTable table, int idColumn, Dimension imageSize, int radius) {
+        this.table = table;
+        this.idColumn = idColumn;
+        this.imageSize = imageSize;
+        this.radius = radius;
+        table.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                prefetchAround(table.getSelectedRow());
+            }
+        });
+    }
+
+    /**
+     * Prefetches the rows around a view row, or stops prefetching for -1.
+     */
+    public void prefetchAround(int viewRow) {
+        int current = generation.incrementAndGet();
+        List<Integer> ids = new ArrayList<>(2 * radius);
+        if (viewRow >= 0) {
+            for (int distance = 1; distance <= radius; distance++) {
+                addIfMissing(ids, viewRow + distance);
+                addIfMissing(ids, viewRow - distance);
+            }
+        }
+        if (ids.isEmpty()) {
+            query.cancel();
+            return;
+        }
+
+        query.submit(conn -> {
+            for (int complaintId : ids) {
+                if (generation.get() != current) {
+                    break;
+                }
+                ComplaintDetailCache.get(conn, complaintId, imageSize);
+            }
+            return null;
+        }, done -> { }, error -> System.out.println("Error prefetching complaint details: " + error.getMessage()));
+    }
+
+    // Rows already cached are skipped; showing them revalidates them anyway
+    private void addIfMissing(List<Integer> ids, int viewRow) {
+        if (viewRow < 0 || viewRow >= table.getRowCount()) {
+            return;
+        }
+        Object value = table.getValueAt(viewRow, idColumn);
+        if (!(value instanceof Integer)) {
+            return; // a row still loading
+        }
+        ComplaintDetail cached = ComplaintDetailCache.peek((Integer) value);
+        if (cached == null || !cached.hasImage(imageSize)) {
+            ids.add((Integer) value);
+        }
+    }
+}
@@ -1,15 +1,16 @@
 package com.unifix.complaints;
 
-import com.unifix.database.DBConnection;
+import com.unifix.database.LatestQuery;
 import com.unifix.utils.UIUtilities;
 import java.awt.*;
-import java.io.File;
-import java.sql.*;
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 
 public class ComplaintDetailsView extends JFrame {
+    private static final Dimension IMAGE_SIZE = new Dimension(400, 300);
+
     private final int complaintId;
+    private final LatestQuery detailsQuery = new LatestQuery();
     private JLabel categoryLabel;
     private JLabel locationLabel;
     private JLabel statusLabel;
@@ -153,139 +154,47 @@ public class ComplaintDetailsView extends JFrame {
     }
 
     private void loadComplaintDetails() {
-        Connection conn = DBConnection.getConnection();
-        if (conn == null) {
-            JOptionPane.showMessageDialog(this, 
-                "Unable to connect to database. Please check your database configuration.", 
-                "Database Error", 
-                JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-        
-        try {
-            // First check if image_path column exists
-            boolean imagePathExists = checkImagePathColumnExists(conn);
-            System.out.println("Image path column exists in ComplaintDetailsView: " + imagePathExists);
+        // Shown at once when recently viewed, then revalidated against the row's version
+        ComplaintDetailCache.load(detailsQuery, complaintId, IMAGE_SIZE, detail -> {
+            if (detail == null) {
+                JOptionPane.showMessageDialog(this, 
+                    "Could not find complaint details", 
+                    "Error", 
+                    JOptionPane.ERROR_MESSAGE);
+                dispose();
+                return;
+            }
+
+            // Set the values in the UI
+            categoryLabel.setText("Category: " + detail.getCategory());
+            locationLabel.setText("Location: " + detail.getLocation());
+            statusLabel.setText("Status: " + detail.getStatus());
+            dateLabel.setText("Date: " + detail.getCreatedAt());
+            descriptionArea.setText(detail.getDescription());
             
-            // Build query based on whether image_path column exists
-            String sql;
-            if (imagePathExists) {
-                sql = "SELECT c.category, c.location, c.description, c.status, c.created_at, " +
-                      "c.image_path, u.name as user_name " +
-                      "FROM complaints c " +
-                      "JOIN users u ON c.user_id = u.user_id " +
-                      "WHERE c.complaint_id = ?";
+            // The image was read and scaled in the background
+            String imagePath = detail.getImagePath();
+            ImageIcon image = detail.getImage(IMAGE_SIZE);
+            if (imagePath == null || imagePath.isEmpty()) {
+                imageLabel.setIcon(null);
+                imageLabel.setText("No image attached");
+            } else if (image == null) {
+                imageLabel.setIcon(null);
+                imageLabel.setText("Image not found at: " + imagePath);
             } else {
-                sql = "SELECT c.category, c.location, c.description, c.status, c.created_at, " +
-                      "u.name as user_name " +
-                      "FROM complaints c " +
-                      "JOIN users u ON c.user_id = u.user_id " +
-                      "WHERE c.complaint_id = ?";
+                imageLabel.setIcon(image);
+                imageLabel.setText("");
             }
             
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setInt(1, complaintId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        String category = rs.getString("category");
-                        String location = rs.getString("location");
-                        String status = rs.getString("status");
-                        String date = rs.getTimestamp("created_at").toString();
-                        String description = rs.getString("description");
-                        String userName = rs.getString("user_name");
-                        
-                        // Set the values in the UI
-                        categoryLabel.setText("Category: " + category);
-                        locationLabel.setText("Location: " + location);
-                        statusLabel.setText("Status: " + status);
-                        dateLabel.setText("Date: " + date);
-                        descriptionArea.setText(description);
-                        
-                        // Handle image if exists and column is available
-                        String imagePath = null;
-                        if (imagePathExists) {
-                            try {
-                                imagePath = rs.getString("image_path");
-                                System.out.println("Retrieved image path in details view: " + imagePath);
-                            } catch (SQLException e) {
-                                System.out.println("Note: image_path column not found in result set: " + e.getMessage());
-                            }
-                        }
-                        
-                        if (imagePath != null && !imagePath.isEmpty()) {
-                            File imageFile = new File(imagePath);
-                            if (imageFile.exists()) {
-                                System.out.println("Loading image from: " + imagePath);
-                                ImageIcon originalIcon = new ImageIcon(imagePath);
-                                Image image = originalIcon.getImage();
-                                
-                                // Scale image to fit nicely
-                                int maxWidth = 400;
-                                int maxHeight = 300;
-                                
-                                double scale = Math.min(
-                                    (double) maxWidth / image.getWidth(null),
-                                    (double) maxHeight / image.getHeight(null)
-                                );
-                                
-                                int scaledWidth = (int) (scale * image.getWidth(null));
-                                int scaledHeight = (int) (scale * image.getHeight(null));
-                                
-                                Image scaledImage = image.getScaledInstance(scaledWidth, scaledHeight, Image.SCALE_SMOOTH);
-                                imageLabel.setIcon(new ImageIcon(scaledImage));
-                                imageLabel.setText("");
-                            } else {
-                                imageLabel.setIcon(null);
-                                imageLabel.setText("Image not found at: " + imagePath);
-                                System.out.println("Image not found at: " + imagePath);
-                            }
-                        } else {
-                            imageLabel.setIcon(null);
-                            imageLabel.setText("No image attached");
-                        }
-                        
-                        // Update window title to include user name
-                        setTitle("Complaint Details - Filed by " + userName);
-                    } else {
-                        JOptionPane.showMessageDialog(this, 
-                            "Could not find complaint details", 
-                            "Error", 
-                            JOptionPane.ERROR_MESSAGE);
-                        dispose();
-                    }
-                }
-            }
-        } catch (SQLException e) {
+            // Update window title to include user name
+            setTitle("Complaint Details - Filed by " + detail.getUserName());
+        }, error -> {
             JOptionPane.showMessageDialog(this, 
-                "Error loading complaint details: " + e.getMessage(), 
+                "Error loading complaint details: " + error.getMessage(), 
                 "Database Error", 
                 JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+            error.printStackTrace();
             dispose();
-        } finally {
-            try {
-                if (conn != null) conn.close();
-            } catch (SQLException e) {
-                System.out.println("Error closing connection: " + e.getMessage());
-            }
-        }
-    }
-    
-    /**
-     * Checks if the image_path column exists in the complaints table
-     * @param conn Database connection
-     * @return true if the column exists, false otherwise
-     */
-    private boolean checkImagePathColumnExists(Connection conn) {
-        try {
-            DatabaseMetaData meta = conn.getMetaData();
-            ResultSet rs = meta.getColumns(null, null, "complaints", "image_path");
-            boolean exists = rs.next(); // If there's a result, the column exists
-            rs.close();
-            return exists;
-        } catch (SQLException e) {
-            System.out.println("Error checking for image_path column: " + e.getMessage());
-            return false;
-        }
+        });
     }
 }
\ No newline at end of file
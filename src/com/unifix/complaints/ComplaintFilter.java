@@ -0,0 +1,123 @@
+package com.unifix.complaints;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Which complaints a listing shows. Immutable; each method returns a copy
+ * with one more condition, e.g. {@code ComplaintFilter.all().assignedTo(name).unresolved()}.
+ */
+public final class ComplaintFilter {
+    private final Integer userId;
+    private final String status;
+    private final String assignee;
+    private final boolean unresolved;
+
+    private ComplaintFilter(Integer userId, String status, String assignee, boolean unresolved) {
+        this.userId = userId;
+        this.status = status;
+        this.assignee = assignee;
+        this.unresolved = unresolved;
+    }
+
+    public static ComplaintFilter all() {
+        return new ComplaintFilter(null, null, null, false);
+    }
+
+    /**
+     * Complaints raised by one student.
+     */
+    public ComplaintFilter forUser(int userId) {
+        return new ComplaintFilter(userId, status, assignee, unresolved);
+    }
+
+    /**
+     * Complaints with the given status; null means any status.
+     */
+    public ComplaintFilter withStatus(String status) {
+        return new ComplaintFilter(userId, status, assignee, unresolved);
+    }
+
+    /**
+     * Complaints assigned to the named technician.
+     */
+    public ComplaintFilter assignedTo(String assignee) {
+        return new ComplaintFilter(userId, status, assignee, unresolved);
+    }
+
+    /**
+     * Leaves out resolved complaints.
+     */
+    public ComplaintFilter unresolved() {
+        return new ComplaintFilter(userId, status, assignee, true);
+    }
+
+    /**
+     * True if the complaint passes every condition, checked in memory the
+     * same way appendConditions() checks it in SQL.
+     */
+    public boolean matches(ComplaintSummary complaint) {
+        return (userId == null || userId == complaint.getUserId())
+            && (status == null || status.equals(complaint.getStatus()))
+            && (assignee == null || assignee.equals(complaint.getAssignedTo()))
+            && (!unresolved || (complaint.getStatus() != null && !"Resolved".equals(complaint.getStatus())));
+    }
+
+    /**
+     * Appends "c.column = ?" conditions joined with AND (nothing if the
+     * filter is empty) and adds their parameters.
+     */
+    void appendConditions(StringBuilder where, List<Object> params) {
+        if (userId != null) {
+            and(where).append("c.user_id = ?");
+            params.add(userId);
+        }
+        if (status != null) {
+            and(where).append("c.status = ?");
+            params.add(status);
+        }
+        if (assignee != null) {
+            and(where).append("c.assigned_to = ?");
+            params.add(assignee);
+        }
+        if (unresolved) {
+            and(where).append("c.status != 'Resolved'");
+        }
+    }
+
+    /**
+     * Like appendConditions(), but only the conditions a complaint can never
+     * stop matching (the student who raised it). Status and assignee change,
+     * so a change query filtered on them would miss rows leaving the view.
+     */
+    void appendStableConditions(StringBuilder where, List<Object> params) {
+        if (userId != null) {
+            and(where).append("c.user_id = ?");
+            params.add(userId);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ComplaintFilter)) {
+            return false;
+        }
+        ComplaintFilter other = (ComplaintFilter) o;
+        return unresolved == other.unresolved
+            && Objects.equals(userId, other.userId)
+            && Objects.equals(status, other.status)
+            && Objects.equals(assignee, other.assignee);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, status, assignee, unresolved);
+    }
+
+    private static StringBuilder and(StringBuilder where) {
+        return where.length() == 0 ? where : where.append(" AND ");
+    }
+}
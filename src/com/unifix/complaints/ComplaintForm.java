@@ -1,6 +1,8 @@
 package com.unifix.complaints;
 
 import com.unifix.database.DBConnection;
+import com.unifix.database.SchemaCapabilities;
+import com.unifix.database.UnitOfWork;
 import com.unifix.utils.Location;
 import com.unifix.utils.UIUtilities;
 import java.awt.*;
@@ -190,7 +192,6 @@ public class ComplaintForm extends JFrame {
         }
 
         try {
-            String sql;
             String imagePath = null;
             
             // Handle image upload if an image was selected
@@ -214,57 +215,43 @@ public class ComplaintForm extends JFrame {
                 Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
                 
                 System.out.println("Image saved to: " + imagePath);
-                
-                // Check if image_path column exists
-                boolean imagePathExists = checkImagePathColumnExists(conn);
-                
-                if (imagePathExists) {
-                    sql = "INSERT INTO complaints (user_id, category, location, description, image_path, status) " +
-                          "VALUES (?, ?, ?, ?, ?, 'Pending')";
-                    
-                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                        stmt.setInt(1, userId);
-                        stmt.setString(2, category);
-                        stmt.setString(3, location.toString());
-                        stmt.setString(4, description);
-                        stmt.setString(5, imagePath);
-                        
-                        stmt.executeUpdate();
-                    }
-                } else {
-                    // If image_path column doesn't exist, save without the image
-                    sql = "INSERT INTO complaints (user_id, category, location, description, status) " +
-                          "VALUES (?, ?, ?, ?, 'Pending')";
-                    
-                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                        stmt.setInt(1, userId);
-                        stmt.setString(2, category);
-                        stmt.setString(3, location.toString());
-                        stmt.setString(4, description);
-                        
-                        stmt.executeUpdate();
-                    }
-                    
-                    JOptionPane.showMessageDialog(this, 
-                        "Complaint submitted, but image couldn't be saved (database schema issue).",
-                        "Partial Success", 
-                        JOptionPane.WARNING_MESSAGE);
-                }
-            } else {
-                // No image selected, simple insert
-                sql = "INSERT INTO complaints (user_id, category, location, description, status) " +
+            }
+
+            // If the image_path column doesn't exist, save without the image
+            boolean imageDropped = imagePath != null && !SchemaCapabilities.hasComplaintImagePath();
+            String savedImage = imageDropped ? null : imagePath;
+
+            // The complaint and its status counters commit together
+            UnitOfWork.run(conn, c -> {
+                String sql = savedImage != null
+                    ? "INSERT INTO complaints (user_id, category, location, description, image_path, status) " +
+                      "VALUES (?, ?, ?, ?, ?, 'Pending')"
+                    : "INSERT INTO complaints (user_id, category, location, description, status) " +
                       "VALUES (?, ?, ?, ?, 'Pending')";
                 
-                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = c.prepareStatement(sql)) {
                     stmt.setInt(1, userId);
                     stmt.setString(2, category);
                     stmt.setString(3, location.toString());
                     stmt.setString(4, description);
+                    if (savedImage != null) {
+                        stmt.setString(5, savedImage);
+                    }
                     
                     stmt.executeUpdate();
                 }
+                StatusCounters.inserted(c, userId, "Pending");
+                return null;
+            });
+
+            if (imageDropped) {
+                JOptionPane.showMessageDialog(this, 
+                    "Complaint submitted, but image couldn't be saved (database schema issue).",
+                    "Partial Success", 
+                    JOptionPane.WARNING_MESSAGE);
             }
             
+            StatusCountService.invalidate();
             JOptionPane.showMessageDialog(this, "Complaint submitted successfully!");
             
             // Refresh complaints table in parent window if it's StudentDashboard
@@ -294,22 +281,4 @@ public class ComplaintForm extends JFrame {
             }
         }
     }
-    
-    /**
-     * Checks if the image_path column exists in the complaints table
-     * @param conn Database connection
-     * @return true if the column exists, false otherwise
-     */
-    private boolean checkImagePathColumnExists(Connection conn) {
-        try {
-            DatabaseMetaData meta = conn.getMetaData();
-            ResultSet rs = meta.getColumns(null, null, "complaints", "image_path");
-            boolean exists = rs.next(); // If there's a result, the column exists
-            rs.close();
-            return exists;
-        } catch (SQLException e) {
-            System.out.println("Error checking for image_path column: " + e.getMessage());
-            return false;
-        }
-    }
 }
\ No newline at end of file
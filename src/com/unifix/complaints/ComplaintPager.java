@@ -0,0 +1,238 @@
+package com.unifix.complaints;
+
+import com.unifix.database.LatestQuery;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.function.Function;
+import javax.swing.JButton;
+import javax.swing.JOptionPane;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+
+/**
+ * Fills a table from {@link ComplaintRepository} one page at a time.
+ * reload() shows the first page for a filter; the "Load more" button
+ * appends the next page and is disabled once the last page is shown.
+ *
+ * refresh() keeps the table in step afterwards by delta: only complaints
+ * changed since the last sync are read, and each is inserted, updated or
+ * removed in place, so the selection and scroll position survive. Deltas
+ * are only correct against rows read on the primary, so all reads go there.
+ */
+public class ComplaintPager {
+    private final JTable table;
+    private final String[] columns;
+    private final Class<?>[] columnClasses;
+    private final Function<ComplaintSummary, Object[]> toRow;
+    private final ComplaintRepository repository;
+    private final ComplaintRepository.Order order;
+    private final Comparator<ComplaintSummary> comparator;
+    private final LatestQuery query = new LatestQuery();
+    private final JButton loadMoreButton = new JButton("Load more");
+
+    // The shown complaints, in table order
+    private final List<ComplaintSummary> shown = new ArrayList<>();
+    private final Map<Integer, ComplaintSummary> shownById = new HashMap<>();
+
+    private ComplaintFilter filter = ComplaintFilter.all();
+    private ComplaintRepository.Cursor next;
+    // Last row read while more pages follow; rows after it come from "Load more"
+    private ComplaintSummary boundary;
+    // Where the next delta starts; null until a first page has been shown
+    private Timestamp watermark;
+
+    /**
+     * @param columnClasses per-column classes for the renderers, or null for Object
+     */
+    public ComplaintPager(JTable table, String[] columns, Class<?>[] columnClasses,
+                          Function<ComplaintSummary, Object[]> toRow,
+                          ComplaintRepository repository, ComplaintRepository.Order order) {
+        this.table = table;
+        this.columns = columns;
+        this.columnClasses = columnClasses;
+        this.toRow = toRow;
+        this.repository = repository;
+        this.order = order;
+        this.comparator = order.comparator();
+        loadMoreButton.setEnabled(false);
+        loadMoreButton.addActionListener(e -> loadMore());
+    }
+
+    public JButton getLoadMoreButton() {
+        return loadMoreButton;
+    }
+
+    /**
+     * Replaces the table contents with the first page of the filter.
+     */
+    public void reload(ComplaintFilter filter) {
+        this.filter = filter;
+        next = null;
+        watermark = null;
+        ComplaintFilter current = filter;
+        loadMoreButton.setEnabled(false);
+        query.submit(conn -> {
+            // Taken before the page is read, so changes made meanwhile come with the next delta
+            Timestamp start = repository.watermark(conn);
+            return new FirstPage(repository.fetchPage(conn, current, order, null), start);
+        }, first -> {
+            shown.clear();
+            shownById.clear();
+            DefaultTableModel model = newModel();
+            for (ComplaintSummary complaint : first.page.getRows()) {
+                model.addRow(toRow.apply(complaint));
+                shown.add(complaint);
+                shownById.put(complaint.getComplaintId(), complaint);
+            }
+            table.setModel(model);
+            watermark = first.watermark;
+            pageRead(first.page);
+        }, this::failed);
+    }
+
+    /**
+     * Reloads the first page with the current filter.
+     */
+    public void reload() {
+        reload(filter);
+    }
+
+    /**
+     * Brings the table up to date for the filter: by delta when it is the
+     * filter already shown, otherwise by a full reload.
+     */
+    public void refresh(ComplaintFilter filter) {
+        if (watermark == null || !filter.equals(this.filter)) {
+            reload(filter);
+            return;
+        }
+        ComplaintFilter current = this.filter;
+        Timestamp since = watermark;
+        List<Integer> loadedIds = new ArrayList<>(shownById.keySet());
+        query.submit(conn -> repository.fetchChanges(conn, current, since, loadedIds), changes -> {
+            if (changes.isTooLarge()) {
+                reload();
+                return;
+            }
+            DeltaMerge.apply(new ShownRows((DefaultTableModel) table.getModel()), changes, current, comparator, boundary);
+            watermark = changes.getWatermark();
+            loadMoreButton.setEnabled(next != null);
+        }, error -> JOptionPane.showMessageDialog(table, "Error refreshing complaints: " + error.getMessage()));
+    }
+
+    private void loadMore() {
+        if (next == null) {
+            return;
+        }
+        ComplaintFilter current = filter;
+        ComplaintRepository.Cursor after = next;
+        loadMoreButton.setEnabled(false);
+        query.submit(conn -> repository.fetchPage(conn, current, order, after), page -> {
+            DefaultTableModel model = (DefaultTableModel) table.getModel();
+            ShownRows rows = new ShownRows(model);
+            for (ComplaintSummary complaint : page.getRows()) {
+                // A row can have moved past the boundary since the last delta; the page has the newer copy
+                ComplaintSummary stale = shownById.get(complaint.getComplaintId());
+                if (stale != null) {
+                    rows.remove(shown.indexOf(stale));
+                }
+                rows.insert(shown.size(), complaint);
+            }
+            pageRead(page);
+        }, this::failed);
+    }
+
+    private void pageRead(ComplaintRepository.Page page) {
+        next = page.getNext();
+        List<ComplaintSummary> rows = page.getRows();
+        boundary = page.hasMore() ? rows.get(rows.size() - 1) : null;
+        loadMoreButton.setEnabled(page.hasMore());
+    }
+
+    private void failed(Throwable error) {
+        loadMoreButton.setEnabled(next != null);
+        JOptionPane.showMessageDialog(table, "Error fetching complaints: " + error.getMessage());
+    }
+
+    private DefaultTableModel newModel() {
+        return new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int columnIndex) {
+                return columnClasses != null ? columnClasses[columnIndex] : Object.class;
+            }
+        };
+    }
+
+    private static final class FirstPage {
+        final ComplaintRepository.Page page;
+        final Timestamp watermark;
+
+        FirstPage(ComplaintRepository.Page page, Timestamp watermark) {
+            this.page = page;
+            this.watermark = watermark;
+        }
+    }
+
+    /**
+     * The shown list and the table model, changed together.
+     */
+    private final class ShownRows implements DeltaMerge.Rows {
+        private final DefaultTableModel model;
+
+        ShownRows(DefaultTableModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public int size() {
+            return shown.size();
+        }
+
+        @Override
+        public ComplaintSummary get(int index) {
+            return shown.get(index);
+        }
+
+        @Override
+        public ComplaintSummary byId(int complaintId) {
+            return shownById.get(complaintId);
+        }
+
+        @Override
+        public void insert(int index, ComplaintSummary complaint) {
+            shown.add(index, complaint);
+            shownById.put(complaint.getComplaintId(), complaint);
+            model.insertRow(index, toRow.apply(complaint));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void set(int index, ComplaintSummary complaint) {
+            shown.set(index, complaint);
+            shownById.put(complaint.getComplaintId(), complaint);
+            Vector<Object> row = (Vector<Object>) model.getDataVector().get(index);
+            Object[] values = toRow.apply(complaint);
+            for (int i = 0; i < values.length; i++) {
+                row.set(i, values[i]);
+            }
+            model.fireTableRowsUpdated(index, index);
+        }
+
+        @Override
+        public void remove(int index) {
+            ComplaintSummary complaint = shown.remove(index);
+            shownById.remove(complaint.getComplaintId());
+            model.removeRow(index);
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package com.unifix.complaints;
+
+import com.unifix.database.DBConnection;
+import com.unifix.database.DatabaseBackend;
+import com.unifix.database.StreamingReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Reads complaint listings one page at a time.
+ *
+ * Pages use keyset pagination: the next page starts after the last row of
+ * the previous one ("created_at &lt; ? OR (created_at = ? AND complaint_id &lt; ?)")
+ * instead of skipping rows with OFFSET, so every page costs the same index
+ * range read however deep it is, and a view over a million complaints only
+ * reads what it shows. complaint_id breaks ties between equal timestamps.
+ * The matching indexes are created by the V5 migration.
+ *
+ * Views that stay open sync by delta instead of reloading: watermark() marks
+ * the point a load started from, and fetchChanges() returns only complaints
+ * inserted, updated (updated_at is kept by the database, V7) or deleted since.
+ *
+ * Methods take the connection to use, so they run on the database executor:
+ * <pre>
+ * query.submitRead(conn -&gt; repository.fetchPage(conn, filter, Order.NEWEST_FIRST, null), ...);
+ * </pre>
+ */
+public class ComplaintRepository {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final String SELECT = "SELECT c.complaint_id, c.user_id, u.name, c.category, c.location, " +
+                                         "c.description, c.priority, c.status, c.assigned_to, c.created_at " +
+                                         "FROM complaints c JOIN users u ON c.user_id = u.user_id";
+
+    // Priority order for ORDER BY priority DESC; NULL sorts last in MySQL and H2
+    private static final String[] PRIORITIES_DESC = {"High", "Medium", "Low", null};
+
+    /**
+     * Most changed rows one delta carries; past that a full reload is cheaper.
+     */
+    public static final int MAX_CHANGES = 1000;
+
+    // Most loaded ids a change query lists; past that it filters on the student only
+    private static final int MAX_LOADED_IDS = 1000;
+
+    // A transaction can commit a little after the time it stamped on its rows,
+    // so each sync reaches back this far; a row seen twice is just updated again
+    private static final long COMMIT_LAG_MS = 2000;
+
+    public enum Order {
+        /** created_at DESC, complaint_id DESC */
+        NEWEST_FIRST,
+        /**
+         * priority DESC, then oldest first within a priority: the order a work
+         * queue is handled in. complaint_id stands in for created_at here since
+         * it grows with it, and it comes free with the (status, priority) index.
+         */
+        PRIORITY;
+
+        /**
+         * The same order in memory, for placing changed rows in a loaded list.
+         */
+        public Comparator<ComplaintSummary> comparator() {
+            if (this == PRIORITY) {
+                return Comparator.comparingInt((ComplaintSummary c) -> priorityRank(c.getPriority()))
+                    .thenComparingInt(ComplaintSummary::getComplaintId);
+            }
+            return Comparator.comparing(ComplaintSummary::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(ComplaintSummary::getComplaintId, Comparator.reverseOrder());
+        }
+    }
+
+    private final int pageSize;
+
+    public ComplaintRepository() {
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    public ComplaintRepository(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Fetches the page after the given cursor, or the first page when it is null.
+     */
+    public Page fetchPage(Connection conn, ComplaintFilter filter, Order order, Cursor after) throws SQLException {
+        // One row more than a page tells us whether there is a next page
+        List<ComplaintSummary> rows = fetchRows(conn, filter, order, after, 0, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new Page(rows, null);
+        }
+        rows = new ArrayList<>(rows.subList(0, pageSize));
+        return new Page(rows, Cursor.after(rows.get(pageSize - 1)));
+    }
+
+    /**
+     * Reads up to limit rows following the cursor (from the start when it is
+     * null), first skipping skip rows. Skipping is an OFFSET and costs as
+     * much as reading those rows, so it is only for jumping ahead when no
+     * nearer cursor is known.
+     */
+    public List<ComplaintSummary> fetchRows(Connection conn, ComplaintFilter filter, Order order, Cursor after,
+                                            int skip, int limit) throws SQLException {
+        StringBuilder where = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        filter.appendConditions(where, params);
+        if (after != null) {
+            if (where.length() > 0) {
+                where.append(" AND ");
+            }
+            where.append('(');
+            if (order == Order.PRIORITY) {
+                appendAfterPriority(where, params, after);
+            } else {
+                appendAfterNewest(where, params, after);
+            }
+            where.append(')');
+        }
+
+        String sql = SELECT
+            + (where.length() > 0 ? " WHERE " + where : "")
+            + orderBy(order)
+            + (skip > 0 ? " LIMIT ? OFFSET ?" : " LIMIT ?");
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Object param : params) {
+                stmt.setObject(index++, param);
+            }
+            stmt.setInt(index++, limit);
+            if (skip > 0) {
+                stmt.setInt(index, skip);
+            }
+
+            List<ComplaintSummary> rows = new ArrayList<>(Math.min(limit, 1000));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(readRow(rs));
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Streams every complaint matching the filter, in order, to the handler
+     * in one query without holding the rows in memory (see
+     * {@link StreamingReader}); the handler must not use the connection.
+     *
+     * @return the number of rows read
+     */
+    public long forEachRow(Connection conn, ComplaintFilter filter, Order order,
+                           Consumer<ComplaintSummary> handler) throws SQLException {
+        StringBuilder where = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        filter.appendConditions(where, params);
+        String sql = SELECT + (where.length() > 0 ? " WHERE " + where : "") + orderBy(order);
+        return StreamingReader.forEach(conn, sql, params, rs -> handler.accept(readRow(rs)));
+    }
+
+    private static String orderBy(Order order) {
+        return order == Order.PRIORITY
+            ? " ORDER BY c.priority DESC, c.complaint_id ASC"
+            : " ORDER BY c.created_at DESC, c.complaint_id DESC";
+    }
+
+    /**
+     * Roughly how many complaints match, cheap enough to ask before showing a
+     * list. Unfiltered MySQL tables use the row estimate InnoDB keeps in
+     * information_schema (it can be off by tens of percent); otherwise the
+     * rows are counted through the filter's index.
+     */
+    public int estimateCount(Connection conn, ComplaintFilter filter) throws SQLException {
+        StringBuilder where = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        filter.appendConditions(where, params);
+
+        String sql;
+        if (where.length() == 0 && DBConnection.getBackend() == DatabaseBackend.MYSQL) {
+            sql = "SELECT TABLE_ROWS FROM information_schema.TABLES " +
+                  "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'complaints'";
+        } else {
+            sql = "SELECT COUNT(*) FROM complaints c" + (where.length() > 0 ? " WHERE " + where : "");
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? (int) Math.min(Integer.MAX_VALUE, rs.getLong(1)) : 0;
+            }
+        }
+    }
+
+    /**
+     * The listing as a source for {@link LazyTableModel}.
+     */
+    public LazyTableModel.Source<ComplaintSummary, Cursor> asSource(ComplaintFilter filter, Order order) {
+        return new LazyTableModel.Source<ComplaintSummary, Cursor>() {
+            @Override
+            public int estimateRowCount(Connection conn) throws SQLException {
+                return estimateCount(conn, filter);
+            }
+
+            @Override
+            public List<ComplaintSummary> fetch(Connection conn, Cursor after, int skip, int limit) throws SQLException {
+                return fetchRows(conn, filter, order, after, skip, limit);
+            }
+
+            @Override
+            public Cursor keyOf(ComplaintSummary row) {
+                return Cursor.after(row);
+            }
+        };
+    }
+
+    /**
+     * The position to sync from after a load that starts now. Read it on the
+     * primary before the load, so nothing changed during the load is missed.
+     */
+    public Timestamp watermark(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT CURRENT_TIMESTAMP(3)");
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return new Timestamp(rs.getTimestamp(1).getTime() - COMMIT_LAG_MS);
+        }
+    }
+
+    /**
+     * Complaints changed or deleted since the watermark that are in the view
+     * now or were loaded into it: "(filter) OR complaint_id IN (loaded ids)",
+     * so rows entering, inside or leaving the view arrive and no others.
+     * Apply them with {@link ComplaintFilter#matches}. Read on the primary.
+     *
+     * @param loadedIds the complaints the view holds; over 1000 and the query
+     *                  filters on the student only, as wide but still correct
+     */
+    public Changes fetchChanges(Connection conn, ComplaintFilter filter, Timestamp since,
+                                Collection<Integer> loadedIds) throws SQLException {
+        Timestamp next = watermark(conn);
+
+        StringBuilder where = new StringBuilder("c.updated_at >= ?");
+        List<Object> params = new ArrayList<>();
+        params.add(since);
+        StringBuilder view = new StringBuilder();
+        List<Object> viewParams = new ArrayList<>();
+        if (loadedIds.size() <= MAX_LOADED_IDS) {
+            filter.appendConditions(view, viewParams);
+        } else {
+            filter.appendStableConditions(view, viewParams);
+        }
+        if (view.length() > 0) {
+            where.append(" AND ((").append(view).append(")");
+            params.addAll(viewParams);
+            if (!loadedIds.isEmpty() && loadedIds.size() <= MAX_LOADED_IDS) {
+                where.append(" OR c.complaint_id IN (")
+                     .append(String.join(", ", Collections.nCopies(loadedIds.size(), "?"))).append(")");
+                params.addAll(loadedIds);
+            }
+            where.append(")");
+        }
+
+        List<ComplaintSummary> changed = new ArrayList<>();
+        String sql = SELECT + " WHERE " + where + " ORDER BY c.updated_at LIMIT ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Object param : params) {
+                stmt.setObject(index++, param);
+            }
+            stmt.setInt(index, MAX_CHANGES + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    changed.add(readRow(rs));
+                }
+            }
+        }
+        if (changed.size() > MAX_CHANGES) {
+            return new Changes(null, null, next);
+        }
+
+        List<Integer> deleted = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT complaint_id FROM complaint_deletions WHERE deleted_at >= ?")) {
+            stmt.setTimestamp(1, since);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    deleted.add(rs.getInt(1));
+                }
+            }
+        }
+        return new Changes(changed, deleted, next);
+    }
+
+    private static int priorityRank(String priority) {
+        int rank = 0;
+        while (rank < PRIORITIES_DESC.length - 1 && !Objects.equals(PRIORITIES_DESC[rank], priority)) {
+            rank++;
+        }
+        return rank;
+    }
+
+    private static ComplaintSummary readRow(ResultSet rs) throws SQLException {
+        return new ComplaintSummary(
+            rs.getInt("complaint_id"),
+            rs.getInt("user_id"),
+            rs.getString("name"),
+            rs.getString("category"),
+            rs.getString("location"),
+            rs.getString("description"),
+            rs.getString("priority"),
+            rs.getString("status"),
+            rs.getString("assigned_to"),
+            rs.getTimestamp("created_at")
+        );
+    }
+
+    private static void appendAfterNewest(StringBuilder where, List<Object> params, Cursor after) {
+        where.append("c.created_at < ? OR (c.created_at = ? AND c.complaint_id < ?)");
+        params.add(after.createdAt);
+        params.add(after.createdAt);
+        params.add(after.complaintId);
+    }
+
+    /**
+     * Rows in a lower priority, or in the same priority with a higher
+     * complaint_id. ENUM columns compare as strings, not in
+     * declaration order, so "lower priority" is spelled out as a value list.
+     */
+    private static void appendAfterPriority(StringBuilder where, List<Object> params, Cursor after) {
+        int rank = priorityRank(after.priority);
+
+        List<String> lower = new ArrayList<>();
+        boolean lowerIncludesNull = false;
+        for (int i = rank + 1; i < PRIORITIES_DESC.length; i++) {
+            if (PRIORITIES_DESC[i] == null) {
+                lowerIncludesNull = true;
+            } else {
+                lower.add(PRIORITIES_DESC[i]);
+            }
+        }
+
+        if (!lower.isEmpty()) {
+            where.append("c.priority IN (").append(String.join(", ", Collections.nCopies(lower.size(), "?"))).append(") OR ");
+            params.addAll(lower);
+        }
+        if (lowerIncludesNull) {
+            where.append("c.priority IS NULL OR ");
+        }
+        if (after.priority == null) {
+            where.append("(c.priority IS NULL");
+        } else {
+            where.append("(c.priority = ?");
+            params.add(after.priority);
+        }
+        where.append(" AND c.complaint_id > ?)");
+        params.add(after.complaintId);
+    }
+
+    /**
+     * Position after the last row of a page. Opaque to callers: pass it back
+     * to {@link #fetchPage} with the same filter and order.
+     */
+    public static final class Cursor {
+        private final String priority;
+        private final Timestamp createdAt;
+        private final int complaintId;
+
+        private Cursor(String priority, Timestamp createdAt, int complaintId) {
+            this.priority = priority;
+            this.createdAt = createdAt;
+            this.complaintId = complaintId;
+        }
+
+        /**
+         * The position just after the given row.
+         */
+        public static Cursor after(ComplaintSummary row) {
+            return new Cursor(row.getPriority(), row.getCreatedAt(), row.getComplaintId());
+        }
+    }
+
+    /**
+     * Up to one page of rows, and the cursor for the next page (null on the last page).
+     */
+    public static final class Page {
+        private final List<ComplaintSummary> rows;
+        private final Cursor next;
+
+        private Page(List<ComplaintSummary> rows, Cursor next) {
+            this.rows = Collections.unmodifiableList(rows);
+            this.next = next;
+        }
+
+        public List<ComplaintSummary> getRows() {
+            return rows;
+        }
+
+        public Cursor getNext() {
+            return next;
+        }
+
+        public boolean hasMore() {
+            return next != null;
+        }
+    }
+
+    /**
+     * What changed since a watermark, and the watermark to pass next time.
+     */
+    public static final class Changes {
+        private final List<ComplaintSummary> changed;
+        private final List<Integer> deletedIds;
+        private final Timestamp watermark;
+
+        private Changes(List<ComplaintSummary> changed, List<Integer> deletedIds, Timestamp watermark) {
+            this.changed = changed == null ? null : Collections.unmodifiableList(changed);
+            this.deletedIds = deletedIds == null ? null : Collections.unmodifiableList(deletedIds);
+            this.watermark = watermark;
+        }
+
+        /**
+         * True if more than {@link #MAX_CHANGES} rows changed; the rows are
+         * not included and the view should reload instead.
+         */
+        public boolean isTooLarge() {
+            return changed == null;
+        }
+
+        /**
+         * Inserted and updated complaints that match the view's filter or were
+         * loaded into the view (and may no longer match).
+         */
+        public List<ComplaintSummary> getChanged() {
+            return changed;
+        }
+
+        public List<Integer> getDeletedIds() {
+            return deletedIds;
+        }
+
+        public Timestamp getWatermark() {
+            return watermark;
+        }
+
+        public boolean isEmpty() {
+            return changed != null && changed.isEmpty() && deletedIds.isEmpty();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,245 @@
+package com.unifix.complaints;
+
+import com.unifix.database.DBConnection;
+import com.unifix.database.NamedLock;
+import com.unifix.database.UnitOfWork;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per day x location x category x status aggregates of complaints in
+ * complaint_daily_rollups, so admin statistics read a small table instead of
+ * grouping and joining the whole history.
+ *
+ * A complaint's day (its created_at) never changes, so {@link #refresh} only
+ * needs the days of complaints changed or deleted since the last watermark,
+ * and recomputes each of those days from its index range of complaints.
+ * Recomputing a day is idempotent, so a run that fails part way is simply
+ * repeated. {@link #startRefresh()} runs it every db.rollups.refreshSeconds
+ * (default 60, 0 to disable); statistics are at most that far behind.
+ */
+public final class ComplaintRollups {
+    private static final String WATERMARK_NAME = "complaint_daily_rollups";
+    // Days recomputed per transaction
+    private static final int DAYS_PER_TRANSACTION = 31;
+
+    // A plain SELECT, so it is a consistent read: an INSERT ... SELECT would
+    // share-lock every complaint and gap of the days it reads, today included
+    private static final String AGGREGATE_SQL =
+        "SELECT COALESCE(c.location, ''), COALESCE(c.category, ''), c.status, " +
+        "COUNT(DISTINCT c.complaint_id), COUNT(s.solution_id), " +
+        "COALESCE(SUM(TIMESTAMPDIFF(HOUR, c.created_at, s.updated_at)), 0) " +
+        "FROM complaints c LEFT JOIN solutions s ON s.complaint_id = c.complaint_id AND c.status = 'Resolved' " +
+        "WHERE c.created_at >= ? AND c.created_at < ? AND c.status IS NOT NULL " +
+        "GROUP BY COALESCE(c.location, ''), COALESCE(c.category, ''), c.status";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO complaint_daily_rollups " +
+        "(rollup_day, location, category, status, complaints, resolutions, resolution_hours) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // Only one client refreshes at a time, so an older read never overwrites a newer one
+    private static final String LOCK_NAME = "unifix_rollups";
+
+    private static final ComplaintRepository REPOSITORY = new ComplaintRepository();
+
+    private static ScheduledExecutorService refresher;
+
+    private ComplaintRollups() {
+    }
+
+    /**
+     * Brings the rollups up to date with complaints changed since the last
+     * run. Skipped while another client is refreshing.
+     *
+     * @return the number of days recomputed
+     */
+    public static int refresh(Connection conn) throws SQLException {
+        if (!NamedLock.acquire(conn, LOCK_NAME, 0)) {
+            return 0;
+        }
+        try {
+            return refreshDays(conn);
+        } finally {
+            NamedLock.release(conn, LOCK_NAME);
+        }
+    }
+
+    private static int refreshDays(Connection conn) throws SQLException {
+        Timestamp since;
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT watermark FROM rollup_watermarks WHERE name = ?")) {
+            stmt.setString(1, WATERMARK_NAME);
+            try (ResultSet rs = stmt.executeQuery()) {
+                since = rs.next() ? rs.getTimestamp(1) : new Timestamp(0);
+            }
+        }
+        // Taken before reading, so rows committed meanwhile are picked up next time
+        Timestamp watermark = REPOSITORY.watermark(conn);
+
+        TreeSet<Date> days = new TreeSet<>();
+        String sql = "SELECT DISTINCT CAST(created_at AS DATE) FROM complaints WHERE updated_at >= ? " +
+                     "UNION " +
+                     "SELECT DISTINCT CAST(created_at AS DATE) FROM complaint_deletions " +
+                     "WHERE deleted_at >= ? AND created_at IS NOT NULL";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, since);
+            stmt.setTimestamp(2, since);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (rs.getDate(1) != null) {
+                        days.add(rs.getDate(1));
+                    }
+                }
+            }
+        }
+
+        List<Date> batch = new ArrayList<>(DAYS_PER_TRANSACTION);
+        for (Date day : days) {
+            batch.add(day);
+            if (batch.size() == DAYS_PER_TRANSACTION) {
+                recompute(conn, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            recompute(conn, batch);
+        }
+
+        // Never moves backwards if another client ran ahead meanwhile
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE rollup_watermarks SET watermark = ? WHERE name = ? AND watermark < ?")) {
+            stmt.setTimestamp(1, watermark);
+            stmt.setString(2, WATERMARK_NAME);
+            stmt.setTimestamp(3, watermark);
+            stmt.executeUpdate();
+        }
+        return days.size();
+    }
+
+    /**
+     * Average hours from complaint to solution over every resolved
+     * complaint, or null when there are none.
+     */
+    public static Double averageResolutionHours(Connection conn) throws SQLException {
+        String sql = "SELECT SUM(resolution_hours), SUM(resolutions) FROM complaint_daily_rollups " +
+                     "WHERE status = 'Resolved'";
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next() && rs.getLong(2) > 0) {
+                return (double) rs.getLong(1) / rs.getLong(2);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Complaints per category over all time, by category name.
+     */
+    public static Map<String, Integer> countByCategory(Connection conn) throws SQLException {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        String sql = "SELECT category, SUM(complaints) FROM complaint_daily_rollups " +
+                     "GROUP BY category ORDER BY category";
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                counts.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Starts the periodic refresh on a background thread, with a first run
+     * right away. Safe to call more than once.
+     */
+    public static synchronized void startRefresh() {
+        long seconds = DBConnection.getLongSetting("db.rollups.refreshSeconds", 60);
+        if (refresher != null || seconds <= 0) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "unifix-rollups");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(ComplaintRollups::refreshNow, 0, seconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic refresh, if running; a run in progress finishes.
+     */
+    public static synchronized void stopRefresh() {
+        if (refresher != null) {
+            refresher.shutdown();
+            refresher = null;
+        }
+    }
+
+    private static void refreshNow() {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn != null) {
+                refresh(conn);
+            }
+        } catch (SQLException e) {
+            System.out.println("❌ Complaint rollup refresh failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the rollup rows of the given days with a fresh count of their
+     * complaints. The counts are read first, outside any transaction; only
+     * the rollup rows are written in one.
+     */
+    private static void recompute(Connection conn, List<Date> days) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        try (PreparedStatement aggregate = conn.prepareStatement(AGGREGATE_SQL)) {
+            for (Date day : days) {
+                // The day's range of created_at, so idx_complaints_created bounds the read
+                aggregate.setDate(1, day);
+                aggregate.setDate(2, Date.valueOf(day.toLocalDate().plusDays(1)));
+                try (ResultSet rs = aggregate.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(new Object[]{day, rs.getString(1), rs.getString(2), rs.getString(3),
+                                              rs.getInt(4), rs.getInt(5), rs.getLong(6)});
+                    }
+                }
+            }
+        }
+
+        UnitOfWork.run(conn, c -> {
+            try (PreparedStatement delete = c.prepareStatement(
+                    "DELETE FROM complaint_daily_rollups WHERE rollup_day = ?")) {
+                for (Date day : days) {
+                    delete.setDate(1, day);
+                    delete.addBatch();
+                }
+                delete.executeBatch();
+            }
+            if (!rows.isEmpty()) {
+                try (PreparedStatement insert = c.prepareStatement(INSERT_SQL)) {
+                    for (Object[] row : rows) {
+                        for (int i = 0; i < row.length; i++) {
+                            insert.setObject(i + 1, row[i]);
+                        }
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            }
+            return null;
+        });
+    }
+}
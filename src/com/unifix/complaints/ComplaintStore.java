@@ -0,0 +1,561 @@
+package com.unifix.complaints;
+
+import com.unifix.utils.Location;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Complaint rows held column by column in primitive arrays instead of one
+ * object per cell.
+ *
+ * IDs are int[], timestamps epoch millis in a long[], status and priority
+ * byte codes, and repeated strings (category, location, assignee, student
+ * name) are dictionary-encoded to int codes, each distinct string stored
+ * once. Locations are coded by {@link Location} ordinal, with unknown
+ * location text appended after the enum values. A row costs about 40 bytes
+ * against several hundred for a DefaultTableModel row of boxed values and
+ * per-row String copies, and sorting or filtering compares primitives.
+ * Descriptions are free text and only kept when asked for.
+ *
+ * Rows can be replaced with set() and dropped with remove() when a delta
+ * refresh reports them changed; a removed row keeps its slot until the next
+ * full load, and rowsWhere() skips it.
+ *
+ * A bitset per status, kept current by add/set/remove, answers "rows with
+ * this status" and status counts without touching the other columns.
+ *
+ * Not thread-safe: fill it on one thread, then hand it to the event thread.
+ */
+public final class ComplaintStore {
+    public static final String[] STATUSES = {"Pending", "In Progress", "Resolved"};
+    // Declaration order of the ENUM, so codes sort the way ORDER BY priority does
+    public static final String[] PRIORITIES = {"Low", "Medium", "High"};
+
+    private static final int INITIAL_CAPACITY = 1000;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    public enum Column {
+        ID("ID"),
+        USER("User"),
+        CATEGORY("Category"),
+        LOCATION("Location"),
+        DESCRIPTION("Description"),
+        PRIORITY("Priority"),
+        STATUS("Status"),
+        ASSIGNED_TO("Assigned To"),
+        CREATED("Created");
+
+        private final String title;
+
+        Column(String title) {
+            this.title = title;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+
+    private final boolean keepDescriptions;
+    private final Dictionary userNames = new Dictionary();
+    private final Dictionary categories = new Dictionary();
+    private final Dictionary locations = new Dictionary();
+    private final Dictionary assignees = new Dictionary();
+
+    private int size;
+    private int[] ids;
+    private int[] userIds;
+    private int[] userNameCodes;
+    private int[] categoryCodes;
+    private int[] locationCodes;
+    private int[] assigneeCodes;
+    private long[] createdAt;
+    private byte[] statusCodes;
+    private byte[] priorityCodes;
+    private String[] descriptions;
+    private final BitSet removed = new BitSet();
+    private final BitSet[] statusRows = new BitSet[STATUSES.length];
+    private Timestamp watermark;
+    // complaint_id to row, built on first use: only delta refreshes look rows up by id
+    private Map<Integer, Integer> rowById;
+
+    public ComplaintStore(int initialCapacity, boolean keepDescriptions) {
+        int capacity = Math.max(16, initialCapacity);
+        this.keepDescriptions = keepDescriptions;
+        ids = new int[capacity];
+        userIds = new int[capacity];
+        userNameCodes = new int[capacity];
+        categoryCodes = new int[capacity];
+        locationCodes = new int[capacity];
+        assigneeCodes = new int[capacity];
+        createdAt = new long[capacity];
+        statusCodes = new byte[capacity];
+        priorityCodes = new byte[capacity];
+        descriptions = keepDescriptions ? new String[capacity] : null;
+        for (Location location : Location.values()) {
+            locations.encode(location.toString());
+        }
+        for (int i = 0; i < statusRows.length; i++) {
+            statusRows[i] = new BitSet(capacity);
+        }
+    }
+
+    /**
+     * Reads every matching complaint into a new store in one streamed query,
+     * encoding each row as it arrives, so neither the driver nor the store
+     * holds row objects. Runs on the database executor.
+     */
+    public static ComplaintStore load(Connection conn, ComplaintRepository repository, ComplaintFilter filter,
+                                      ComplaintRepository.Order order, boolean keepDescriptions) throws SQLException {
+        ComplaintStore store = new ComplaintStore(INITIAL_CAPACITY, keepDescriptions);
+        store.watermark = repository.watermark(conn);
+        repository.forEachRow(conn, filter, order, store::add);
+        return store;
+    }
+
+    /**
+     * Appends a complaint and returns its row.
+     */
+    public int add(ComplaintSummary complaint) {
+        if (size == ids.length) {
+            grow();
+        }
+        int row = size++;
+        write(row, complaint);
+        if (rowById != null) {
+            rowById.put(complaint.getComplaintId(), row);
+        }
+        return row;
+    }
+
+    /**
+     * Overwrites a row with a newer copy of the same complaint.
+     */
+    public void set(int row, ComplaintSummary complaint) {
+        write(row, complaint);
+    }
+
+    /**
+     * Drops a row: rowOf() no longer finds it and rowsWhere() skips it.
+     */
+    public void remove(int row) {
+        removed.set(row);
+        if (statusCodes[row] >= 0) {
+            statusRows[statusCodes[row]].clear(row);
+        }
+        if (rowById != null) {
+            rowById.remove(ids[row]);
+        }
+    }
+
+    public boolean isRemoved(int row) {
+        return removed.get(row);
+    }
+
+    /**
+     * The complaint ids of the rows not removed, for a delta refresh.
+     */
+    public List<Integer> loadedIds() {
+        List<Integer> loaded = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            if (!removed.get(row)) {
+                loaded.add(ids[row]);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * The row holding a complaint, or -1 if it is not in the store.
+     */
+    public int rowOf(int complaintId) {
+        if (rowById == null) {
+            rowById = new HashMap<>(size * 2);
+            for (int row = 0; row < size; row++) {
+                if (!removed.get(row)) {
+                    rowById.put(ids[row], row);
+                }
+            }
+        }
+        Integer row = rowById.get(complaintId);
+        return row == null ? -1 : row;
+    }
+
+    // Overwrites every column of the row; a new row's slot is zero-filled, so clearing its old status bit is harmless
+    private void write(int row, ComplaintSummary complaint) {
+        if (statusCodes[row] >= 0) {
+            statusRows[statusCodes[row]].clear(row);
+        }
+        ids[row] = complaint.getComplaintId();
+        userIds[row] = complaint.getUserId();
+        userNameCodes[row] = userNames.encode(complaint.getUserName());
+        categoryCodes[row] = categories.encode(complaint.getCategory());
+        locationCodes[row] = locations.encode(complaint.getLocation());
+        assigneeCodes[row] = assignees.encode(complaint.getAssignedTo());
+        createdAt[row] = complaint.getCreatedAt() == null ? NO_TIME : complaint.getCreatedAt().getTime();
+        statusCodes[row] = code(STATUSES, complaint.getStatus());
+        if (statusCodes[row] >= 0) {
+            statusRows[statusCodes[row]].set(row);
+        }
+        priorityCodes[row] = code(PRIORITIES, complaint.getPriority());
+        if (keepDescriptions) {
+            descriptions[row] = complaint.getDescription();
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        userIds = Arrays.copyOf(userIds, capacity);
+        userNameCodes = Arrays.copyOf(userNameCodes, capacity);
+        categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+        locationCodes = Arrays.copyOf(locationCodes, capacity);
+        assigneeCodes = Arrays.copyOf(assigneeCodes, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        statusCodes = Arrays.copyOf(statusCodes, capacity);
+        priorityCodes = Arrays.copyOf(priorityCodes, capacity);
+        if (keepDescriptions) {
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+    }
+
+    private static byte code(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(value)) {
+                return (byte) i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Where a delta refresh of a loaded store starts (see fetchChanges()), or null.
+     */
+    public Timestamp getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(Timestamp watermark) {
+        this.watermark = watermark;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    public int getUserId(int row) {
+        return userIds[row];
+    }
+
+    public String getUserName(int row) {
+        return userNames.decode(userNameCodes[row]);
+    }
+
+    public String getCategory(int row) {
+        return categories.decode(categoryCodes[row]);
+    }
+
+    public String getLocation(int row) {
+        return locations.decode(locationCodes[row]);
+    }
+
+    /**
+     * The location as a {@link Location}, or null for text that is not one of them.
+     */
+    public Location getLocationValue(int row) {
+        int code = locationCodes[row];
+        return code >= 0 && code < Location.values().length ? Location.values()[code] : null;
+    }
+
+    public String getDescription(int row) {
+        return keepDescriptions ? descriptions[row] : null;
+    }
+
+    public String getAssignedTo(int row) {
+        return assignees.decode(assigneeCodes[row]);
+    }
+
+    /**
+     * Index into {@link #STATUSES}, or -1 for an unknown status.
+     */
+    public byte getStatusCode(int row) {
+        return statusCodes[row];
+    }
+
+    public String getStatus(int row) {
+        byte code = statusCodes[row];
+        return code < 0 ? null : STATUSES[code];
+    }
+
+    /**
+     * Index into {@link #PRIORITIES}, or -1 when not set.
+     */
+    public byte getPriorityCode(int row) {
+        return priorityCodes[row];
+    }
+
+    public String getPriority(int row) {
+        byte code = priorityCodes[row];
+        return code < 0 ? null : PRIORITIES[code];
+    }
+
+    /**
+     * Rows with the status, as a live bitset; the caller must not change it.
+     */
+    BitSet statusRows(int statusCode) {
+        return statusRows[statusCode];
+    }
+
+    public int countWithStatus(String status) {
+        byte code = code(STATUSES, status);
+        return code < 0 ? 0 : statusRows[code].cardinality();
+    }
+
+    /**
+     * The distinct categories seen, in alphabetical order.
+     */
+    public List<String> getCategories() {
+        return categories.sortedValues();
+    }
+
+    /**
+     * The distinct technicians complaints are assigned to, in alphabetical order.
+     */
+    public List<String> getAssignees() {
+        return assignees.sortedValues();
+    }
+
+    /**
+     * The code getCategoryCode() returns for rows with this category, or -2
+     * if no row has it (-1 is the code for no category).
+     */
+    public int categoryCodeOf(String category) {
+        return categories.codeOf(category);
+    }
+
+    /**
+     * Like categoryCodeOf(), for the assigned technician.
+     */
+    public int assigneeCodeOf(String assignee) {
+        return assignees.codeOf(assignee);
+    }
+
+    public int getCategoryCode(int row) {
+        return categoryCodes[row];
+    }
+
+    public int getAssigneeCode(int row) {
+        return assigneeCodes[row];
+    }
+
+    public long getCreatedAtMillis(int row) {
+        return createdAt[row];
+    }
+
+    /**
+     * A new Timestamp for display; use getCreatedAtMillis() when comparing.
+     */
+    public Timestamp getCreatedAt(int row) {
+        return createdAt[row] == NO_TIME ? null : new Timestamp(createdAt[row]);
+    }
+
+    /**
+     * The row decoded back into a summary.
+     */
+    ComplaintSummary summary(int row) {
+        return new ComplaintSummary(ids[row], userIds[row], getUserName(row), getCategory(row), getLocation(row),
+            getDescription(row), getPriority(row), getStatus(row), getAssignedTo(row), getCreatedAt(row));
+    }
+
+    public Object getValue(int row, Column column) {
+        switch (column) {
+            case ID:
+                return ids[row];
+            case USER:
+                return getUserName(row);
+            case CATEGORY:
+                return getCategory(row);
+            case LOCATION:
+                return getLocation(row);
+            case DESCRIPTION:
+                return getDescription(row);
+            case PRIORITY:
+                return getPriority(row);
+            case STATUS:
+                return getStatus(row);
+            case ASSIGNED_TO:
+                return getAssignedTo(row);
+            case CREATED:
+            default:
+                return getCreatedAt(row);
+        }
+    }
+
+    /**
+     * Rows for which the test is true, in store order; removed rows are left out.
+     */
+    public int[] rowsWhere(IntPredicate test) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (!removed.get(row) && test.test(row)) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * The given rows stably sorted on one column, without decoding values
+     * or boxing row numbers. The array passed in is not changed.
+     */
+    public int[] sort(int[] rows, Column column, boolean ascending) {
+        int[] sorted = rows.clone();
+        int[] scratch = new int[sorted.length];
+        mergeSort(sorted, scratch, 0, sorted.length, column, ascending ? 1 : -1);
+        return sorted;
+    }
+
+    private void mergeSort(int[] rows, int[] scratch, int from, int to, Column column, int direction) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(rows, scratch, from, mid, column, direction);
+        mergeSort(rows, scratch, mid, to, column, direction);
+        if (direction * compare(rows[mid - 1], rows[mid], column) <= 0) {
+            return;
+        }
+        System.arraycopy(rows, from, scratch, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && direction * compare(scratch[left], scratch[right], column) <= 0)) {
+                rows[i] = scratch[left++];
+            } else {
+                rows[i] = scratch[right++];
+            }
+        }
+    }
+
+    /**
+     * Compares two rows on one column without decoding: numbers and codes
+     * directly, dictionary columns by the alphabetical rank of their codes.
+     * Nulls sort first.
+     */
+    public int compare(int a, int b, Column column) {
+        switch (column) {
+            case ID:
+                return Integer.compare(ids[a], ids[b]);
+            case USER:
+                return userNames.compareCodes(userNameCodes[a], userNameCodes[b]);
+            case CATEGORY:
+                return categories.compareCodes(categoryCodes[a], categoryCodes[b]);
+            case LOCATION:
+                return locations.compareCodes(locationCodes[a], locationCodes[b]);
+            case DESCRIPTION:
+                return compareText(getDescription(a), getDescription(b));
+            case PRIORITY:
+                return Byte.compare(priorityCodes[a], priorityCodes[b]);
+            case STATUS:
+                return Byte.compare(statusCodes[a], statusCodes[b]);
+            case ASSIGNED_TO:
+                return assignees.compareCodes(assigneeCodes[a], assigneeCodes[b]);
+            case CREATED:
+            default:
+                return Long.compare(createdAt[a], createdAt[b]);
+        }
+    }
+
+    private static int compareText(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return a.compareToIgnoreCase(b);
+    }
+
+    /**
+     * Each distinct string once, with an int code per string (-1 for null).
+     * Codes are handed out in first-seen order; rank() gives their
+     * alphabetical order for sorting and is recomputed only after new strings.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private int[] ranks;
+
+        int encode(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+                ranks = null;
+            }
+            return code;
+        }
+
+        String decode(int code) {
+            return code < 0 ? null : values.get(code);
+        }
+
+        int codeOf(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer code = codes.get(value);
+            return code == null ? -2 : code;
+        }
+
+        List<String> sortedValues() {
+            int[] rank = ranks();
+            String[] sorted = new String[rank.length];
+            for (int code = 0; code < rank.length; code++) {
+                sorted[rank[code]] = values.get(code);
+            }
+            return Arrays.asList(sorted);
+        }
+
+        int compareCodes(int a, int b) {
+            if (a == b) {
+                return 0;
+            }
+            if (a < 0 || b < 0) {
+                return a < 0 ? -1 : 1;
+            }
+            int[] rank = ranks();
+            return Integer.compare(rank[a], rank[b]);
+        }
+
+        private int[] ranks() {
+            if (ranks == null) {
+                Integer[] order = new Integer[values.size()];
+                for (int i = 0; i < order.length; i++) {
+                    order[i] = i;
+                }
+                Arrays.sort(order, (x, y) -> values.get(x).compareToIgnoreCase(values.get(y)));
+                int[] computed = new int[order.length];
+                for (int i = 0; i < order.length; i++) {
+                    computed[order[i]] = i;
+                }
+                ranks = computed;
+            }
+            return ranks;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.unifix.complaints;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Comparator;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * A read-only table model over a {@link ComplaintStore}. Cells are decoded
+ * from the store when the table paints them; nothing is copied per row.
+ *
+ * setRows() shows a subset or reordering of the store (from rowsWhere() or
+ * sort()) without touching the store itself. applyChanges() merges a delta
+ * refresh into the store row by row.
+ */
+public class ComplaintStoreModel extends AbstractTableModel {
+    private final ComplaintStore.Column[] columns;
+    private final String[] titles;
+
+    private ComplaintStore store;
+    private int[] rows;
+    private int rowCount;
+
+    /**
+     * @param titles column headers, or null to use the column titles
+     */
+    public ComplaintStoreModel(ComplaintStore store, ComplaintStore.Column[] columns, String[] titles) {
+        this.columns = columns;
+        this.titles = titles;
+        this.store = store;
+    }
+
+    public ComplaintStore getStore() {
+        return store;
+    }
+
+    /**
+     * Shows a newly loaded store, in its own order.
+     */
+    public void setStore(ComplaintStore store) {
+        this.store = store;
+        this.rows = null;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Shows only these store rows, in this order; null shows them all.
+     */
+    public void setRows(int[] rows) {
+        this.rows = rows;
+        this.rowCount = rows == null ? 0 : rows.length;
+        fireTableDataChanged();
+    }
+
+    /**
+     * The store row shown at a model row.
+     */
+    public int toStoreRow(int row) {
+        return rows == null ? row : rows[row];
+    }
+
+    @Override
+    public int getRowCount() {
+        if (store == null) {
+            return 0;
+        }
+        return rows == null ? store.size() : rowCount;
+    }
+
+    /**
+     * Merges changed and deleted complaints into the store and the shown
+     * rows, firing one event per row. The model must be showing the whole
+     * store in the given order, as loaded by ComplaintStore.load().
+     */
+    public void applyChanges(ComplaintRepository.Changes changes, ComplaintFilter filter,
+                             Comparator<ComplaintSummary> order) {
+        if (rows == null) {
+            rows = store.rowsWhere(row -> true);
+            rowCount = rows.length;
+        }
+        DeltaMerge.apply(new DeltaMerge.Rows() {
+            @Override
+            public int size() {
+                return rowCount;
+            }
+
+            @Override
+            public ComplaintSummary get(int index) {
+                return store.summary(rows[index]);
+            }
+
+            @Override
+            public ComplaintSummary byId(int complaintId) {
+                int row = store.rowOf(complaintId);
+                return row < 0 ? null : store.summary(row);
+            }
+
+            @Override
+            public void insert(int index, ComplaintSummary complaint) {
+                if (rowCount == rows.length) {
+                    rows = Arrays.copyOf(rows, Math.max(16, rowCount * 2));
+                }
+                System.arraycopy(rows, index, rows, index + 1, rowCount - index);
+                rows[index] = store.add(complaint);
+                rowCount++;
+                fireTableRowsInserted(index, index);
+            }
+
+            @Override
+            public void set(int index, ComplaintSummary complaint) {
+                store.set(rows[index], complaint);
+                fireTableRowsUpdated(index, index);
+            }
+
+            @Override
+            public void remove(int index) {
+                store.remove(rows[index]);
+                System.arraycopy(rows, index + 1, rows, index, rowCount - index - 1);
+                rowCount--;
+                fireTableRowsDeleted(index, index);
+            }
+        }, changes, filter, order, null);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public ComplaintStore.Column getStoreColumn(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return titles != null ? titles[column] : columns[column].getTitle();
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        switch (columns[column]) {
+            case ID:
+                return Integer.class;
+            case CREATED:
+                return Timestamp.class;
+            default:
+                return String.class;
+        }
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return store.getValue(toStoreRow(row), columns[column]);
+    }
+}
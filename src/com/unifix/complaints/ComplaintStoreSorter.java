@@ -0,0 +1,137 @@
+package com.unifix.complaints;
+
+import java.sql.Timestamp;
+import java.util.BitSet;
+import javax.swing.DefaultRowSorter;
+import javax.swing.RowFilter;
+import javax.swing.table.TableRowSorter;
+
+/**
+ * Sorts and filters a {@link ComplaintStoreModel} in memory, for views that
+ * keep every complaint loaded and only go back to the database for deltas.
+ *
+ * Unlike a plain TableRowSorter it never decodes cells: the sorter sees each
+ * row's store index and compares the store's primitive columns, and the
+ * filter tests the store's status bitsets and dictionary codes. Clicking
+ * further headers adds secondary sort keys (up to three).
+ */
+public class ComplaintStoreSorter extends TableRowSorter<ComplaintStoreModel> {
+    private final ComplaintStoreModel model;
+
+    public ComplaintStoreSorter(ComplaintStoreModel model) {
+        super(model);
+        this.model = model;
+        setModelWrapper(new StoreRows());
+        for (int column = 0; column < model.getColumnCount(); column++) {
+            ComplaintStore.Column storeColumn = model.getStoreColumn(column);
+            setComparator(column, (Integer a, Integer b) -> model.getStore().compare(a, b, storeColumn));
+        }
+        setMaxSortKeys(3);
+    }
+
+    /**
+     * Shows only matching rows; null for any argument means no condition on it.
+     *
+     * @param from first creation time shown
+     * @param until first creation time no longer shown
+     */
+    public void setFilter(String status, String category, String assignee, Timestamp from, Timestamp until) {
+        if (status == null && category == null && assignee == null && from == null && until == null) {
+            setRowFilter(null);
+        } else {
+            setRowFilter(new StoreFilter(status, category, assignee, from, until));
+        }
+    }
+
+    /**
+     * Gives the sorter the store row instead of the cell value.
+     */
+    private final class StoreRows extends DefaultRowSorter.ModelWrapper<ComplaintStoreModel, Integer> {
+        @Override
+        public ComplaintStoreModel getModel() {
+            return model;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return model.getColumnCount();
+        }
+
+        @Override
+        public int getRowCount() {
+            return model.getRowCount();
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            return model.toStoreRow(row);
+        }
+
+        @Override
+        public String getStringValueAt(int row, int column) {
+            Object value = model.getValueAt(row, column);
+            return value == null ? "" : value.toString();
+        }
+
+        @Override
+        public Integer getIdentifier(int row) {
+            return row;
+        }
+    }
+
+    private final class StoreFilter extends RowFilter<ComplaintStoreModel, Integer> {
+        private final String status;
+        private final String category;
+        private final String assignee;
+        private final long from;
+        private final long until;
+
+        // Codes are looked up once per store; a store replaced by a reload is looked up again
+        private ComplaintStore codedFor;
+        private BitSet statusRows;
+        private int categoryCode;
+        private int assigneeCode;
+
+        StoreFilter(String status, String category, String assignee, Timestamp from, Timestamp until) {
+            this.status = status;
+            this.category = category;
+            this.assignee = assignee;
+            this.from = from == null ? Long.MIN_VALUE : from.getTime();
+            this.until = until == null ? Long.MAX_VALUE : until.getTime();
+        }
+
+        @Override
+        public boolean include(Entry<? extends ComplaintStoreModel, ? extends Integer> entry) {
+            ComplaintStore store = model.getStore();
+            // A code of -2 means no row had the value when looked up; a delta may have added one
+            if (store != codedFor || categoryCode == -2 || assigneeCode == -2) {
+                code(store);
+            }
+            int row = model.toStoreRow(entry.getIdentifier());
+            if (status != null && (statusRows == null || !statusRows.get(row))) {
+                return false;
+            }
+            if (category != null && store.getCategoryCode(row) != categoryCode) {
+                return false;
+            }
+            if (assignee != null && store.getAssigneeCode(row) != assigneeCode) {
+                return false;
+            }
+            long created = store.getCreatedAtMillis(row);
+            return created >= from && created < until;
+        }
+
+        private void code(ComplaintStore store) {
+            codedFor = store;
+            int statusCode = -1;
+            for (int i = 0; i < ComplaintStore.STATUSES.length; i++) {
+                if (ComplaintStore.STATUSES[i].equals(status)) {
+                    statusCode = i;
+                }
+            }
+            statusRows = statusCode < 0 ? null : store.statusRows(statusCode);
+            categoryCode = category == null ? -1 : store.categoryCodeOf(category);
+            assigneeCode = assignee == null ? -1 : store.assigneeCodeOf(assignee);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.unifix.complaints;
+
+import java.sql.Timestamp;
+
+/**
+ * One row of a complaint listing, as returned by {@link ComplaintRepository}.
+ */
+public class ComplaintSummary {
+    private final int complaintId;
+    private final int userId;
+    private final String userName;
+    private final String category;
+    private final String location;
+    private final String description;
+    private final String priority;
+    private final String status;
+    private final String assignedTo;
+    private final Timestamp createdAt;
+
+    ComplaintSummary(int complaintId, int userId, String userName, String category, String location,
+                     String description, String priority, String status, String assignedTo, Timestamp createdAt) {
+        this.complaintId = complaintId;
+        this.userId = userId;
+        this.userName = userName;
+        this.category = category;
+        this.location = location;
+        this.description = description;
+        this.priority = priority;
+        this.status = status;
+        this.assignedTo = assignedTo;
+        this.createdAt = createdAt;
+    }
+
+    public int getComplaintId() {
+        return complaintId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Name of the student who raised the complaint.
+     */
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getAssignedTo() {
+        return assignedTo;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+}
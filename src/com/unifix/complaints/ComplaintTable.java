@@ -1,15 +1,17 @@
 package com.unifix.complaints;
 
-import com.unifix.database.DBConnection;
+import com.unifix.database.LatestQuery;
 import com.unifix.utils.UIUtilities;
 import java.awt.*;
-import java.io.File;
-import java.sql.*;
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 
 public class ComplaintTable extends JFrame {
+    private static final Dimension IMAGE_SIZE = new Dimension(300, 300);
+
+    private final LatestQuery detailsQuery = new LatestQuery();
     private JTable table;
+    private ComplaintPager pager;
     private int userId;
     private JPanel detailsPanel;
     private JLabel categoryLabel, locationLabel, statusLabel, dateLabel, userLabel;
@@ -58,9 +60,8 @@ public class ComplaintTable extends JFrame {
         
         // Table setup
         String[] columns = {"ID", "Category", "Location", "Status", "Date"};
-        Object[][] data = fetchComplaints();
         
-        table = new JTable(data, columns) {
+        table = new JTable(new Object[0][columns.length], columns) {
             @Override
             public boolean isCellEditable(int row, int column) {
                 return false; // Make all cells non-editable
@@ -74,28 +75,35 @@ public class ComplaintTable extends JFrame {
         table.getTableHeader().setFont(new Font("SansSerif", Font.BOLD, 12));
         table.getTableHeader().setReorderingAllowed(false); // Prevent column reordering
         
-        // Mouse listener for both single and double click
+        // Any selection change (click or arrow keys) loads the details in the right panel
+        table.getSelectionModel().addListSelectionListener(e -> {
+            int row = table.getSelectedRow();
+            if (!e.getValueIsAdjusting() && row != -1) {
+                selectedComplaintId = (Integer) table.getValueAt(row, 0);
+                loadComplaintDetails(selectedComplaintId);
+            }
+        });
+        // ...and warms the cache for the rows around it, so the next one shows at once
+        new ComplaintDetailPrefetcher(table, 0, IMAGE_SIZE, ComplaintDetailPrefetcher.DEFAULT_RADIUS);
+
+        // Double click opens the details in a separate window
         table.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
                 int row = table.getSelectedRow();
-                if (row != -1) {
+                if (row != -1 && e.getClickCount() >= 2) {
                     selectedComplaintId = (Integer) table.getValueAt(row, 0);
-                    
-                    // Single click loads the details in the right panel
-                    if (e.getClickCount() == 1) {
-                        loadComplaintDetails(selectedComplaintId);
-                    }
-                    
-                    // Double click opens the details in a separate window
-                    if (e.getClickCount() >= 2) {
-                        System.out.println("Double clicked on complaint ID: " + selectedComplaintId);
-                        new ComplaintDetailsView(selectedComplaintId);
-                    }
+                    System.out.println("Double clicked on complaint ID: " + selectedComplaintId);
+                    new ComplaintDetailsView(selectedComplaintId);
                 }
             }
         });
 
+        // Newest complaints first, a page at a time
+        pager = new ComplaintPager(table, columns, null,
+            c -> new Object[]{c.getComplaintId(), c.getCategory(), c.getLocation(), c.getStatus(), c.getCreatedAt()},
+            new ComplaintRepository(), ComplaintRepository.Order.NEWEST_FIRST);
+
         JScrollPane tableScrollPane = new JScrollPane(table);
         tableScrollPane.setBorder(BorderFactory.createLineBorder(UIUtilities.PRIMARY_COLOR));
         tablePanel.add(tableScrollPane, BorderLayout.CENTER);
@@ -117,6 +125,7 @@ public class ComplaintTable extends JFrame {
         buttonsPanel.setBackground(UIUtilities.BACKGROUND_COLOR);
         JButton closeButton = UIUtilities.createStyledButton("Close");
         closeButton.addActionListener(e -> dispose());
+        buttonsPanel.add(pager.getLoadMoreButton());
         buttonsPanel.add(closeButton);
         
         mainPanel.add(splitPane, BorderLayout.CENTER);
@@ -124,6 +133,7 @@ public class ComplaintTable extends JFrame {
         
         add(mainPanel);
         setVisible(true);
+        pager.reload(ComplaintFilter.all().forUser(userId));
     }
 
     private JPanel createDetailsPanel() {
@@ -236,158 +246,40 @@ public class ComplaintTable extends JFrame {
     }
 
     private void loadComplaintDetails(int complaintId) {
-        Connection conn = DBConnection.getConnection();
-        if (conn == null) {
-            JOptionPane.showMessageDialog(this, 
-                "Unable to connect to database. Please check your database configuration.", 
-                "Database Error", 
-                JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-        
-        try {
-            // First check if image_path column exists
-            boolean imagePathExists = checkImagePathColumnExists(conn);
-            System.out.println("Image path column exists: " + imagePathExists);
+        // Shown at once when recently viewed, then revalidated against the row's version
+        ComplaintDetailCache.load(detailsQuery, complaintId, IMAGE_SIZE, detail -> {
+            if (detail == null) {
+                return;
+            }
+            categoryLabel.setText("Category: " + detail.getCategory());
+            locationLabel.setText("Location: " + detail.getLocation());
+            statusLabel.setText("Status: " + detail.getStatus());
+            dateLabel.setText("Date: " + detail.getCreatedAt());
+            userLabel.setText("Filed by: " + detail.getUserName());
+            descriptionArea.setText(detail.getDescription());
             
-            // Build query based on whether image_path column exists
-            String sql;
-            if (imagePathExists) {
-                sql = "SELECT c.category, c.location, c.description, c.status, c.created_at, " +
-                      "c.image_path, u.name as user_name " +
-                      "FROM complaints c " +
-                      "JOIN users u ON c.user_id = u.user_id " +
-                      "WHERE c.complaint_id = ?";
+            // The image was read and scaled in the background
+            String imagePath = detail.getImagePath();
+            ImageIcon image = detail.getImage(IMAGE_SIZE);
+            if (imagePath == null || imagePath.isEmpty()) {
+                imageLabel.setIcon(null);
+                imageLabel.setText("No image attached");
+            } else if (image == null) {
+                imageLabel.setIcon(null);
+                imageLabel.setText("Image not found at: " + imagePath);
             } else {
-                sql = "SELECT c.category, c.location, c.description, c.status, c.created_at, " +
-                      "u.name as user_name " +
-                      "FROM complaints c " +
-                      "JOIN users u ON c.user_id = u.user_id " +
-                      "WHERE c.complaint_id = ?";
+                imageLabel.setIcon(image);
+                imageLabel.setText("");
             }
             
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setInt(1, complaintId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        categoryLabel.setText("Category: " + rs.getString("category"));
-                        locationLabel.setText("Location: " + rs.getString("location"));
-                        statusLabel.setText("Status: " + rs.getString("status"));
-                        dateLabel.setText("Date: " + rs.getTimestamp("created_at").toString());
-                        userLabel.setText("Filed by: " + rs.getString("user_name"));
-                        descriptionArea.setText(rs.getString("description"));
-                        
-                        // Handle image if exists and column is available
-                        String imagePath = null;
-                        if (imagePathExists) {
-                            try {
-                                imagePath = rs.getString("image_path");
-                                System.out.println("Retrieved image path: " + imagePath);
-                            } catch (SQLException e) {
-                                System.out.println("Note: image_path column not found in result set: " + e.getMessage());
-                            }
-                        }
-                        
-                        if (imagePath != null && !imagePath.isEmpty()) {
-                            File imageFile = new File(imagePath);
-                            if (imageFile.exists()) {
-                                System.out.println("Loading image from: " + imagePath);
-                                ImageIcon originalIcon = new ImageIcon(imagePath);
-                                Image image = originalIcon.getImage();
-                                
-                                // Scale image to fit nicely
-                                int maxWidth = 300;
-                                int maxHeight = 300;
-                                
-                                double scale = Math.min(
-                                    (double) maxWidth / image.getWidth(null),
-                                    (double) maxHeight / image.getHeight(null)
-                                );
-                                
-                                int scaledWidth = (int) (scale * image.getWidth(null));
-                                int scaledHeight = (int) (scale * image.getHeight(null));
-                                
-                                Image scaledImage = image.getScaledInstance(scaledWidth, scaledHeight, Image.SCALE_SMOOTH);
-                                imageLabel.setIcon(new ImageIcon(scaledImage));
-                                imageLabel.setText("");
-                            } else {
-                                imageLabel.setIcon(null);
-                                imageLabel.setText("Image not found at: " + imagePath);
-                                System.out.println("Image not found at: " + imagePath);
-                            }
-                        } else {
-                            imageLabel.setIcon(null);
-                            imageLabel.setText("No image attached");
-                        }
-                        
-                        detailsPanel.revalidate();
-                        detailsPanel.repaint();
-                    }
-                }
-            }
-        } catch (SQLException e) {
+            detailsPanel.revalidate();
+            detailsPanel.repaint();
+        }, error -> {
             JOptionPane.showMessageDialog(this, 
-                "Error loading complaint details: " + e.getMessage(), 
+                "Error loading complaint details: " + error.getMessage(), 
                 "Database Error", 
                 JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        } finally {
-            try {
-                if (conn != null) conn.close();
-            } catch (SQLException e) {
-                System.out.println("Error closing connection: " + e.getMessage());
-            }
-        }
-    }
-
-    private Object[][] fetchComplaints() {
-        Object[][] data = new Object[0][5];
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT complaint_id, category, location, status, created_at " +
-                        "FROM complaints WHERE user_id = ? ORDER BY created_at DESC";
-            
-            PreparedStatement stmt = conn.prepareStatement(
-                sql,
-                ResultSet.TYPE_SCROLL_INSENSITIVE,
-                ResultSet.CONCUR_READ_ONLY
-            );
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-
-            rs.last();
-            data = new Object[rs.getRow()][5];
-            rs.beforeFirst();
-
-            int row = 0;
-            while (rs.next()) {
-                data[row][0] = rs.getInt("complaint_id");
-                data[row][1] = rs.getString("category");
-                data[row][2] = rs.getString("location");
-                data[row][3] = rs.getString("status");
-                data[row][4] = rs.getTimestamp("created_at");
-                row++;
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error fetching complaints: " + e.getMessage());
-        }
-        return data;
-    }
-    
-    /**
-     * Checks if the image_path column exists in the complaints table
-     * @param conn Database connection
-     * @return true if the column exists, false otherwise
-     */
-    private boolean checkImagePathColumnExists(Connection conn) {
-        try {
-            DatabaseMetaData meta = conn.getMetaData();
-            ResultSet rs = meta.getColumns(null, null, "complaints", "image_path");
-            boolean exists = rs.next(); // If there's a result, the column exists
-            rs.close();
-            return exists;
-        } catch (SQLException e) {
-            System.out.println("Error checking for image_path column: " + e.getMessage());
-            return false;
-        }
+            error.printStackTrace();
+        });
     }
 }
\ No newline at end of file
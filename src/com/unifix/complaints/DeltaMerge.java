@@ -0,0 +1,94 @@
+package com.unifix.complaints;
+
+import java.util.Comparator;
+
+/**
+ * Applies a {@link ComplaintRepository.Changes} to a sorted list of shown
+ * complaints one row at a time, so the table gets a single insert, update or
+ * delete event per changed row and keeps its selection and scroll position.
+ */
+final class DeltaMerge {
+    /**
+     * The rows a view shows, in the view's order.
+     */
+    interface Rows {
+        int size();
+
+        ComplaintSummary get(int index);
+
+        /**
+         * The shown copy of a complaint, or null if it is not shown.
+         */
+        ComplaintSummary byId(int complaintId);
+
+        void insert(int index, ComplaintSummary complaint);
+
+        void set(int index, ComplaintSummary complaint);
+
+        void remove(int index);
+    }
+
+    private DeltaMerge() {
+    }
+
+    /**
+     * @param boundary the last row read when more pages follow it, or null when
+     *                 every matching row is shown. New rows sorting after it are
+     *                 left for "Load more" to read.
+     */
+    static void apply(Rows rows, ComplaintRepository.Changes changes, ComplaintFilter filter,
+                      Comparator<ComplaintSummary> order, ComplaintSummary boundary) {
+        for (int complaintId : changes.getDeletedIds()) {
+            ComplaintSummary shown = rows.byId(complaintId);
+            if (shown != null) {
+                rows.remove(indexOf(rows, shown, order));
+            }
+        }
+
+        for (ComplaintSummary complaint : changes.getChanged()) {
+            boolean belongs = filter.matches(complaint)
+                && (boundary == null || order.compare(complaint, boundary) <= 0);
+            ComplaintSummary shown = rows.byId(complaint.getComplaintId());
+            if (shown != null) {
+                int index = indexOf(rows, shown, order);
+                if (belongs && staysAt(rows, index, complaint, order)) {
+                    rows.set(index, complaint);
+                    continue;
+                }
+                rows.remove(index);
+            }
+            if (belongs) {
+                rows.insert(insertionPoint(rows, complaint, order), complaint);
+            }
+        }
+    }
+
+    private static boolean staysAt(Rows rows, int index, ComplaintSummary complaint,
+                                   Comparator<ComplaintSummary> order) {
+        return (index == 0 || order.compare(rows.get(index - 1), complaint) < 0)
+            && (index == rows.size() - 1 || order.compare(complaint, rows.get(index + 1)) < 0);
+    }
+
+    // The order always ends on complaint_id, so the shown copy compares equal only to itself
+    private static int indexOf(Rows rows, ComplaintSummary shown, Comparator<ComplaintSummary> order) {
+        int index = insertionPoint(rows, shown, order);
+        if (index >= rows.size() || rows.get(index).getComplaintId() != shown.getComplaintId()) {
+            throw new IllegalStateException("Complaint " + shown.getComplaintId() + " is out of order in the view");
+        }
+        return index;
+    }
+
+    private static int insertionPoint(Rows rows, ComplaintSummary complaint, Comparator<ComplaintSummary> order) {
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(rows.get(mid), complaint) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
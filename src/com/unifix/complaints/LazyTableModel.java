@@ -0,0 +1,318 @@
+package com.unifix.complaints;
+
+import com.unifix.database.DatabaseExecutor;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * A table model that reads its rows in blocks as the table asks for them,
+ * so a list of half a million complaints opens as fast as one of a hundred
+ * and holds only the blocks recently looked at.
+ *
+ * The row count starts as the source's estimate and is corrected when the
+ * last block is read. Rows not loaded yet show as empty while their block is
+ * fetched on the database executor. Each block is read by keyset, after the
+ * last row of the block before it; when that is not known (the scrollbar was
+ * dragged far ahead) the nearest known block is used and the gap skipped.
+ * Loaded blocks are kept in an LRU of maxBlocks, and when a block is read
+ * because it became visible the following block is prefetched.
+ *
+ * Like every Swing model it must only be used on the event thread.
+ *
+ * @param <T> row type read from the source
+ * @param <K> keyset position after a row
+ */
+public class LazyTableModel<T, K> extends AbstractTableModel {
+    public static final int DEFAULT_BLOCK_SIZE = 100;
+    public static final int DEFAULT_MAX_BLOCKS = 50;
+
+    // Dragging the scrollbar asks for many blocks; only the newest few are worth reading
+    private static final int MAX_IN_FLIGHT = 2;
+    private static final int MAX_QUEUED = 4;
+
+    /**
+     * Where the rows come from. Both methods run on the database executor.
+     */
+    public interface Source<T, K> {
+        /**
+         * A quick estimate of the number of rows, shown before they are read.
+         */
+        int estimateRowCount(Connection conn) throws SQLException;
+
+        /**
+         * Up to limit rows after the given key (from the start when it is
+         * null), skipping the first skip of them.
+         */
+        List<T> fetch(Connection conn, K after, int skip, int limit) throws SQLException;
+
+        /**
+         * The key to continue reading after this row.
+         */
+        K keyOf(T row);
+    }
+
+    private final String[] columns;
+    private final Function<T, Object[]> toRow;
+    private final int blockSize;
+    private final boolean replicaReads;
+    private final Map<Integer, Object[][]> blocks;
+    private final TreeMap<Integer, K> blockEndKeys = new TreeMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+    private final Set<Integer> prefetches = new HashSet<>();
+    private final ArrayDeque<Integer> queued = new ArrayDeque<>();
+    private Consumer<Throwable> onError = error -> System.out.println("❌ Error loading rows: " + error.getMessage());
+
+    private Source<T, K> source;
+    private int rowCount;
+    private boolean countExact;
+    private int generation;
+
+    /**
+     * @param replicaReads true if the rows may be read from a read replica
+     */
+    public LazyTableModel(String[] columns, Function<T, Object[]> toRow, boolean replicaReads) {
+        this(columns, toRow, replicaReads, DEFAULT_BLOCK_SIZE, DEFAULT_MAX_BLOCKS);
+    }
+
+    public LazyTableModel(String[] columns, Function<T, Object[]> toRow, boolean replicaReads,
+                          int blockSize, int maxBlocks) {
+        this.columns = columns;
+        this.toRow = toRow;
+        this.replicaReads = replicaReads;
+        this.blockSize = blockSize;
+        this.blocks = new LinkedHashMap<Integer, Object[][]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Object[][]> eldest) {
+                return size() > maxBlocks;
+            }
+        };
+    }
+
+    public void setErrorHandler(Consumer<Throwable> onError) {
+        this.onError = onError;
+    }
+
+    /**
+     * Shows the rows of a new source, e.g. after the filter changed.
+     */
+    public void setSource(Source<T, K> source) {
+        this.source = source;
+        reload();
+    }
+
+    /**
+     * Drops everything loaded and starts again from the estimate and the first block.
+     */
+    public void reload() {
+        forget();
+        blockEndKeys.clear();
+        rowCount = 0;
+        fireTableDataChanged();
+        if (source != null) {
+            start();
+        }
+    }
+
+    /**
+     * Reads the rows again without resetting the view: the row count,
+     * selection and scroll position stay, and only the blocks the table
+     * repaints are fetched again. The count is corrected as blocks arrive.
+     *
+     * Known block end keys are kept, so a deep block is read again by keyset
+     * rather than by OFFSET from the top; a block read again replaces its
+     * key. Rows added or removed above a kept key are not seen below it
+     * until the blocks in between are read again, so near such a block the
+     * view can be off by that many rows.
+     */
+    public void refresh() {
+        if (rowCount == 0) {
+            reload();
+            return;
+        }
+        forget();
+        fireTableRowsUpdated(0, rowCount - 1);
+        if (source != null) {
+            start();
+        }
+    }
+
+    private void forget() {
+        generation++;
+        blocks.clear();
+        loading.clear();
+        prefetches.clear();
+        queued.clear();
+        countExact = false;
+    }
+
+    private void start() {
+        int requestGeneration = generation;
+        Source<T, K> current = source;
+        submit(current::estimateRowCount, estimate -> {
+            if (requestGeneration != generation || countExact || estimate <= rowCount) {
+                return;
+            }
+            int old = rowCount;
+            rowCount = estimate;
+            fireTableRowsInserted(old, rowCount - 1);
+        }, this::failed);
+        request(0, true);
+    }
+
+    /**
+     * True once the last row has been read and getRowCount() is exact.
+     */
+    public boolean isRowCountExact() {
+        return countExact;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    /**
+     * The value, or null while the row's block is still being read.
+     */
+    @Override
+    public Object getValueAt(int row, int column) {
+        int block = row / blockSize;
+        Object[][] data = blocks.get(block);
+        if (data == null) {
+            request(block, true);
+            return null;
+        }
+        int offset = row % blockSize;
+        return offset < data.length ? data[offset][column] : null;
+    }
+
+    private void request(int block, boolean visible) {
+        if (visible) {
+            prefetches.remove(block);
+        }
+        if (blocks.containsKey(block) || loading.contains(block) || queued.contains(block)) {
+            return;
+        }
+        if (!visible) {
+            prefetches.add(block);
+        }
+        queued.addLast(block);
+        if (queued.size() > MAX_QUEUED) {
+            queued.removeFirst();
+        }
+        if (visible) {
+            pump();
+        }
+    }
+
+    private void pump() {
+        while (loading.size() < MAX_IN_FLIGHT && !queued.isEmpty()) {
+            // Newest request first: it is what the user is looking at now
+            load(queued.removeLast());
+        }
+    }
+
+    private void load(int block) {
+        Map.Entry<Integer, K> known = block == 0 ? null : blockEndKeys.floorEntry(block - 1);
+        K after = known == null ? null : known.getValue();
+        int skip = (block - (known == null ? 0 : known.getKey() + 1)) * blockSize;
+
+        int requestGeneration = generation;
+        Source<T, K> current = source;
+        loading.add(block);
+        // One extra row tells whether anything follows this block
+        submit(conn -> current.fetch(conn, after, skip, blockSize + 1),
+            rows -> loaded(requestGeneration, block, rows),
+            error -> {
+                if (requestGeneration == generation) {
+                    loading.remove(block);
+                    failed(error);
+                    pump();
+                }
+            });
+    }
+
+    private void loaded(int requestGeneration, int block, List<T> rows) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        loading.remove(block);
+
+        boolean more = rows.size() > blockSize;
+        List<T> blockRows = more ? rows.subList(0, blockSize) : rows;
+        Object[][] data = new Object[blockRows.size()][];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = toRow.apply(blockRows.get(i));
+        }
+        blocks.put(block, data);
+        if (!more) {
+            // Blocks past the last one no longer exist; neither do their keys
+            blockEndKeys.tailMap(block, blockRows.isEmpty()).clear();
+        }
+        if (!blockRows.isEmpty()) {
+            blockEndKeys.put(block, source.keyOf(blockRows.get(blockRows.size() - 1)));
+        }
+
+        int start = block * blockSize;
+        int old = rowCount;
+        if (!more) {
+            // Last block: now the count is known exactly
+            countExact = true;
+            rowCount = start + data.length;
+        } else if (start + blockSize >= rowCount) {
+            // The estimate was short; make room for at least the next block
+            rowCount = start + 2 * blockSize;
+        }
+        if (rowCount < old) {
+            fireTableRowsDeleted(rowCount, old - 1);
+        } else if (rowCount > old) {
+            fireTableRowsInserted(old, rowCount - 1);
+        }
+        if (data.length > 0) {
+            fireTableRowsUpdated(start, Math.min(start + data.length, rowCount) - 1);
+        }
+
+        // Read ahead once per block the user actually reached, not from prefetches
+        if (!prefetches.remove(block) && more) {
+            request(block + 1, false);
+        }
+        pump();
+    }
+
+    private void failed(Throwable error) {
+        onError.accept(error);
+    }
+
+    private <R> void submit(DatabaseExecutor.SqlWork<R> work, Consumer<R> onSuccess, Consumer<Throwable> onFailure) {
+        if (replicaReads) {
+            DatabaseExecutor.submitReadToEdt(work, onSuccess, onFailure);
+        } else {
+            DatabaseExecutor.submitToEdt(work, onSuccess, onFailure);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.unifix.complaints;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Complaint counts per status for one scope (a student, a technician, or
+ * everything). The per-status counts are primary-key reads of the scope's
+ * rows in complaint_status_counters, which {@link StatusCounters} keeps up to
+ * date in each write's transaction; only "resolved today" is counted, over
+ * today's rows of an index range.
+ *
+ * Results are cached for TTL_MS. Every complaint write made by this
+ * application calls {@link #invalidate()}, so a screen sees its own changes
+ * at once; changes made by other clients show up within the TTL.
+ *
+ * get() runs on the database executor.
+ */
+public final class StatusCountService {
+    public static final long TTL_MS = 10_000;
+
+    private static final String COUNTERS_SQL =
+        "SELECT status, complaints FROM complaint_status_counters WHERE scope = ?";
+    private static final String RESOLVED_TODAY_SQL =
+        "SELECT COUNT(*) FROM complaints WHERE status = 'Resolved' AND created_at >= CURRENT_DATE";
+
+    private static final Map<Scope, Cached> CACHE = new ConcurrentHashMap<>();
+    // Bumped by invalidate(); a count read before the bump is not cached after it
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    private StatusCountService() {
+    }
+
+    public static StatusCounts get(Connection conn, Scope scope) throws SQLException {
+        Cached cached = CACHE.get(scope);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            return cached.counts;
+        }
+
+        long generation = GENERATION.get();
+        StatusCounts counts = query(conn, scope);
+        if (GENERATION.get() == generation) {
+            CACHE.put(scope, new Cached(counts, System.currentTimeMillis() + TTL_MS));
+        }
+        return counts;
+    }
+
+    /**
+     * Drops every cached count. Call after any insert, status change or
+     * delete of complaints.
+     */
+    public static void invalidate() {
+        GENERATION.incrementAndGet();
+        CACHE.clear();
+    }
+
+    private static StatusCounts query(Connection conn, Scope scope) throws SQLException {
+        int pending = 0;
+        int inProgress = 0;
+        int resolved = 0;
+        int total = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(COUNTERS_SQL)) {
+            stmt.setString(1, scope.key);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String status = rs.getString(1);
+                    int count = rs.getInt(2);
+                    total += count;
+                    if ("Pending".equals(status)) {
+                        pending = count;
+                    } else if ("In Progress".equals(status)) {
+                        inProgress = count;
+                    } else if ("Resolved".equals(status)) {
+                        resolved = count;
+                    }
+                }
+            }
+        }
+
+        int resolvedToday;
+        try (PreparedStatement stmt = conn.prepareStatement(RESOLVED_TODAY_SQL + scope.condition(" AND "))) {
+            scope.bind(stmt, 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                resolvedToday = rs.getInt(1);
+            }
+        }
+        return new StatusCounts(total, pending, inProgress, resolved, resolvedToday);
+    }
+
+    /**
+     * Which complaints are counted.
+     */
+    public static final class Scope {
+        private static final String USER_PREFIX = "user:";
+        private static final String ASSIGNEE_PREFIX = "assignee:";
+        private static final Scope GLOBAL = new Scope(null, null, "global");
+
+        private final String column;
+        private final Object value;
+        // The scope column of complaint_status_counters
+        private final String key;
+
+        private Scope(String column, Object value, String key) {
+            this.column = column;
+            this.value = value;
+            this.key = key;
+        }
+
+        public static Scope global() {
+            return GLOBAL;
+        }
+
+        /**
+         * Complaints raised by one student.
+         */
+        public static Scope user(int userId) {
+            return new Scope("user_id", userId, USER_PREFIX + userId);
+        }
+
+        /**
+         * Complaints assigned to one technician.
+         */
+        public static Scope assignee(String technician) {
+            return new Scope("assigned_to", technician, ASSIGNEE_PREFIX + technician);
+        }
+
+        /**
+         * The scope a complaint_status_counters row belongs to.
+         */
+        static Scope fromKey(String key) {
+            if (key.startsWith(USER_PREFIX)) {
+                return user(Integer.parseInt(key.substring(USER_PREFIX.length())));
+            }
+            if (key.startsWith(ASSIGNEE_PREFIX)) {
+                return assignee(key.substring(ASSIGNEE_PREFIX.length()));
+            }
+            if (key.equals(GLOBAL.key)) {
+                return GLOBAL;
+            }
+            throw new IllegalArgumentException("Unknown counter scope: " + key);
+        }
+
+        String key() {
+            return key;
+        }
+
+        /**
+         * The scope's condition on complaints after the given joiner, or "" for global.
+         */
+        String condition(String joiner) {
+            return column == null ? "" : joiner + column + " = ?";
+        }
+
+        void bind(PreparedStatement stmt, int index) throws SQLException {
+            if (column != null) {
+                stmt.setObject(index, value);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Scope)) {
+                return false;
+            }
+            Scope other = (Scope) o;
+            return key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+    }
+
+    /**
+     * The counts for one scope.
+     */
+    public static final class StatusCounts {
+        private final int total;
+        private final int pending;
+        private final int inProgress;
+        private final int resolved;
+        private final int resolvedToday;
+
+        StatusCounts(int total, int pending, int inProgress, int resolved, int resolvedToday) {
+            this.total = total;
+            this.pending = pending;
+            this.inProgress = inProgress;
+            this.resolved = resolved;
+            this.resolvedToday = resolvedToday;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+
+        public int getInProgress() {
+            return inProgress;
+        }
+
+        public int getResolved() {
+            return resolved;
+        }
+
+        /**
+         * Resolved complaints raised today (created_at since midnight).
+         */
+        public int getResolvedToday() {
+            return resolvedToday;
+        }
+    }
+
+    private static final class Cached {
+        final StatusCounts counts;
+        final long expiresAt;
+
+        Cached(StatusCounts counts, long expiresAt) {
+            this.counts = counts;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
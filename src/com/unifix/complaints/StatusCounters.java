@@ -0,0 +1,380 @@
+package com.unifix.complaints;
+
+import com.unifix.database.DBConnection;
+import com.unifix.database.StreamingReader;
+import com.unifix.database.UnitOfWork;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps complaint_status_counters in step with complaints: one row per
+ * scope (see {@link StatusCountService.Scope}) and status holding how many
+ * complaints it has, so counts are read by primary key.
+ *
+ * Every write that inserts a complaint, changes its status or assignee, or
+ * deletes it calls one of these methods in the same transaction:
+ * <pre>
+ * StatusCounters.Snapshot before = StatusCounters.lock(conn, complaintId);
+ * ...UPDATE complaints...
+ * StatusCounters.changed(conn, before, newStatus, newAssignee);
+ * </pre>
+ * Counter rows are always updated in (scope, status) order, compared case
+ * insensitively like the primary key, so two writers never wait on each
+ * other's rows in opposite orders. Where the collation still disagrees
+ * (accented names), the deadlock is retried by UnitOfWork.
+ *
+ * Writes made outside the application (or by an older client) make the
+ * counters drift; {@link #reconcile} finds and corrects that, and
+ * {@link #startReconciliation()} runs it every db.counters.reconcileMinutes
+ * (default 60, 0 to disable).
+ */
+public final class StatusCounters {
+    private static final String UPSERT =
+        "INSERT INTO complaint_status_counters (scope, status, complaints) VALUES (?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE complaints = complaints + VALUES(complaints)";
+
+    // The primary key's case-insensitive collation; exact order only breaks ties
+    // between spellings of the same row, which then update it one after the other
+    private static final Comparator<String> KEY_ORDER =
+        String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    private static ScheduledExecutorService reconciler;
+
+    private StatusCounters() {
+    }
+
+    /**
+     * Counts a newly inserted, unassigned complaint.
+     */
+    public static void inserted(Connection conn, int userId, String status) throws SQLException {
+        Map<String, Integer> deltas = newDeltas();
+        add(deltas, new Snapshot(userId, status, null), 1);
+        apply(conn, deltas);
+    }
+
+    /**
+     * Locks a complaint for a status or assignee change and returns what it
+     * counts towards now, or null if it no longer exists.
+     */
+    public static Snapshot lock(Connection conn, int complaintId) throws SQLException {
+        String sql = "SELECT user_id, status, assigned_to FROM complaints WHERE complaint_id = ? FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, complaintId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                int userId = rs.getInt(1);
+                return new Snapshot(complaintId, rs.wasNull() ? null : userId, rs.getString(2), rs.getString(3));
+            }
+        }
+    }
+
+    /**
+     * Moves a locked complaint's counts to its new status; the assignee is unchanged.
+     */
+    public static void changed(Connection conn, Snapshot before, String status) throws SQLException {
+        if (before != null) {
+            changed(conn, before, status, before.assignee);
+        }
+    }
+
+    /**
+     * Moves a locked complaint's counts to its new status and assignee.
+     *
+     * @param before what {@link #lock} returned; nothing is done for null
+     */
+    public static void changed(Connection conn, Snapshot before, String status, String assignee) throws SQLException {
+        if (before == null) {
+            return;
+        }
+        Map<String, Integer> deltas = newDeltas();
+        add(deltas, before, -1);
+        add(deltas, new Snapshot(before.userId, status, assignee), 1);
+        apply(conn, deltas);
+    }
+
+    /**
+     * Moves the counts of several locked complaints at once: one counter
+     * update per (scope, status) touched rather than one per complaint.
+     */
+    public static void changed(Connection conn, List<Snapshot> before, List<Snapshot> after) throws SQLException {
+        Map<String, Integer> deltas = newDeltas();
+        for (Snapshot complaint : before) {
+            add(deltas, complaint, -1);
+        }
+        for (Snapshot complaint : after) {
+            add(deltas, complaint, 1);
+        }
+        apply(conn, deltas);
+    }
+
+    /**
+     * Uncounts every complaint of a user whose complaints are about to be deleted.
+     */
+    public static void removingUser(Connection conn, int userId) throws SQLException {
+        Map<String, Integer> deltas = newDeltas();
+        String sql = "SELECT status, assigned_to, COUNT(*) FROM complaints WHERE user_id = ? GROUP BY status, assigned_to";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    add(deltas, new Snapshot(null, rs.getString(1), rs.getString(2)), -rs.getInt(3));
+                }
+            }
+        }
+        apply(conn, deltas);
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "DELETE FROM complaint_status_counters WHERE scope = ?")) {
+            stmt.setString(1, StatusCountService.Scope.user(userId).key());
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Compares every counter with a fresh count of complaints and corrects the
+     * scopes that differ. The comparison takes no locks; each differing scope
+     * is then recounted and fixed in its own short transaction with its
+     * counter rows locked, so concurrent writes are neither blocked for long
+     * nor lost.
+     *
+     * @return the number of counter rows corrected
+     */
+    public static int reconcile(Connection conn) throws SQLException {
+        Map<String, Map<String, Integer>> actual = new HashMap<>();
+        String sql = "SELECT user_id, assigned_to, status, COUNT(*) FROM complaints " +
+                     "WHERE status IS NOT NULL GROUP BY user_id, assigned_to, status";
+        // One group per student, technician and status: streamed, not buffered by the driver
+        StreamingReader.forEach(conn, sql, Collections.emptyList(), rs -> {
+            int userId = rs.getInt(1);
+            Snapshot group = new Snapshot(rs.wasNull() ? null : userId, rs.getString(3), rs.getString(2));
+            for (String scope : group.scopes()) {
+                actual.computeIfAbsent(scope, s -> new HashMap<>()).merge(group.status, rs.getInt(4), Integer::sum);
+            }
+        });
+
+        Map<String, Map<String, Integer>> stored = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT scope, status, complaints FROM complaint_status_counters");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                stored.computeIfAbsent(rs.getString(1), s -> new HashMap<>()).put(rs.getString(2), rs.getInt(3));
+            }
+        }
+
+        Set<String> scopes = new HashSet<>(actual.keySet());
+        scopes.addAll(stored.keySet());
+        int corrected = 0;
+        for (String scope : scopes) {
+            if (!sameCounts(actual.get(scope), stored.get(scope))) {
+                corrected += UnitOfWork.run(conn, c -> correct(c, scope));
+            }
+        }
+        return corrected;
+    }
+
+    /**
+     * Starts the periodic reconciliation on a background thread. Safe to call
+     * more than once.
+     */
+    public static synchronized void startReconciliation() {
+        long minutes = DBConnection.getLongSetting("db.counters.reconcileMinutes", 60);
+        if (reconciler != null || minutes <= 0) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "unifix-counter-reconcile");
+            t.setDaemon(true);
+            return t;
+        });
+        reconciler.scheduleWithFixedDelay(StatusCounters::reconcileNow, minutes, minutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the periodic reconciliation, if running; a run in progress finishes.
+     */
+    public static synchronized void stopReconciliation() {
+        if (reconciler != null) {
+            reconciler.shutdown();
+            reconciler = null;
+        }
+    }
+
+    private static void reconcileNow() {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                return;
+            }
+            int corrected = reconcile(conn);
+            if (corrected > 0) {
+                System.out.println("⚠️ Corrected " + corrected + " drifted complaint counters");
+                StatusCountService.invalidate();
+            }
+        } catch (SQLException e) {
+            System.out.println("❌ Complaint counter reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recounts one scope with its counter rows locked and writes the
+     * differences. Writers update complaints before counters, so a write not
+     * yet visible to the recount applies its delta after this commits.
+     */
+    private static int correct(Connection conn, String scope) throws SQLException {
+        Map<String, Integer> stored = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT status, complaints FROM complaint_status_counters WHERE scope = ? FOR UPDATE")) {
+            stmt.setString(1, scope);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    stored.put(rs.getString(1), rs.getInt(2));
+                }
+            }
+        }
+
+        StatusCountService.Scope parsed = StatusCountService.Scope.fromKey(scope);
+        Map<String, Integer> actual = new HashMap<>();
+        String sql = "SELECT status, COUNT(*) FROM complaints WHERE status IS NOT NULL"
+                     + parsed.condition(" AND ") + " GROUP BY status";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            parsed.bind(stmt, 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    actual.put(rs.getString(1), rs.getInt(2));
+                }
+            }
+        }
+
+        Map<String, Integer> deltas = newDeltas();
+        Set<String> statuses = new HashSet<>(actual.keySet());
+        statuses.addAll(stored.keySet());
+        for (String status : statuses) {
+            int delta = actual.getOrDefault(status, 0) - stored.getOrDefault(status, 0);
+            if (delta != 0) {
+                deltas.put(key(scope, status), delta);
+            }
+        }
+        apply(conn, deltas);
+        return deltas.size();
+    }
+
+    private static boolean sameCounts(Map<String, Integer> actual, Map<String, Integer> stored) {
+        Set<String> statuses = new HashSet<>();
+        if (actual != null) {
+            statuses.addAll(actual.keySet());
+        }
+        if (stored != null) {
+            statuses.addAll(stored.keySet());
+        }
+        for (String status : statuses) {
+            int a = actual == null ? 0 : actual.getOrDefault(status, 0);
+            int s = stored == null ? 0 : stored.getOrDefault(status, 0);
+            if (a != s) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void add(Map<String, Integer> deltas, Snapshot complaint, int delta) {
+        if (complaint.status == null) {
+            return;
+        }
+        for (String scope : complaint.scopes()) {
+            deltas.merge(key(scope, complaint.status), delta, Integer::sum);
+        }
+    }
+
+    private static Map<String, Integer> newDeltas() {
+        return new TreeMap<>(KEY_ORDER);
+    }
+
+    // Scope and status joined so the TreeMap sorts by (scope, status), the primary key order
+    private static String key(String scope, String status) {
+        return scope + '\0' + status;
+    }
+
+    private static void apply(Connection conn, Map<String, Integer> deltas) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPSERT)) {
+            for (Map.Entry<String, Integer> delta : deltas.entrySet()) {
+                if (delta.getValue() == 0) {
+                    continue;
+                }
+                int split = delta.getKey().indexOf('\0');
+                stmt.setString(1, delta.getKey().substring(0, split));
+                stmt.setString(2, delta.getKey().substring(split + 1));
+                stmt.setInt(3, delta.getValue());
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * What a complaint counts towards: its status in the global, owner and
+     * assignee scopes.
+     */
+    public static final class Snapshot {
+        // 0 for a group of complaints rather than one
+        private final int complaintId;
+        private final Integer userId;
+        private final String status;
+        private final String assignee;
+
+        Snapshot(Integer userId, String status, String assignee) {
+            this(0, userId, status, assignee);
+        }
+
+        Snapshot(int complaintId, Integer userId, String status, String assignee) {
+            this.complaintId = complaintId;
+            this.userId = userId;
+            this.status = status;
+            this.assignee = assignee;
+        }
+
+        public int getComplaintId() {
+            return complaintId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public String getAssignee() {
+            return assignee;
+        }
+
+        /**
+         * The same complaint with a new status and assignee.
+         */
+        Snapshot with(String status, String assignee) {
+            return new Snapshot(complaintId, userId, status, assignee);
+        }
+
+        private List<String> scopes() {
+            List<String> scopes = new ArrayList<>(3);
+            scopes.add(StatusCountService.Scope.global().key());
+            if (userId != null) {
+                scopes.add(StatusCountService.Scope.user(userId).key());
+            }
+            if (assignee != null) {
+                scopes.add(StatusCountService.Scope.assignee(assignee).key());
+            }
+            return scopes;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.unifix.complaints;
+
+import com.unifix.database.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The technicians complaints can be assigned to, with how many open
+ * (not yet resolved) complaints each has, held in memory so the assign
+ * dialog opens without a query.
+ *
+ * {@link #load} reads users with role 'Technician' and their open counts
+ * from the assignee rows of complaint_status_counters. Assignment and status
+ * writes made by this application call {@link #applied} after they commit,
+ * so the counts follow them at once; {@link #startRefresh()} reloads every
+ * db.technicians.refreshSeconds (default 60, 0 to disable), which picks up
+ * new technicians and writes made by other clients.
+ *
+ * Complaints are assigned by name, so technicians sharing a name share a count.
+ */
+public final class TechnicianDirectory {
+    private static final String LOAD_SQL =
+        "SELECT u.user_id, u.name, COALESCE(SUM(s.complaints), 0) FROM users u " +
+        "LEFT JOIN complaint_status_counters s " +
+        "ON s.scope = CONCAT('assignee:', u.name) AND s.status <> 'Resolved' " +
+        "WHERE u.role = 'Technician' " +
+        "GROUP BY u.user_id, u.name ORDER BY u.name";
+
+    // Replaced as a whole, never modified; null until the first load
+    private static volatile Map<String, Technician> technicians;
+
+    private static ScheduledExecutorService refresher;
+
+    private TechnicianDirectory() {
+    }
+
+    /**
+     * Whether the directory has been loaded, so {@link #list()} is usable.
+     */
+    public static boolean isLoaded() {
+        return technicians != null;
+    }
+
+    /**
+     * The cached technicians by name, or an empty list before the first load.
+     */
+    public static List<Technician> list() {
+        Map<String, Technician> current = technicians;
+        return current == null ? Collections.emptyList() : new ArrayList<>(current.values());
+    }
+
+    /**
+     * Reads the directory from the database and replaces the cached one.
+     * Runs on the database executor.
+     */
+    public static List<Technician> load(Connection conn) throws SQLException {
+        Map<String, Technician> loaded = new LinkedHashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(LOAD_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                String name = rs.getString(2);
+                loaded.putIfAbsent(name, new Technician(rs.getInt(1), name, rs.getInt(3)));
+            }
+        }
+        synchronized (TechnicianDirectory.class) {
+            technicians = Collections.unmodifiableMap(loaded);
+        }
+        return new ArrayList<>(loaded.values());
+    }
+
+    /**
+     * Moves the open counts for a committed status or assignee change.
+     *
+     * @param before what {@link StatusCounters#lock} returned; nothing is done for null
+     */
+    public static void applied(StatusCounters.Snapshot before, String status, String assignee) {
+        if (before == null) {
+            return;
+        }
+        synchronized (TechnicianDirectory.class) {
+            Map<String, Technician> current = technicians;
+            if (current == null) {
+                return;
+            }
+            Map<String, Technician> updated = new LinkedHashMap<>(current);
+            adjust(updated, before.getAssignee(), before.getStatus(), -1);
+            adjust(updated, assignee, status, 1);
+            technicians = Collections.unmodifiableMap(updated);
+        }
+    }
+
+    /**
+     * Moves the open counts for a committed change of several complaints;
+     * the lists pair each complaint's state before and after.
+     */
+    public static void applied(List<StatusCounters.Snapshot> before, List<StatusCounters.Snapshot> after) {
+        synchronized (TechnicianDirectory.class) {
+            Map<String, Technician> current = technicians;
+            if (current == null || before.isEmpty()) {
+                return;
+            }
+            Map<String, Technician> updated = new LinkedHashMap<>(current);
+            for (int i = 0; i < before.size(); i++) {
+                adjust(updated, before.get(i).getAssignee(), before.get(i).getStatus(), -1);
+                adjust(updated, after.get(i).getAssignee(), after.get(i).getStatus(), 1);
+            }
+            technicians = Collections.unmodifiableMap(updated);
+        }
+    }
+
+    /**
+     * Drops the cached directory, so the next use loads it again. Call after
+     * adding or removing users.
+     */
+    public static synchronized void invalidate() {
+        technicians = null;
+    }
+
+    /**
+     * Starts the periodic reload on a background thread, with a first load
+     * right away. Safe to call more than once.
+     */
+    public static synchronized void startRefresh() {
+        long seconds = DBConnection.getLongSetting("db.technicians.refreshSeconds", 60);
+        if (refresher != null || seconds <= 0) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "unifix-technicians");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(TechnicianDirectory::refreshNow, 0, seconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic reload, if running; a run in progress finishes.
+     */
+    public static synchronized void stopRefresh() {
+        if (refresher != null) {
+            refresher.shutdown();
+            refresher = null;
+        }
+    }
+
+    private static void refreshNow() {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn != null) {
+                load(conn);
+            }
+        } catch (SQLException e) {
+            System.out.println("❌ Technician directory refresh failed: " + e.getMessage());
+        }
+    }
+
+    private static void adjust(Map<String, Technician> directory, String assignee, String status, int delta) {
+        if (assignee == null || status == null || "Resolved".equals(status)) {
+            return;
+        }
+        Technician technician = directory.get(assignee);
+        if (technician != null) {
+            directory.put(assignee, new Technician(technician.userId, technician.name,
+                Math.max(0, technician.openComplaints + delta)));
+        }
+    }
+
+    /**
+     * One technician and their open complaint count at the time it was read.
+     */
+    public static final class Technician {
+        private final int userId;
+        private final String name;
+        private final int openComplaints;
+
+        Technician(int userId, String name, int openComplaints) {
+            this.userId = userId;
+            this.name = name;
+            this.openComplaints = openComplaints;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getOpenComplaints() {
+            return openComplaints;
+        }
+
+        // Shown as is in the assign dialog
+        @Override
+        public String toString() {
+            return name + " (" + openComplaints + " open)";
+        }
+    }
+}
@@ -1,20 +1,68 @@
 package com.unifix.dashboard;
 
+import com.unifix.complaints.BackgroundJobs;
+import com.unifix.complaints.ComplaintCsvExport;
+import com.unifix.complaints.ComplaintFilter;
+import com.unifix.complaints.ComplaintRepository;
+import com.unifix.complaints.ComplaintRollups;
+import com.unifix.complaints.ComplaintStore;
+import com.unifix.complaints.ComplaintStoreModel;
+import com.unifix.complaints.ComplaintStoreSorter;
+import com.unifix.complaints.LazyTableModel;
+import com.unifix.complaints.StatusCountService;
+import com.unifix.complaints.StatusCounters;
+import com.unifix.complaints.TechnicianDirectory;
 import com.unifix.database.DBConnection;
+import com.unifix.database.DatabaseExecutor;
+import com.unifix.database.LatestQuery;
+import com.unifix.database.QueryMetrics;
+import com.unifix.database.QueryStats;
+import com.unifix.database.UnitOfWork;
 import com.unifix.utils.UIUtilities;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.*;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 
 public class AdminDashboard extends JFrame {
     private JPanel mainPanel;
     private JTabbedPane tabbedPane;
-    private JTable usersTable, complaintsTable;
-    private JButton addUserBtn, removeUserBtn, generateReportBtn, logoutBtn;
+    private JTable usersTable, complaintsTable, queryStatsTable;
+    private ComplaintStoreModel complaintsModel;
+    private ComplaintStoreSorter complaintsSorter;
+    private JComboBox<String> statusFilter, categoryFilter, assigneeFilter;
+    private JTextField fromDateField, toDateField;
+    private boolean updatingFilterChoices;
+    private long complaintsSyncedAt;
+    private LazyTableModel<Object[], Object[]> usersModel;
+    private final ComplaintRepository complaintRepository = new ComplaintRepository();
+    private static final UserListSource USER_LIST = new UserListSource();
+    private JLabel poolStatsLabel, cacheStatsLabel;
+    private JButton addUserBtn, removeUserBtn, generateReportBtn, exportCsvBtn, logoutBtn;
+    private JLabel totalValueLabel, pendingValueLabel, resolvedTodayValueLabel, avgResolutionValueLabel;
     private int userId;
     private String userName;
 
+    private static final String[] USER_COLUMNS = {"ID", "Name", "Email", "Role", "Created"};
+    private static final String[] COMPLAINT_COLUMNS = {"ID", "User", "Category", "Status", "Assigned To", "Created"};
+    private static final ComplaintStore.Column[] COMPLAINT_STORE_COLUMNS = {
+        ComplaintStore.Column.ID, ComplaintStore.Column.USER, ComplaintStore.Column.CATEGORY,
+        ComplaintStore.Column.STATUS, ComplaintStore.Column.ASSIGNED_TO, ComplaintStore.Column.CREATED
+    };
+    // The complaints overview is synced again when shown after this long; filters never query
+    private static final long COMPLAINTS_CACHE_MS = 30_000;
+    private static final String[] QUERY_STATS_COLUMNS = {"Query", "Calls", "Rows", "Total ms", "Mean ms",
+                                                         "p50 ms", "p95 ms", "p99 ms", "Max ms", "Errors"};
+
+    // Each view keeps only its newest request; a newer filter/refresh cancels the old one
+    private final LatestQuery statsQuery = new LatestQuery();
+    private final LatestQuery complaintsQuery = new LatestQuery();
+
     public AdminDashboard() {
         setTitle("Admin Dashboard - UniFix");
         setSize(1200, 800);
@@ -51,12 +99,25 @@ public class AdminDashboard extends JFrame {
         JPanel statsPanel = createStatisticsPanel();
         tabbedPane.addTab("Statistics", statsPanel);
 
+        // Database query metrics
+        JPanel dbStatsPanel = createDbStatsPanel();
+        tabbedPane.addTab("DB Stats", dbStatsPanel);
+        tabbedPane.addChangeListener(e -> {
+            if (tabbedPane.getSelectedComponent() == dbStatsPanel) {
+                refreshDbStats();
+            } else if (tabbedPane.getSelectedComponent() == complaintsPanel) {
+                refreshComplaints(false);
+            }
+        });
+
         // Buttons Panel
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         generateReportBtn = new JButton("Generate Report");
+        exportCsvBtn = new JButton("Export Complaints (CSV)");
         logoutBtn = new JButton("Logout");
 
         buttonPanel.add(generateReportBtn);
+        buttonPanel.add(exportCsvBtn);
         buttonPanel.add(logoutBtn);
 
         // Add components to main panel
@@ -66,25 +127,27 @@ public class AdminDashboard extends JFrame {
 
         // Add action listeners
         generateReportBtn.addActionListener(e -> generateReport());
+        exportCsvBtn.addActionListener(e -> exportComplaints());
         logoutBtn.addActionListener(e -> logout());
 
         // Add main panel to frame
         add(mainPanel);
         setVisible(true);
+
+        // Populate the tabs in the background once the window is showing
+        refreshUsersTable();
+        refreshComplaints(true);
+        refreshStatistics();
     }
 
     private JPanel createUsersPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         
         // Users table
-        String[] columns = {"ID", "Name", "Email", "Role", "Created"};
-        Object[][] data = fetchUsers();
-        usersTable = new JTable(data, columns) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make all cells non-editable
-            }
-        };
+        // Rows are read a block at a time as they scroll into view
+        usersModel = new LazyTableModel<>(USER_COLUMNS, row -> row, false);
+        usersModel.setErrorHandler(error -> JOptionPane.showMessageDialog(this, "Error fetching users: " + error.getMessage()));
+        usersTable = new JTable(usersModel);
         usersTable.getTableHeader().setReorderingAllowed(false); // Prevent column reordering
         JScrollPane scrollPane = new JScrollPane(usersTable);
         
@@ -108,15 +171,11 @@ public class AdminDashboard extends JFrame {
     private JPanel createComplaintsPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         
-        // Complaints table
-        String[] columns = {"ID", "User", "Category", "Status", "Assigned To", "Created"};
-        Object[][] data = fetchComplaints();
-        complaintsTable = new JTable(data, columns) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make all cells non-editable
-            }
-        };
+        // Complaints table: every complaint is held in memory; filters and header sorts run locally
+        complaintsModel = new ComplaintStoreModel(null, COMPLAINT_STORE_COLUMNS, COMPLAINT_COLUMNS);
+        complaintsSorter = new ComplaintStoreSorter(complaintsModel);
+        complaintsTable = new JTable(complaintsModel);
+        complaintsTable.setRowSorter(complaintsSorter);
         complaintsTable.getTableHeader().setReorderingAllowed(false); // Prevent column reordering
         JScrollPane scrollPane = new JScrollPane(complaintsTable);
         
@@ -142,9 +201,23 @@ public class AdminDashboard extends JFrame {
         
         JPanel filterControlsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         filterControlsPanel.setBackground(UIUtilities.BACKGROUND_COLOR);
-        JComboBox<String> statusFilter = new JComboBox<>(new String[]{"All", "Pending", "In Progress", "Resolved"});
+        statusFilter = new JComboBox<>(new String[]{"All", "Pending", "In Progress", "Resolved"});
+        categoryFilter = new JComboBox<>(new String[]{"All"});
+        assigneeFilter = new JComboBox<>(new String[]{"All"});
+        fromDateField = new JTextField(8);
+        toDateField = new JTextField(8);
+        fromDateField.setToolTipText("yyyy-MM-dd");
+        toDateField.setToolTipText("yyyy-MM-dd");
         filterControlsPanel.add(new JLabel("Filter by Status: "));
         filterControlsPanel.add(statusFilter);
+        filterControlsPanel.add(new JLabel("Category: "));
+        filterControlsPanel.add(categoryFilter);
+        filterControlsPanel.add(new JLabel("Assigned To: "));
+        filterControlsPanel.add(assigneeFilter);
+        filterControlsPanel.add(new JLabel("From: "));
+        filterControlsPanel.add(fromDateField);
+        filterControlsPanel.add(new JLabel("To: "));
+        filterControlsPanel.add(toDateField);
         
         // Add instruction label
         JLabel instructionLabel = new JLabel("⚠️ Double-click on a complaint to view full details with image");
@@ -154,7 +227,11 @@ public class AdminDashboard extends JFrame {
         filterPanel.add(filterControlsPanel, BorderLayout.WEST);
         filterPanel.add(instructionLabel, BorderLayout.EAST);
         
-        statusFilter.addActionListener(e -> filterComplaints((String)statusFilter.getSelectedItem()));
+        statusFilter.addActionListener(e -> filterComplaints());
+        categoryFilter.addActionListener(e -> filterComplaints());
+        assigneeFilter.addActionListener(e -> filterComplaints());
+        fromDateField.addActionListener(e -> filterComplaints());
+        toDateField.addActionListener(e -> filterComplaints());
         
         panel.add(filterPanel, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
@@ -166,16 +243,20 @@ public class AdminDashboard extends JFrame {
         JPanel panel = new JPanel(new GridLayout(2, 2, 10, 10));
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
-        // Add statistics cards
-        panel.add(createStatCard("Total Complaints", fetchTotalComplaints()));
-        panel.add(createStatCard("Pending Complaints", fetchPendingComplaints()));
-        panel.add(createStatCard("Resolved Today", fetchResolvedToday()));
-        panel.add(createStatCard("Average Resolution Time", fetchAvgResolutionTime()));
+        // Add statistics cards; values are filled in by refreshStatistics()
+        totalValueLabel = new JLabel("...", SwingConstants.CENTER);
+        pendingValueLabel = new JLabel("...", SwingConstants.CENTER);
+        resolvedTodayValueLabel = new JLabel("...", SwingConstants.CENTER);
+        avgResolutionValueLabel = new JLabel("...", SwingConstants.CENTER);
+        panel.add(createStatCard("Total Complaints", totalValueLabel));
+        panel.add(createStatCard("Pending Complaints", pendingValueLabel));
+        panel.add(createStatCard("Resolved Today", resolvedTodayValueLabel));
+        panel.add(createStatCard("Average Resolution Time", avgResolutionValueLabel));
         
         return panel;
     }
 
-    private JPanel createStatCard(String title, String value) {
+    private JPanel createStatCard(String title, JLabel valueLabel) {
         JPanel card = new JPanel(new GridLayout(2, 1));
         card.setBorder(BorderFactory.createCompoundBorder(
             BorderFactory.createLineBorder(Color.GRAY),
@@ -185,7 +266,6 @@ public class AdminDashboard extends JFrame {
         JLabel titleLabel = new JLabel(title);
         titleLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
         
-        JLabel valueLabel = new JLabel(value, SwingConstants.CENTER);
         valueLabel.setFont(new Font("SansSerif", Font.BOLD, 24));
         
         card.add(titleLabel);
@@ -194,127 +274,169 @@ public class AdminDashboard extends JFrame {
         return card;
     }
 
-    private Object[][] fetchUsers() {
-        Object[][] data = new Object[0][5];
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT user_id, name, email, role, created_at FROM users ORDER BY created_at DESC";
-            Statement stmt = conn.createStatement(
-                ResultSet.TYPE_SCROLL_INSENSITIVE,
-                ResultSet.CONCUR_READ_ONLY
-            );
-            ResultSet rs = stmt.executeQuery(sql);
-            
-            rs.last();
-            data = new Object[rs.getRow()][5];
-            rs.beforeFirst();
-
-            int row = 0;
-            while (rs.next()) {
-                data[row][0] = rs.getInt("user_id");
-                data[row][1] = rs.getString("name");
-                data[row][2] = rs.getString("email");
-                data[row][3] = rs.getString("role");
-                data[row][4] = rs.getTimestamp("created_at");
-                row++;
+    // The fetch* methods run on the database executor, never on the event thread
+
+    /**
+     * Users newest first, read by keyset on (created_at, user_id) for the lazy users table.
+     */
+    private static final class UserListSource implements LazyTableModel.Source<Object[], Object[]> {
+        @Override
+        public int estimateRowCount(Connection conn) throws SQLException {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM users")) {
+                return rs.next() ? rs.getInt(1) : 0;
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error fetching users: " + e.getMessage());
         }
-        return data;
-    }
 
-    private Object[][] fetchComplaints() {
-        Object[][] data = new Object[0][6];
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT c.complaint_id, u.name, c.category, " +
-                        "c.status, c.assigned_to, c.created_at " +
-                        "FROM complaints c JOIN users u ON c.user_id = u.user_id " +
-                        "ORDER BY c.created_at DESC";
-            
-            Statement stmt = conn.createStatement(
-                ResultSet.TYPE_SCROLL_INSENSITIVE,
-                ResultSet.CONCUR_READ_ONLY
-            );
-            ResultSet rs = stmt.executeQuery(sql);
-            
-            rs.last();
-            data = new Object[rs.getRow()][6];
-            rs.beforeFirst();
-
-            int row = 0;
-            while (rs.next()) {
-                data[row][0] = rs.getInt("complaint_id");
-                data[row][1] = rs.getString("name");
-                data[row][2] = rs.getString("category");
-                data[row][3] = rs.getString("status");
-                data[row][4] = rs.getString("assigned_to");
-                data[row][5] = rs.getTimestamp("created_at");
-                row++;
+        @Override
+        public java.util.List<Object[]> fetch(Connection conn, Object[] after, int skip, int limit) throws SQLException {
+            // OFFSET only to skip ahead of the nearest known key, never on the keyset path
+            String sql = "SELECT user_id, name, email, role, created_at FROM users " +
+                        (after == null ? "" : "WHERE created_at < ? OR (created_at = ? AND user_id < ?) ") +
+                        "ORDER BY created_at DESC, user_id DESC " +
+                        (skip > 0 ? "LIMIT ? OFFSET ?" : "LIMIT ?");
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                if (after != null) {
+                    stmt.setTimestamp(index++, (Timestamp) after[0]);
+                    stmt.setTimestamp(index++, (Timestamp) after[0]);
+                    stmt.setInt(index++, (Integer) after[1]);
+                }
+                stmt.setInt(index++, limit);
+                if (skip > 0) {
+                    stmt.setInt(index, skip);
+                }
+                
+                java.util.List<Object[]> rows = new java.util.ArrayList<>();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(new Object[]{
+                            rs.getInt("user_id"),
+                            rs.getString("name"),
+                            rs.getString("email"),
+                            rs.getString("role"),
+                            rs.getTimestamp("created_at")
+                        });
+                    }
+                }
+                return rows;
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error fetching complaints: " + e.getMessage());
         }
-        return data;
-    }
 
-    private String fetchTotalComplaints() {
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT COUNT(*) as total FROM complaints";
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery(sql);
-            if (rs.next()) {
-                return String.valueOf(rs.getInt("total"));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        @Override
+        public Object[] keyOf(Object[] row) {
+            return new Object[]{row[4], row[0]};
         }
-        return "0";
     }
 
-    private String fetchPendingComplaints() {
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT COUNT(*) as pending FROM complaints WHERE status = 'Pending'";
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery(sql);
-            if (rs.next()) {
-                return String.valueOf(rs.getInt("pending"));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    // From the daily rollups, not the complaints/solutions join
+    private static String fetchAvgResolutionTime(Connection conn) throws SQLException {
+        Double avgHours = ComplaintRollups.averageResolutionHours(conn);
+        return avgHours == null ? "N/A" : String.format("%.1f hrs", avgHours);
+    }
+
+    private JPanel createDbStatsPanel() {
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JPanel summaryPanel = new JPanel(new GridLayout(0, 1));
+        poolStatsLabel = new JLabel();
+        cacheStatsLabel = new JLabel();
+        summaryPanel.add(poolStatsLabel);
+        summaryPanel.add(cacheStatsLabel);
+        for (String replica : DBConnection.getReplicaStatus()) {
+            summaryPanel.add(new JLabel("Replica " + replica));
         }
-        return "0";
+        summaryPanel.add(new JLabel("Queries slower than " + QueryMetrics.getSlowQueryMs()
+            + " ms are written to the slow query log."));
+
+        queryStatsTable = new JTable(new DefaultTableModel(QUERY_STATS_COLUMNS, 0));
+        queryStatsTable.setAutoCreateRowSorter(true);
+        queryStatsTable.getColumnModel().getColumn(0).setPreferredWidth(500);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton refreshBtn = new JButton("Refresh");
+        JButton dumpBtn = new JButton("Dump to File");
+        JButton resetBtn = new JButton("Reset");
+        refreshBtn.addActionListener(e -> refreshDbStats());
+        dumpBtn.addActionListener(e -> dumpDbStats());
+        resetBtn.addActionListener(e -> {
+            QueryMetrics.reset();
+            refreshDbStats();
+        });
+        buttonPanel.add(refreshBtn);
+        buttonPanel.add(dumpBtn);
+        buttonPanel.add(resetBtn);
+
+        panel.add(summaryPanel, BorderLayout.NORTH);
+        panel.add(new JScrollPane(queryStatsTable), BorderLayout.CENTER);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+        return panel;
     }
 
-    private String fetchResolvedToday() {
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT COUNT(*) as resolved FROM complaints " +
-                        "WHERE status = 'Resolved' AND DATE(created_at) = CURRENT_DATE";
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery(sql);
-            if (rs.next()) {
-                return String.valueOf(rs.getInt("resolved"));
+    // Metrics live in memory, so this is cheap enough for the event thread
+    private void refreshDbStats() {
+        poolStatsLabel.setText(String.valueOf(DBConnection.getPoolStats()));
+        cacheStatsLabel.setText(String.valueOf(DBConnection.getStatementCacheStats()));
+
+        DefaultTableModel model = new DefaultTableModel(QUERY_STATS_COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+
+            @Override
+            public Class<?> getColumnClass(int columnIndex) {
+                if (columnIndex == 0) return String.class;
+                if (columnIndex == 1 || columnIndex == 2 || columnIndex == 9) return Long.class;
+                return Double.class;
+            }
+        };
+        for (QueryStats stats : QueryMetrics.snapshot()) {
+            model.addRow(new Object[] {
+                stats.getFingerprint(), stats.getCalls(), stats.getRows(),
+                round(stats.getTotalMs()), round(stats.getMeanMs()), round(stats.getP50Ms()),
+                round(stats.getP95Ms()), round(stats.getP99Ms()), round(stats.getMaxMs()),
+                stats.getErrors()
+            });
         }
-        return "0";
+        queryStatsTable.setModel(model);
+        queryStatsTable.getColumnModel().getColumn(0).setPreferredWidth(500);
     }
 
-    private String fetchAvgResolutionTime() {
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT AVG(TIMESTAMPDIFF(HOUR, created_at, updated_at)) as avg_time " +
-                        "FROM complaints c JOIN solutions s ON c.complaint_id = s.complaint_id " +
-                        "WHERE c.status = 'Resolved'";
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery(sql);
-            if (rs.next()) {
-                double avgHours = rs.getDouble("avg_time");
-                return String.format("%.1f hrs", avgHours);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    private static double round(double ms) {
+        return Math.round(ms * 100) / 100.0;
+    }
+
+    private void dumpDbStats() {
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new java.util.Date());
+        Path file = Paths.get("logs", "query_metrics_" + timestamp + ".txt");
+        try {
+            QueryMetrics.dump(file);
+            JOptionPane.showMessageDialog(this, "Query metrics written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Error writing query metrics: " + e.getMessage());
         }
-        return "N/A";
+    }
+
+    private void refreshStatistics() {
+        statsQuery.submitRead(conn -> {
+            StatusCountService.StatusCounts counts = StatusCountService.get(conn, StatusCountService.Scope.global());
+            return new String[] {
+                String.valueOf(counts.getTotal()),
+                String.valueOf(counts.getPending()),
+                String.valueOf(counts.getResolvedToday()),
+                fetchAvgResolutionTime(conn)
+            };
+        }, values -> {
+            totalValueLabel.setText(values[0]);
+            pendingValueLabel.setText(values[1]);
+            resolvedTodayValueLabel.setText(values[2]);
+            avgResolutionValueLabel.setText(values[3]);
+        }, error -> {
+            System.out.println("Error loading statistics: " + error.getMessage());
+            avgResolutionValueLabel.setText("N/A");
+        });
     }
 
     private void addUser() {
@@ -338,20 +460,25 @@ public class AdminDashboard extends JFrame {
             JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
             
         if (result == JOptionPane.OK_OPTION) {
-            try (Connection conn = DBConnection.getConnection()) {
+            String name = nameField.getText();
+            String email = emailField.getText();
+            String password = new String(passwordField.getPassword());
+            String role = (String) roleBox.getSelectedItem();
+
+            DatabaseExecutor.submitToEdt(conn -> {
                 String sql = "INSERT INTO users (name, email, password, role) VALUES (?, ?, ?, ?)";
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setString(1, nameField.getText());
-                stmt.setString(2, emailField.getText());
-                stmt.setString(3, new String(passwordField.getPassword()));
-                stmt.setString(4, (String)roleBox.getSelectedItem());
-                stmt.executeUpdate();
-                
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, name);
+                    stmt.setString(2, email);
+                    stmt.setString(3, password);
+                    stmt.setString(4, role);
+                    return stmt.executeUpdate();
+                }
+            }, rows -> {
+                TechnicianDirectory.invalidate();
                 refreshUsersTable();
                 JOptionPane.showMessageDialog(this, "User added successfully!");
-            } catch (SQLException e) {
-                JOptionPane.showMessageDialog(this, "Error adding user: " + e.getMessage());
-            }
+            }, error -> JOptionPane.showMessageDialog(this, "Error adding user: " + error.getMessage()));
         }
     }
 
@@ -362,136 +489,224 @@ public class AdminDashboard extends JFrame {
             return;
         }
 
+        if (usersTable.getValueAt(row, 0) == null) {
+            return; // still loading
+        }
         int userId = (int)usersTable.getValueAt(row, 0);
         int confirm = JOptionPane.showConfirmDialog(
             this,
-            "Are you sure you want to remove this user?",
+            "Are you sure you want to remove this user?\nTheir complaints and solutions will be removed too.",
             "Confirm Removal",
             JOptionPane.YES_NO_OPTION
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            try (Connection conn = DBConnection.getConnection()) {
-                String sql = "DELETE FROM users WHERE user_id = ?";
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setInt(1, userId);
-                stmt.executeUpdate();
-                
+            // Children first, all in one transaction, so a failure leaves nothing half-deleted.
+            // The complaint ids are recorded so other open views drop them on their next refresh.
+            DatabaseExecutor.submitToEdt(UnitOfWork.of(conn -> {
+                StatusCounters.removingUser(conn, userId);
+                String[] deletes = {
+                    "INSERT INTO complaint_deletions (complaint_id, created_at) " +
+                        "SELECT complaint_id, created_at FROM complaints WHERE user_id = ?",
+                    "DELETE FROM solutions WHERE complaint_id IN (SELECT complaint_id FROM complaints WHERE user_id = ?)",
+                    "DELETE FROM complaint_auto_assignments WHERE complaint_id IN " +
+                        "(SELECT complaint_id FROM complaints WHERE user_id = ?)",
+                    "DELETE FROM complaints WHERE user_id = ?",
+                    "DELETE FROM users WHERE user_id = ?"
+                };
+                int rows = 0;
+                for (String sql : deletes) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setInt(1, userId);
+                        rows = stmt.executeUpdate();
+                    }
+                }
+                return rows;
+            }), rows -> {
+                StatusCountService.invalidate();
+                TechnicianDirectory.invalidate();
                 refreshUsersTable();
+                refreshComplaints(true);
                 JOptionPane.showMessageDialog(this, "User removed successfully!");
-            } catch (SQLException e) {
-                JOptionPane.showMessageDialog(this, "Error removing user: " + e.getMessage());
-            }
+            }, error -> JOptionPane.showMessageDialog(this, "Error removing user: " + error.getMessage()));
         }
     }
 
-    private void filterComplaints(String status) {
-        if (status.equals("All")) {
-            complaintsTable.setModel(new DefaultTableModel(
-                fetchComplaints(),
-                new String[]{"ID", "User", "Category", "Status", "Assigned To", "Created"}
-            ));
+    /**
+     * Loads every complaint once, then syncs by delta when the cache is older
+     * than COMPLAINTS_CACHE_MS (or always, when forced).
+     */
+    private void refreshComplaints(boolean force) {
+        ComplaintStore loaded = complaintsModel.getStore();
+        if (!force && loaded != null && System.currentTimeMillis() - complaintsSyncedAt < COMPLAINTS_CACHE_MS) {
+            return;
+        }
+        ComplaintFilter all = ComplaintFilter.all();
+        if (loaded == null) {
+            complaintsQuery.submit(conn -> ComplaintStore.load(conn, complaintRepository, all,
+                    ComplaintRepository.Order.NEWEST_FIRST, false), store -> {
+                complaintsModel.setStore(store);
+                complaintsSyncedAt = System.currentTimeMillis();
+                updateComplaintFilterChoices();
+            }, error -> JOptionPane.showMessageDialog(this, "Error fetching complaints: " + error.getMessage()));
             return;
         }
 
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT c.complaint_id, u.name, c.category, " +
-                        "c.status, c.assigned_to, c.created_at " +
-                        "FROM complaints c JOIN users u ON c.user_id = u.user_id " +
-                        "WHERE c.status = ? ORDER BY c.created_at DESC";
-            
-            PreparedStatement stmt = conn.prepareStatement(
-                sql,
-                ResultSet.TYPE_SCROLL_INSENSITIVE,
-                ResultSet.CONCUR_READ_ONLY
-            );
-            stmt.setString(1, status);
-            ResultSet rs = stmt.executeQuery();
-            
-            rs.last();
-            Object[][] data = new Object[rs.getRow()][6];
-            rs.beforeFirst();
-
-            int row = 0;
-            while (rs.next()) {
-                data[row][0] = rs.getInt("complaint_id");
-                data[row][1] = rs.getString("name");
-                data[row][2] = rs.getString("category");
-                data[row][3] = rs.getString("status");
-                data[row][4] = rs.getString("assigned_to");
-                data[row][5] = rs.getTimestamp("created_at");
-                row++;
+        Timestamp since = loaded.getWatermark();
+        // The view is every complaint, so no loaded ids are needed to catch rows leaving it
+        complaintsQuery.submit(conn -> complaintRepository.fetchChanges(conn, all, since,
+                java.util.Collections.emptyList()), changes -> {
+            if (changes.isTooLarge()) {
+                complaintsModel.setStore(null);
+                refreshComplaints(true);
+                return;
             }
+            complaintsModel.applyChanges(changes, all, ComplaintRepository.Order.NEWEST_FIRST.comparator());
+            loaded.setWatermark(changes.getWatermark());
+            complaintsSyncedAt = System.currentTimeMillis();
+            if (!changes.isEmpty()) {
+                updateComplaintFilterChoices();
+            }
+        }, error -> JOptionPane.showMessageDialog(this, "Error fetching complaints: " + error.getMessage()));
+    }
 
-            complaintsTable.setModel(new DefaultTableModel(
-                data,
-                new String[]{"ID", "User", "Category", "Status", "Assigned To", "Created"}
-            ) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false; // Make all cells non-editable
-                }
-            });
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error filtering complaints: " + e.getMessage());
+    // Category and technician choices come from the loaded complaints; the selection is kept
+    private void updateComplaintFilterChoices() {
+        ComplaintStore store = complaintsModel.getStore();
+        updatingFilterChoices = true;
+        try {
+            setChoices(categoryFilter, store.getCategories());
+            setChoices(assigneeFilter, store.getAssignees());
+        } finally {
+            updatingFilterChoices = false;
         }
     }
 
+    private static void setChoices(JComboBox<String> box, java.util.List<String> values) {
+        Object selected = box.getSelectedItem();
+        box.removeAllItems();
+        box.addItem("All");
+        for (String value : values) {
+            box.addItem(value);
+        }
+        box.setSelectedItem(values.contains(selected) ? selected : "All");
+    }
+
+    private void filterComplaints() {
+        if (updatingFilterChoices) {
+            return;
+        }
+        Timestamp from, until;
+        try {
+            from = startOfDay(fromDateField.getText(), 0);
+            until = startOfDay(toDateField.getText(), 1);
+        } catch (ParseException e) {
+            JOptionPane.showMessageDialog(this, "Dates must be in the form yyyy-MM-dd");
+            return;
+        }
+        complaintsSorter.setFilter(choice(statusFilter), choice(categoryFilter), choice(assigneeFilter), from, until);
+    }
+
+    private static String choice(JComboBox<String> box) {
+        Object selected = box.getSelectedItem();
+        return selected == null || "All".equals(selected) ? null : selected.toString();
+    }
+
+    // Midnight of the typed day plus some days, or null when the field is empty
+    private static Timestamp startOfDay(String text, int plusDays) throws ParseException {
+        if (text.trim().isEmpty()) {
+            return null;
+        }
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+        format.setLenient(false);
+        java.util.Calendar day = java.util.Calendar.getInstance();
+        day.setTime(format.parse(text.trim()));
+        day.add(java.util.Calendar.DAY_OF_MONTH, plusDays);
+        return new Timestamp(day.getTimeInMillis());
+    }
+
     private void generateReport() {
-        // Implement report generation logic
+        generateReportBtn.setEnabled(false);
+        DatabaseExecutor.submitReadToEdt(this::buildReport, report -> {
+            generateReportBtn.setEnabled(true);
+
+            JTextArea textArea = new JTextArea(report);
+            textArea.setEditable(false);
+            JScrollPane scrollPane = new JScrollPane(textArea);
+            scrollPane.setPreferredSize(new Dimension(500, 400));
+
+            JOptionPane.showMessageDialog(this, scrollPane, "System Report",
+                JOptionPane.INFORMATION_MESSAGE);
+        }, error -> {
+            generateReportBtn.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Error generating report: " + error.getMessage());
+        });
+    }
+
+    /**
+     * Streams every complaint to a CSV file chosen by the admin; memory use
+     * does not grow with the number of complaints.
+     */
+    private void exportComplaints() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Complaints");
+        chooser.setSelectedFile(new java.io.File("complaints_"
+            + new SimpleDateFormat("yyyyMMdd_HHmmss").format(new java.util.Date()) + ".csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path target = chooser.getSelectedFile().toPath();
+        exportCsvBtn.setEnabled(false);
+        DatabaseExecutor.submitReadToEdt(conn -> {
+            try {
+                return ComplaintCsvExport.export(conn, complaintRepository, ComplaintFilter.all(), target);
+            } catch (IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+        }, rows -> {
+            exportCsvBtn.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Exported " + rows + " complaints to " + target.toAbsolutePath());
+        }, error -> {
+            exportCsvBtn.setEnabled(true);
+            String message = error instanceof java.io.UncheckedIOException ? error.getCause().getMessage() : error.getMessage();
+            JOptionPane.showMessageDialog(this, "Error exporting complaints: " + message);
+        });
+    }
+
+    private String buildReport(Connection conn) throws SQLException {
         StringBuilder report = new StringBuilder();
         report.append("UniFix Complaint Management System - Status Report\n");
         report.append("=================================================\n\n");
         
+        StatusCountService.StatusCounts counts = StatusCountService.get(conn, StatusCountService.Scope.global());
         report.append("Summary Statistics:\n");
-        report.append("Total Complaints: ").append(fetchTotalComplaints()).append("\n");
-        report.append("Pending Complaints: ").append(fetchPendingComplaints()).append("\n");
-        report.append("Resolved Today: ").append(fetchResolvedToday()).append("\n");
-        report.append("Average Resolution Time: ").append(fetchAvgResolutionTime()).append("\n\n");
+        report.append("Total Complaints: ").append(counts.getTotal()).append("\n");
+        report.append("Pending Complaints: ").append(counts.getPending()).append("\n");
+        report.append("Resolved Today: ").append(counts.getResolvedToday()).append("\n");
+        report.append("Average Resolution Time: ").append(fetchAvgResolutionTime(conn)).append("\n\n");
         
-        try (Connection conn = DBConnection.getConnection()) {
-            // Category-wise breakdown
-            report.append("Complaints by Category:\n");
-            String catSql = "SELECT category, COUNT(*) as count FROM complaints GROUP BY category";
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery(catSql);
-            while (rs.next()) {
-                report.append(rs.getString("category")).append(": ")
-                      .append(rs.getInt("count")).append("\n");
-            }
-            
-            // Status-wise breakdown
-            report.append("\nComplaints by Status:\n");
-            String statSql = "SELECT status, COUNT(*) as count FROM complaints GROUP BY status";
-            rs = stmt.executeQuery(statSql);
-            while (rs.next()) {
-                report.append(rs.getString("status")).append(": ")
-                      .append(rs.getInt("count")).append("\n");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        // Category-wise breakdown, from the daily rollups
+        report.append("Complaints by Category:\n");
+        for (java.util.Map.Entry<String, Integer> category : ComplaintRollups.countByCategory(conn).entrySet()) {
+            report.append(category.getKey()).append(": ")
+                  .append(category.getValue()).append("\n");
         }
 
-        JTextArea textArea = new JTextArea(report.toString());
-        textArea.setEditable(false);
-        JScrollPane scrollPane = new JScrollPane(textArea);
-        scrollPane.setPreferredSize(new Dimension(500, 400));
-
-        JOptionPane.showMessageDialog(this, scrollPane, "System Report",
-            JOptionPane.INFORMATION_MESSAGE);
+        // Status-wise breakdown, from the same counts as the summary
+        report.append("\nComplaints by Status:\n");
+        report.append("Pending: ").append(counts.getPending()).append("\n");
+        report.append("In Progress: ").append(counts.getInProgress()).append("\n");
+        report.append("Resolved: ").append(counts.getResolved()).append("\n");
+        return report.toString();
     }
 
     private void refreshUsersTable() {
-        Object[][] newData = fetchUsers();
-        usersTable.setModel(new DefaultTableModel(
-            newData,
-            new String[]{"ID", "Name", "Email", "Role", "Created"}
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make all cells non-editable
-            }
-        });
+        if (usersModel.getRowCount() == 0) {
+            usersModel.setSource(USER_LIST);
+        } else {
+            // Users have no change tracking; re-read just the visible blocks, keeping selection and scroll
+            usersModel.refresh();
+        }
     }
 
     private void logout() {
@@ -503,6 +718,7 @@ public class AdminDashboard extends JFrame {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
+            BackgroundJobs.stop();
             dispose();
             new com.unifix.auth.LoginPage();
         }
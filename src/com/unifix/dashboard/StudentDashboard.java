@@ -1,8 +1,18 @@
 package com.unifix.dashboard;
 
+import com.unifix.complaints.ComplaintDetailCache;
+import com.unifix.complaints.ComplaintDetailPrefetcher;
+import com.unifix.complaints.ComplaintFilter;
 import com.unifix.complaints.ComplaintForm;
+import com.unifix.complaints.ComplaintPager;
+import com.unifix.complaints.ComplaintRepository;
 import com.unifix.complaints.ComplaintTable;
-import com.unifix.database.DBConnection;
+import com.unifix.complaints.StatusCountService;
+import com.unifix.complaints.StatusCounters;
+import com.unifix.database.DatabaseExecutor;
+import com.unifix.database.LatestQuery;
+import com.unifix.database.SchemaCapabilities;
+import com.unifix.database.UnitOfWork;
 import com.unifix.utils.Location;
 import java.awt.*;
 import java.awt.event.*;
@@ -48,6 +58,14 @@ public class StudentDashboard extends JFrame {
     private JLabel needClarificationCountLabel;
     private JLabel awaitingApprovalCountLabel;
 
+    private ComplaintPager complaintsPager;
+
+    private static final Dimension DETAIL_IMAGE_SIZE = new Dimension(400, 300);
+
+    // Only the newest request per view is applied; older ones still running are cancelled
+    private final LatestQuery countsQuery = new LatestQuery();
+    private final LatestQuery detailsQuery = new LatestQuery();
+
     public StudentDashboard() {
         setTitle("UniFix ServiceDesk - Student Dashboard");
         setSize(1200, 800);
@@ -1023,72 +1041,14 @@ public class StudentDashboard extends JFrame {
     }
     
     private void updateComplaintsTable() {
-        // Find the complaints table panel
-        JPanel tablePanel = (JPanel) complaintTablePanel.getComponent(1);
-        JScrollPane scrollPane = (JScrollPane) tablePanel.getComponent(0);
-        JTable complaintsTable = (JTable) scrollPane.getViewport().getView();
-        
-        // Fetch data from database
-        Object[][] data = fetchComplaints();
-        
-        // Create a new table model with the data
-        DefaultTableModel model = new DefaultTableModel(data, new String[]{
-            "ID", "Category", "Location", "Status", "Date"
-        }) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-            
-            @Override
-            public Class<?> getColumnClass(int columnIndex) {
-                if (columnIndex == 0) return Integer.class;
-                if (columnIndex == 4) return java.util.Date.class;
-                return String.class;
-            }
-        };
-        
-        // Set the new model to the table
-        complaintsTable.setModel(model);
+        // First page only; older complaints are read when "Load more" is clicked.
+        // Once shown, only complaints changed since the last refresh are read.
+        complaintsPager.refresh(ComplaintFilter.all().forUser(userId));
         
         // Update the counts in the sidebar
         updateComplaintCounts();
     }
     
-    private Object[][] fetchComplaints() {
-        Object[][] data = new Object[0][5];
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT complaint_id, category, location, status, created_at " +
-                        "FROM complaints WHERE user_id = ? ORDER BY created_at DESC";
-            
-            PreparedStatement stmt = conn.prepareStatement(
-                sql,
-                ResultSet.TYPE_SCROLL_INSENSITIVE,
-                ResultSet.CONCUR_READ_ONLY
-            );
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-
-            rs.last();
-            data = new Object[rs.getRow()][5];
-            rs.beforeFirst();
-
-            int row = 0;
-            while (rs.next()) {
-                data[row][0] = rs.getInt("complaint_id");
-                data[row][1] = rs.getString("category");
-                data[row][2] = rs.getString("location");
-                data[row][3] = rs.getString("status");
-                data[row][4] = rs.getTimestamp("created_at");
-                row++;
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error fetching complaints: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return data;
-    }
-    
     private void showComplaintDetails(int complaintId) {
         // Load complaint details into the detail panel
         loadComplaintDetails(complaintId);
@@ -1112,78 +1072,36 @@ public class StudentDashboard extends JFrame {
         JTextArea descriptionArea = findComponentByName(detailContentPanel, "descriptionArea");
         JLabel imageDisplayLabel = findComponentByName(detailContentPanel, "imageDisplay");
         
-        // Load data from database
-        try (Connection conn = DBConnection.getConnection()) {
-            // Check if image_path column exists
-            boolean imagePathExists = checkImagePathColumnExists(conn);
-            
-            // Build query based on whether image_path column exists
-            String sql;
-            if (imagePathExists) {
-                sql = "SELECT c.category, c.location, c.description, c.status, c.created_at, " +
-                      "c.image_path FROM complaints c WHERE c.complaint_id = ?";
-            } else {
-                sql = "SELECT c.category, c.location, c.description, c.status, c.created_at " +
-                      "FROM complaints c WHERE c.complaint_id = ?";
+        // Shown at once when recently viewed, then revalidated against the row's version;
+        // clicking another row cancels the check for this one
+        ComplaintDetailCache.load(detailsQuery, complaintId, DETAIL_IMAGE_SIZE, detail -> {
+            if (detail == null) {
+                return;
             }
+            // Update labels with data
+            categoryValueLabel.setText(detail.getCategory());
+            locationValueLabel.setText(detail.getLocation());
+            statusValueLabel.setText(detail.getStatus());
+            dateValueLabel.setText(String.valueOf(detail.getCreatedAt()));
+            descriptionArea.setText(detail.getDescription());
             
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setInt(1, complaintId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        // Update labels with data
-                        categoryValueLabel.setText(rs.getString("category"));
-                        locationValueLabel.setText(rs.getString("location"));
-                        statusValueLabel.setText(rs.getString("status"));
-                        dateValueLabel.setText(rs.getTimestamp("created_at").toString());
-                        descriptionArea.setText(rs.getString("description"));
-                        
-                        // Handle image if exists and column is available
-                        String imagePath = null;
-                        if (imagePathExists) {
-                            try {
-                                imagePath = rs.getString("image_path");
-                            } catch (SQLException e) {
-                                System.out.println("Image path column not found: " + e.getMessage());
-                            }
-                        }
-                        
-                        if (imagePath != null && !imagePath.isEmpty()) {
-                            File imageFile = new File(imagePath);
-                            if (imageFile.exists()) {
-                                ImageIcon originalIcon = new ImageIcon(imagePath);
-                                Image image = originalIcon.getImage();
-                                
-                                // Scale image to fit nicely
-                                int maxWidth = 400;
-                                int maxHeight = 300;
-                                
-                                double scale = Math.min(
-                                    (double) maxWidth / image.getWidth(null),
-                                    (double) maxHeight / image.getHeight(null)
-                                );
-                                
-                                int scaledWidth = (int) (scale * image.getWidth(null));
-                                int scaledHeight = (int) (scale * image.getHeight(null));
-                                
-                                Image scaledImage = image.getScaledInstance(scaledWidth, scaledHeight, Image.SCALE_SMOOTH);
-                                imageDisplayLabel.setIcon(new ImageIcon(scaledImage));
-                                imageDisplayLabel.setText("");
-                            } else {
-                                imageDisplayLabel.setIcon(null);
-                                imageDisplayLabel.setText("Image not found: " + imagePath);
-                            }
-                        } else {
-                            imageDisplayLabel.setIcon(null);
-                            imageDisplayLabel.setText("No image attached");
-                        }
-                    }
-                }
+            // The image was read and scaled in the background
+            String imagePath = detail.getImagePath();
+            ImageIcon image = detail.getImage(DETAIL_IMAGE_SIZE);
+            if (imagePath == null || imagePath.isEmpty()) {
+                imageDisplayLabel.setIcon(null);
+                imageDisplayLabel.setText("No image attached");
+            } else if (image == null) {
+                imageDisplayLabel.setIcon(null);
+                imageDisplayLabel.setText("Image not found: " + imagePath);
+            } else {
+                imageDisplayLabel.setIcon(image);
+                imageDisplayLabel.setText("");
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error loading complaint details: " + e.getMessage());
-            e.printStackTrace();
-        }
+        }, error -> {
+            JOptionPane.showMessageDialog(this, "Error loading complaint details: " + error.getMessage());
+            error.printStackTrace();
+        });
     }
     
     // Helper method to find a component by name
@@ -1225,208 +1143,124 @@ public class StudentDashboard extends JFrame {
             return;
         }
 
-        Connection conn = DBConnection.getConnection();
-        if (conn == null) {
-            JOptionPane.showMessageDialog(this, "Error connecting to database!");
-            return;
-        }
+        File image = selectedImage;
+        int studentId = userId;
 
-        try {
-            String sql;
+        // Copy the image and insert the row in the background; returns false if the image was dropped
+        DatabaseExecutor.submitToEdt(conn -> {
             String imagePath = null;
             
             // Handle image upload if an image was selected
-            if (selectedImage != null) {
-                // Create uploads directory if it doesn't exist
-                String uploadsDir = "uploads/complaints";
-                Path uploadsDirPath = Paths.get(uploadsDir);
-                if (!Files.exists(uploadsDirPath)) {
-                    Files.createDirectories(uploadsDirPath);
-                }
-                
-                // Generate unique filename using timestamp and user ID
-                String timestamp = new SimpleDateFormat("yyyyMMddHHmmssSSS").format(new Date());
-                String extension = selectedImage.getName().substring(selectedImage.getName().lastIndexOf('.'));
-                String newFileName = userId + "_" + timestamp + extension;
-                imagePath = uploadsDir + "/" + newFileName;
-                
-                // Copy the image to the uploads directory
-                Path source = selectedImage.toPath();
-                Path destination = Paths.get(imagePath);
-                Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
-                
-                // Check if image_path column exists
-                boolean imagePathExists = checkImagePathColumnExists(conn);
-                
-                if (imagePathExists) {
-                    sql = "INSERT INTO complaints (user_id, category, location, description, image_path, status) " +
-                          "VALUES (?, ?, ?, ?, ?, 'Pending')";
-                    
-                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                        stmt.setInt(1, userId);
-                        stmt.setString(2, category);
-                        stmt.setString(3, location.toString());
-                        stmt.setString(4, description);
-                        stmt.setString(5, imagePath);
-                        
-                        stmt.executeUpdate();
+            if (image != null) {
+                try {
+                    // Create uploads directory if it doesn't exist
+                    String uploadsDir = "uploads/complaints";
+                    Path uploadsDirPath = Paths.get(uploadsDir);
+                    if (!Files.exists(uploadsDirPath)) {
+                        Files.createDirectories(uploadsDirPath);
                     }
-                } else {
-                    // If image_path column doesn't exist, save without the image
-                    sql = "INSERT INTO complaints (user_id, category, location, description, status) " +
-                          "VALUES (?, ?, ?, ?, 'Pending')";
                     
-                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                        stmt.setInt(1, userId);
-                        stmt.setString(2, category);
-                        stmt.setString(3, location.toString());
-                        stmt.setString(4, description);
-                        
-                        stmt.executeUpdate();
-                    }
+                    // Generate unique filename using timestamp and user ID
+                    String timestamp = new SimpleDateFormat("yyyyMMddHHmmssSSS").format(new Date());
+                    String extension = image.getName().substring(image.getName().lastIndexOf('.'));
+                    String newFileName = studentId + "_" + timestamp + extension;
+                    imagePath = uploadsDir + "/" + newFileName;
                     
-                    JOptionPane.showMessageDialog(this, 
-                        "Complaint submitted, but image couldn't be saved (database schema issue).",
-                        "Partial Success", 
-                        JOptionPane.WARNING_MESSAGE);
+                    // Copy the image to the uploads directory
+                    Path source = image.toPath();
+                    Path destination = Paths.get(imagePath);
+                    Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    throw new java.io.UncheckedIOException(e);
                 }
-            } else {
-                // No image selected, simple insert
-                sql = "INSERT INTO complaints (user_id, category, location, description, status) " +
+                
+                // Without an image_path column the complaint is saved without the image
+                if (!SchemaCapabilities.hasComplaintImagePath()) {
+                    imagePath = null;
+                }
+            }
+
+            // The complaint and its status counters commit together
+            String savedImage = imagePath;
+            UnitOfWork.run(conn, c -> {
+                String sql = savedImage != null
+                    ? "INSERT INTO complaints (user_id, category, location, description, image_path, status) " +
+                      "VALUES (?, ?, ?, ?, ?, 'Pending')"
+                    : "INSERT INTO complaints (user_id, category, location, description, status) " +
                       "VALUES (?, ?, ?, ?, 'Pending')";
                 
-                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    stmt.setInt(1, userId);
+                try (PreparedStatement stmt = c.prepareStatement(sql)) {
+                    stmt.setInt(1, studentId);
                     stmt.setString(2, category);
                     stmt.setString(3, location.toString());
                     stmt.setString(4, description);
+                    if (savedImage != null) {
+                        stmt.setString(5, savedImage);
+                    }
                     
                     stmt.executeUpdate();
                 }
+                StatusCounters.inserted(c, studentId, "Pending");
+                return null;
+            });
+            return image == null || savedImage != null;
+        }, imageSaved -> {
+            StatusCountService.invalidate();
+            if (!imageSaved) {
+                JOptionPane.showMessageDialog(this, 
+                    "Complaint submitted, but image couldn't be saved (database schema issue).",
+                    "Partial Success", 
+                    JOptionPane.WARNING_MESSAGE);
             }
-            
             JOptionPane.showMessageDialog(this, "Complaint submitted successfully!");
             
             // Reset the form
             selectedImage = null;
             imageNameLabel.setText("No file selected");
             
-            // Update complaint counts and show complaints table with the new submission
-            updateComplaintCounts();
+            // Show complaints table with the new submission (also refreshes the counts)
             loadComplaintsData(); // Load the updated complaints data
             ((CardLayout) contentPanel.getLayout()).show(contentPanel, "complaintTable");
             backButton.setVisible(true);
             setActiveNavButton(complaintsButton);
-            
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Database error: " + e.getMessage());
-            e.printStackTrace();
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Error saving image: " + e.getMessage());
-            e.printStackTrace();
-        } finally {
-            try {
-                conn.close();
-            } catch (SQLException e) {
-                System.out.println("Error closing connection: " + e.getMessage());
+        }, error -> {
+            if (error instanceof java.io.UncheckedIOException) {
+                JOptionPane.showMessageDialog(this, "Error saving image: " + error.getCause().getMessage());
+            } else {
+                JOptionPane.showMessageDialog(this, "Database error: " + error.getMessage());
             }
-        }
-    }
-    
-    private boolean checkImagePathColumnExists(Connection conn) {
-        try {
-            DatabaseMetaData meta = conn.getMetaData();
-            ResultSet rs = meta.getColumns(null, null, "complaints", "image_path");
-            boolean exists = rs.next(); // If there's a result, the column exists
-            rs.close();
-            return exists;
-        } catch (SQLException e) {
-            System.out.println("Error checking for image_path column: " + e.getMessage());
-            return false;
-        }
+            error.printStackTrace();
+        });
     }
     
     private void updateComplaintCounts() {
-        try (Connection conn = DBConnection.getConnection()) {
-            // Count pending complaints
-            String pendingSql = "SELECT COUNT(*) FROM complaints WHERE user_id = ? AND status = 'Pending'";
-            try (PreparedStatement stmt = conn.prepareStatement(pendingSql)) {
-                stmt.setInt(1, userId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        int pendingCount = rs.getInt(1);
-                        pendingCountLabel.setText(String.valueOf(pendingCount));
-                        
-                        // Also update the home page stats
-                        JPanel homeContent = (JPanel) homePanel.getComponent(0);
-                        JPanel welcomeContent = (JPanel) homeContent.getComponent(0);
-                        JPanel statsPanel = (JPanel) welcomeContent.getComponent(3);
-                        
-                        JPanel pendingBox = (JPanel) statsPanel.getComponent(0);
-                        JLabel pendingValue = (JLabel) pendingBox.getComponent(0);
-                        pendingValue.setText(String.valueOf(pendingCount));
-                    }
-                }
-            }
-            
-            // Count resolved complaints
-            String resolvedSql = "SELECT COUNT(*) FROM complaints WHERE user_id = ? AND status = 'Resolved'";
-            try (PreparedStatement stmt = conn.prepareStatement(resolvedSql)) {
-                stmt.setInt(1, userId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        int resolvedCount = rs.getInt(1);
-                        
-                        // Update the home page stats
-                        JPanel homeContent = (JPanel) homePanel.getComponent(0);
-                        JPanel welcomeContent = (JPanel) homeContent.getComponent(0);
-                        JPanel statsPanel = (JPanel) welcomeContent.getComponent(3);
-                        
-                        JPanel resolvedBox = (JPanel) statsPanel.getComponent(1);
-                        JLabel resolvedValue = (JLabel) resolvedBox.getComponent(0);
-                        resolvedValue.setText(String.valueOf(resolvedCount));
-                    }
-                }
-            }
+        int studentId = userId;
+        countsQuery.submit(conn -> StatusCountService.get(conn, StatusCountService.Scope.user(studentId)), counts -> {
+            int pendingCount = counts.getPending();
+            int resolvedCount = counts.getResolved();
+            int totalCount = counts.getTotal();
+
+            pendingCountLabel.setText(String.valueOf(pendingCount));
+            // In progress complaints (for need clarification in sidebar)
+            needClarificationCountLabel.setText(String.valueOf(counts.getInProgress()));
+            // Update awaiting approval in sidebar (using total count temporarily)
+            awaitingApprovalCountLabel.setText(String.valueOf(totalCount));
             
-            // Count in progress complaints (for need clarification in sidebar)
-            String inProgressSql = "SELECT COUNT(*) FROM complaints WHERE user_id = ? AND status = 'In Progress'";
-            try (PreparedStatement stmt = conn.prepareStatement(inProgressSql)) {
-                stmt.setInt(1, userId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        needClarificationCountLabel.setText(String.valueOf(rs.getInt(1)));
-                    }
-                }
-            }
+            // Also update the home page stats
+            JPanel homeContent = (JPanel) homePanel.getComponent(0);
+            JPanel welcomeContent = (JPanel) homeContent.getComponent(0);
+            JPanel statsPanel = (JPanel) welcomeContent.getComponent(3);
             
-            // Count total complaints
-            String totalSql = "SELECT COUNT(*) FROM complaints WHERE user_id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(totalSql)) {
-                stmt.setInt(1, userId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        int totalCount = rs.getInt(1);
-                        
-                        // Update awaiting approval in sidebar (using total count temporarily)
-                        awaitingApprovalCountLabel.setText(String.valueOf(totalCount));
-                        
-                        // Update the home page stats
-                        JPanel homeContent = (JPanel) homePanel.getComponent(0);
-                        JPanel welcomeContent = (JPanel) homeContent.getComponent(0);
-                        JPanel statsPanel = (JPanel) welcomeContent.getComponent(3);
-                        
-                        JPanel totalBox = (JPanel) statsPanel.getComponent(2);
-                        JLabel totalValue = (JLabel) totalBox.getComponent(0);
-                        totalValue.setText(String.valueOf(totalCount));
-                    }
-                }
-            }
-            
-        } catch (SQLException e) {
-            System.out.println("Error updating complaint counts: " + e.getMessage());
-            e.printStackTrace();
-        }
+            JPanel pendingBox = (JPanel) statsPanel.getComponent(0);
+            ((JLabel) pendingBox.getComponent(0)).setText(String.valueOf(pendingCount));
+            JPanel resolvedBox = (JPanel) statsPanel.getComponent(1);
+            ((JLabel) resolvedBox.getComponent(0)).setText(String.valueOf(resolvedCount));
+            JPanel totalBox = (JPanel) statsPanel.getComponent(2);
+            ((JLabel) totalBox.getComponent(0)).setText(String.valueOf(totalCount));
+        }, error -> {
+            System.out.println("Error updating complaint counts: " + error.getMessage());
+            error.printStackTrace();
+        });
     }
 
     private void logout() {
@@ -1664,9 +1498,22 @@ public class StudentDashboard extends JFrame {
             }
         });
         
+        // The rows around the selection are loaded ahead, so opening a neighbour is instant
+        new ComplaintDetailPrefetcher(complaintsTable, 0, DETAIL_IMAGE_SIZE, ComplaintDetailPrefetcher.DEFAULT_RADIUS);
+        
         JScrollPane tableScrollPane = new JScrollPane(complaintsTable);
         tablePanel.add(tableScrollPane, BorderLayout.CENTER);
         
+        // Complaints are shown a page at a time, newest first
+        complaintsPager = new ComplaintPager(complaintsTable, columns,
+            new Class<?>[]{Integer.class, String.class, String.class, String.class, Date.class},
+            c -> new Object[]{c.getComplaintId(), c.getCategory(), c.getLocation(), c.getStatus(), c.getCreatedAt()},
+            new ComplaintRepository(), ComplaintRepository.Order.NEWEST_FIRST);
+        JPanel pagingPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        pagingPanel.setBackground(Color.WHITE);
+        pagingPanel.add(complaintsPager.getLoadMoreButton());
+        tablePanel.add(pagingPanel, BorderLayout.SOUTH);
+        
         // Add components to main panel
         panel.add(headerPanel, BorderLayout.NORTH);
         panel.add(tablePanel, BorderLayout.CENTER);
@@ -2026,49 +1873,39 @@ public class StudentDashboard extends JFrame {
             return;
         }
         
-        Connection conn = null;
-        try {
-            conn = DBConnection.getConnection();
-            
-            // First check if columns exist
-            boolean columnsExist = checkProfileColumnsExist(conn);
-            
-            if (!columnsExist) {
-                JOptionPane.showMessageDialog(this, 
-                    "Database schema needs to be updated. Please run the database update script first.", 
-                    "Schema Update Required", 
-                    JOptionPane.WARNING_MESSAGE);
-                return;
-            }
-            
+        // First check if columns exist
+        boolean columnsExist = SchemaCapabilities.hasUserProfileColumns();
+        
+        if (!columnsExist) {
+            JOptionPane.showMessageDialog(this, 
+                "Database schema needs to be updated. Please run the database update script first.", 
+                "Schema Update Required", 
+                JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        
+        int studentId = userId;
+        DatabaseExecutor.submitToEdt(conn -> {
             String sql = "UPDATE users SET register_no = ?, address = ?, phone = ? WHERE user_id = ?";
             
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setString(1, registerNo);
                 stmt.setString(2, address);
                 stmt.setString(3, phone);
-                stmt.setInt(4, userId);
-                
-                int rowsAffected = stmt.executeUpdate();
+                stmt.setInt(4, studentId);
                 
-                if (rowsAffected > 0) {
-                    JOptionPane.showMessageDialog(this, "Profile updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    JOptionPane.showMessageDialog(this, "No changes were made to your profile.", "Information", JOptionPane.INFORMATION_MESSAGE);
-                }
+                return stmt.executeUpdate();
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error saving profile: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        } finally {
-            if (conn != null) {
-                try {
-                    conn.close();
-                } catch (SQLException e) {
-                    System.out.println("Error closing connection: " + e.getMessage());
-                }
+        }, rowsAffected -> {
+            if (rowsAffected > 0) {
+                JOptionPane.showMessageDialog(this, "Profile updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "No changes were made to your profile.", "Information", JOptionPane.INFORMATION_MESSAGE);
             }
-        }
+        }, error -> {
+            JOptionPane.showMessageDialog(this, "Error saving profile: " + error.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+            error.printStackTrace();
+        });
     }
     
     /**
@@ -2079,49 +1916,42 @@ public class StudentDashboard extends JFrame {
             return;
         }
         
-        Connection conn = null;
-        try {
-            conn = DBConnection.getConnection();
-            
-            // First check if columns exist
-            boolean columnsExist = checkProfileColumnsExist(conn);
-            
-            if (!columnsExist) {
-                System.out.println("Profile columns don't exist in the database. Run update script.");
-                return;
-            }
-            
+        // First check if columns exist
+        boolean columnsExist = SchemaCapabilities.hasUserProfileColumns();
+        
+        if (!columnsExist) {
+            System.out.println("Profile columns don't exist in the database. Run update script.");
+            return;
+        }
+        
+        int studentId = userId;
+        DatabaseExecutor.submitToEdt(conn -> {
             String sql = "SELECT email, register_no, address, phone FROM users WHERE user_id = ?";
             
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setInt(1, userId);
+                stmt.setInt(1, studentId);
                 
                 try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        String email = rs.getString("email");
-                        String registerNo = rs.getString("register_no");
-                        String address = rs.getString("address");
-                        String phone = rs.getString("phone");
-                        
-                        // Update the profile panel
-                        updateProfileFields(email, registerNo, address, phone);
-                        
-                        // Update the email in the profile panel header
-                        updateProfileHeader(email);
+                    if (!rs.next()) {
+                        return null;
                     }
+                    return new String[] {
+                        rs.getString("email"),
+                        rs.getString("register_no"),
+                        rs.getString("address"),
+                        rs.getString("phone")
+                    };
                 }
             }
-        } catch (SQLException e) {
-            System.out.println("Error loading profile: " + e.getMessage());
-        } finally {
-            if (conn != null) {
-                try {
-                    conn.close();
-                } catch (SQLException e) {
-                    System.out.println("Error closing connection: " + e.getMessage());
-                }
+        }, profile -> {
+            if (profile != null) {
+                // Update the profile panel
+                updateProfileFields(profile[0], profile[1], profile[2], profile[3]);
+                
+                // Update the email in the profile panel header
+                updateProfileHeader(profile[0]);
             }
-        }
+        }, error -> System.out.println("Error loading profile: " + error.getMessage()));
     }
     
     /**
@@ -2191,33 +2021,4 @@ public class StudentDashboard extends JFrame {
             System.out.println("Error updating profile header: " + e.getMessage());
         }
     }
-    
-    /**
-     * Checks if the profile columns exist in the users table
-     */
-    private boolean checkProfileColumnsExist(Connection conn) {
-        try {
-            DatabaseMetaData meta = conn.getMetaData();
-            boolean registerNoExists = false;
-            boolean addressExists = false;
-            boolean phoneExists = false;
-            
-            try (ResultSet rs = meta.getColumns(null, null, "users", "register_no")) {
-                registerNoExists = rs.next();
-            }
-            
-            try (ResultSet rs = meta.getColumns(null, null, "users", "address")) {
-                addressExists = rs.next();
-            }
-            
-            try (ResultSet rs = meta.getColumns(null, null, "users", "phone")) {
-                phoneExists = rs.next();
-            }
-            
-            return registerNoExists && addressExists && phoneExists;
-        } catch (SQLException e) {
-            System.out.println("Error checking for profile columns: " + e.getMessage());
-            return false;
-        }
-    }
 }
\ No newline at end of file
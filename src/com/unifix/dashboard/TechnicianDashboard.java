@@ -1,19 +1,45 @@
 package com.unifix.dashboard;
 
-import com.unifix.database.DBConnection;
+import com.unifix.complaints.ComplaintBulkUpdate;
+import com.unifix.complaints.ComplaintFilter;
+import com.unifix.complaints.ComplaintRepository;
+import com.unifix.complaints.ComplaintStore;
+import com.unifix.complaints.ComplaintStoreModel;
+import com.unifix.complaints.StatusCountService;
+import com.unifix.complaints.TechnicianDirectory;
+import com.unifix.database.DatabaseExecutor;
+import com.unifix.database.LatestQuery;
+import com.unifix.database.UnitOfWork;
 import com.unifix.solutions.SolutionPage;
+import com.unifix.utils.UIUtilities;
 import java.awt.*;
 import java.sql.*;
+import java.util.List;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 
 public class TechnicianDashboard extends JFrame {
     private JPanel mainPanel;
     private JTable assignedTable;
     private JButton updateStatusBtn, addSolutionBtn, logoutBtn;
+    private JLabel countsLabel;
     private int userId;
     private String userName;
 
+    private static final String[] COLUMNS = {"ID", "Category", "Location", "Description", "Priority", "Status", "Date"};
+    private static final ComplaintStore.Column[] STORE_COLUMNS = {
+        ComplaintStore.Column.ID, ComplaintStore.Column.CATEGORY, ComplaintStore.Column.LOCATION,
+        ComplaintStore.Column.DESCRIPTION, ComplaintStore.Column.PRIORITY, ComplaintStore.Column.STATUS,
+        ComplaintStore.Column.CREATED
+    };
+
+    private final ComplaintRepository complaintRepository = new ComplaintRepository();
+    // The assigned complaints, kept column-wise; the table decodes cells as it paints
+    private final ComplaintStoreModel assignedModel = new ComplaintStoreModel(null, STORE_COLUMNS, COLUMNS);
+
+    // Only the newest refresh is applied; an older one still running is cancelled
+    private final LatestQuery refreshQuery = new LatestQuery();
+    private final LatestQuery countsQuery = new LatestQuery();
+
     public TechnicianDashboard() {
         setTitle("Technician Dashboard - UniFix");
         setSize(1000, 700);
@@ -29,11 +55,14 @@ public class TechnicianDashboard extends JFrame {
         JLabel welcomeLabel = new JLabel("Welcome, Technician!", SwingConstants.LEFT);
         welcomeLabel.setFont(new Font("SansSerif", Font.BOLD, 24));
         headerPanel.add(welcomeLabel, BorderLayout.WEST);
+        countsLabel = new JLabel("", SwingConstants.RIGHT);
+        headerPanel.add(countsLabel, BorderLayout.EAST);
 
         // Create table model
-        String[] columns = {"ID", "Category", "Location", "Description", "Priority", "Status", "Date"};
-        Object[][] data = fetchAssignedComplaints();
-        assignedTable = new JTable(data, columns);
+        // Rows are loaded by setUserInfo() once we know who is logged in
+        assignedTable = new JTable(assignedModel);
+        // Several complaints can be updated at once
+        assignedTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         JScrollPane scrollPane = new JScrollPane(assignedTable);
 
         // Buttons Panel
@@ -61,56 +90,18 @@ public class TechnicianDashboard extends JFrame {
         setVisible(true);
     }
 
-    private Object[][] fetchAssignedComplaints() {
-        Object[][] data = new Object[0][7];
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT complaint_id, category, location, description, " +
-                        "priority, status, created_at FROM complaints " +
-                        "WHERE assigned_to = ? AND status != 'Resolved' " +
-                        "ORDER BY priority DESC, created_at ASC";
-            
-            PreparedStatement stmt = conn.prepareStatement(
-                sql,
-                ResultSet.TYPE_SCROLL_INSENSITIVE,
-                ResultSet.CONCUR_READ_ONLY
-            );
-            stmt.setString(1, userName);
-            
-            ResultSet rs = stmt.executeQuery();
-            rs.last();
-            data = new Object[rs.getRow()][7];
-            rs.beforeFirst();
-
-            int row = 0;
-            while (rs.next()) {
-                data[row][0] = rs.getInt("complaint_id");
-                data[row][1] = rs.getString("category");
-                data[row][2] = rs.getString("location");
-                data[row][3] = rs.getString("description");
-                data[row][4] = rs.getString("priority");
-                data[row][5] = rs.getString("status");
-                data[row][6] = rs.getTimestamp("created_at");
-                row++;
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error fetching complaints: " + e.getMessage());
-        }
-        return data;
-    }
-
     private void updateStatus() {
-        int row = assignedTable.getSelectedRow();
-        if (row == -1) {
+        List<Integer> complaintIds = UIUtilities.selectedIds(assignedTable, 0);
+        if (complaintIds.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please select a complaint first!");
             return;
         }
 
-        int complaintId = (int) assignedTable.getValueAt(row, 0);
         String[] statuses = {"In Progress", "Resolved"};
 
         String newStatus = (String) JOptionPane.showInputDialog(
             this,
-            "Update Status:",
+            complaintIds.size() == 1 ? "Update Status:" : "Update Status of " + complaintIds.size() + " complaints:",
             "Update Complaint Status",
             JOptionPane.QUESTION_MESSAGE,
             null,
@@ -119,18 +110,21 @@ public class TechnicianDashboard extends JFrame {
         );
 
         if (newStatus != null) {
-            try (Connection conn = DBConnection.getConnection()) {
-                String sql = "UPDATE complaints SET status = ? WHERE complaint_id = ?";
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setString(1, newStatus);
-                stmt.setInt(2, complaintId);
-                stmt.executeUpdate();
-
-                JOptionPane.showMessageDialog(this, "Status updated successfully!");
+            updateStatusBtn.setEnabled(false);
+            // Every selected complaint and its status counters in one transaction
+            DatabaseExecutor.submitToEdt(UnitOfWork.of(conn -> ComplaintBulkUpdate.setStatus(conn, complaintIds, newStatus)),
+            result -> {
+                StatusCountService.invalidate();
+                TechnicianDirectory.applied(result.getBefore(), result.getAfter());
+                updateStatusBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(this, result.size() == 1
+                    ? "Status updated successfully!"
+                    : "Status of " + result.size() + " complaints updated successfully!");
                 refreshTable();
-            } catch (SQLException e) {
-                JOptionPane.showMessageDialog(this, "Error updating status: " + e.getMessage());
-            }
+            }, error -> {
+                updateStatusBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Error updating status: " + error.getMessage());
+            });
         }
     }
 
@@ -145,12 +139,35 @@ public class TechnicianDashboard extends JFrame {
         new SolutionPage(complaintId, this);
     }
 
-    private void refreshTable() {
-        Object[][] newData = fetchAssignedComplaints();
-        assignedTable.setModel(new DefaultTableModel(
-            newData,
-            new String[]{"ID", "Category", "Location", "Description", "Priority", "Status", "Date"}
-        ));
+    public void refreshTable() {
+        String technician = userName;
+        countsQuery.submit(conn -> StatusCountService.get(conn, StatusCountService.Scope.assignee(technician)),
+            counts -> countsLabel.setText("Open: " + (counts.getPending() + counts.getInProgress())
+                                          + "   Resolved: " + counts.getResolved()),
+            error -> System.out.println("Error loading complaint counts: " + error.getMessage()));
+
+        ComplaintFilter filter = ComplaintFilter.all().assignedTo(technician).unresolved();
+        ComplaintStore loaded = assignedModel.getStore();
+        if (loaded == null) {
+            refreshQuery.submit(conn -> ComplaintStore.load(conn, complaintRepository, filter,
+                    ComplaintRepository.Order.PRIORITY, true),
+                assignedModel::setStore,
+                error -> JOptionPane.showMessageDialog(this, "Error fetching complaints: " + error.getMessage()));
+            return;
+        }
+
+        // Already loaded: read only what changed since, and patch those rows in place
+        Timestamp since = loaded.getWatermark();
+        List<Integer> loadedIds = loaded.loadedIds();
+        refreshQuery.submit(conn -> complaintRepository.fetchChanges(conn, filter, since, loadedIds), changes -> {
+            if (changes.isTooLarge()) {
+                assignedModel.setStore(null);
+                refreshTable();
+                return;
+            }
+            assignedModel.applyChanges(changes, filter, ComplaintRepository.Order.PRIORITY.comparator());
+            loaded.setWatermark(changes.getWatermark());
+        }, error -> JOptionPane.showMessageDialog(this, "Error fetching complaints: " + error.getMessage()));
     }
 
     private void logout() {
@@ -173,5 +190,6 @@ public class TechnicianDashboard extends JFrame {
         this.userName = userName;
         JLabel welcomeLabel = (JLabel) ((JPanel)mainPanel.getComponent(0)).getComponent(0);
         welcomeLabel.setText("Welcome, " + userName + "!");
+        refreshTable();
     }
 }
\ No newline at end of file
@@ -1,18 +1,43 @@
 package com.unifix.dashboard;
 
-import com.unifix.database.DBConnection;
+import com.unifix.complaints.AssignmentEngine;
+import com.unifix.complaints.BackgroundJobs;
+import com.unifix.complaints.ComplaintBulkUpdate;
+import com.unifix.complaints.ComplaintFilter;
+import com.unifix.complaints.ComplaintPager;
+import com.unifix.complaints.ComplaintRepository;
+import com.unifix.complaints.StatusCountService;
+import com.unifix.complaints.TechnicianDirectory;
+import com.unifix.database.DatabaseExecutor;
+import com.unifix.database.LatestQuery;
+import com.unifix.database.UnitOfWork;
+import com.unifix.utils.UIUtilities;
 import java.awt.*;
 import java.sql.*;
+import java.util.Comparator;
+import java.util.List;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 
 public class WardenDashboard extends JFrame {
     private JPanel mainPanel;
-    private JTable complaintsTable;
-    private JButton assignButton, viewDetailsBtn, logoutBtn;
+    private JTable complaintsTable, autoAssignedTable;
+    private JTabbedPane tabs;
+    private JButton assignButton, viewDetailsBtn, autoAssignBtn, logoutBtn;
+    private JLabel countsLabel;
     private int userId;
     private String userName;
 
+    private static final String[] COLUMNS = {"ID", "Student", "Category", "Location", "Priority", "Status", "Date"};
+    private static final String[] AUTO_COLUMNS = {"ID", "Category", "Location", "Priority", "Technician", "Why", "Assigned"};
+    // Automatic assignments listed for review
+    private static final int AUTO_ASSIGNED_SHOWN = 200;
+
+    // Pending queue, highest priority first, a page at a time
+    private ComplaintPager pager;
+    private final LatestQuery countsQuery = new LatestQuery();
+    private final LatestQuery autoAssignedQuery = new LatestQuery();
+
     public WardenDashboard() {
         setTitle("Warden Dashboard - UniFix");
         setSize(1000, 700);
@@ -28,149 +53,186 @@ public class WardenDashboard extends JFrame {
         JLabel welcomeLabel = new JLabel("Welcome, Warden!", SwingConstants.LEFT);
         welcomeLabel.setFont(new Font("SansSerif", Font.BOLD, 24));
         headerPanel.add(welcomeLabel, BorderLayout.WEST);
+        countsLabel = new JLabel("", SwingConstants.RIGHT);
+        headerPanel.add(countsLabel, BorderLayout.EAST);
 
         // Create table model
-        String[] columns = {"ID", "Student", "Category", "Location", "Priority", "Status", "Date"};
-        Object[][] data = fetchComplaints();
-        complaintsTable = new JTable(data, columns);
+        complaintsTable = new JTable(new DefaultTableModel(COLUMNS, 0));
+        // Several complaints can be assigned at once
+        complaintsTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         JScrollPane scrollPane = new JScrollPane(complaintsTable);
+        pager = new ComplaintPager(complaintsTable, COLUMNS, null,
+            c -> new Object[]{c.getComplaintId(), c.getUserName(), c.getCategory(), c.getLocation(),
+                              c.getPriority(), c.getStatus(), c.getCreatedAt()},
+            new ComplaintRepository(), ComplaintRepository.Order.PRIORITY);
+
+        // The engine's standing assignments; assigning one again overrides it
+        autoAssignedTable = new JTable(new DefaultTableModel(AUTO_COLUMNS, 0));
+        autoAssignedTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        tabs = new JTabbedPane();
+        tabs.addTab("Pending Queue", scrollPane);
+        tabs.addTab("Auto-Assigned", new JScrollPane(autoAssignedTable));
 
         // Buttons Panel
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         assignButton = new JButton("Assign to Technician");
         viewDetailsBtn = new JButton("View Details");
+        autoAssignBtn = new JButton("Auto-Assign Pending");
         logoutBtn = new JButton("Logout");
 
         buttonPanel.add(assignButton);
         buttonPanel.add(viewDetailsBtn);
+        buttonPanel.add(autoAssignBtn);
+        buttonPanel.add(pager.getLoadMoreButton());
         buttonPanel.add(logoutBtn);
 
         // Add components to main panel
         mainPanel.add(headerPanel, BorderLayout.NORTH);
-        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        mainPanel.add(tabs, BorderLayout.CENTER);
         mainPanel.add(buttonPanel, BorderLayout.SOUTH);
 
         // Add action listeners
         assignButton.addActionListener(e -> assignComplaint());
         viewDetailsBtn.addActionListener(e -> viewDetails());
+        autoAssignBtn.addActionListener(e -> autoAssign());
         logoutBtn.addActionListener(e -> logout());
 
         // Add main panel to frame
         add(mainPanel);
         setVisible(true);
+
+        // Load the pending complaints in the background
+        refreshTable();
     }
 
-    private Object[][] fetchComplaints() {
-        Object[][] data = new Object[0][7];
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT c.complaint_id, u.name, c.category, c.location, " +
-                        "c.priority, c.status, c.created_at " +
-                        "FROM complaints c JOIN users u ON c.user_id = u.user_id " +
-                        "WHERE c.status = 'Pending' ORDER BY c.priority DESC";
-            
-            Statement stmt = conn.createStatement(
-                ResultSet.TYPE_SCROLL_INSENSITIVE,
-                ResultSet.CONCUR_READ_ONLY
-            );
-            
-            ResultSet rs = stmt.executeQuery(sql);
-            rs.last();
-            data = new Object[rs.getRow()][7];
-            rs.beforeFirst();
-
-            int row = 0;
-            while (rs.next()) {
-                data[row][0] = rs.getInt("complaint_id");
-                data[row][1] = rs.getString("name");
-                data[row][2] = rs.getString("category");
-                data[row][3] = rs.getString("location");
-                data[row][4] = rs.getString("priority");
-                data[row][5] = rs.getString("status");
-                data[row][6] = rs.getTimestamp("created_at");
-                row++;
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error fetching complaints: " + e.getMessage());
-        }
-        return data;
+    // The table of the open tab; both have the complaint id in column 0
+    private JTable selectedTable() {
+        return tabs.getSelectedIndex() == 1 ? autoAssignedTable : complaintsTable;
     }
 
     private void assignComplaint() {
-        int row = complaintsTable.getSelectedRow();
-        if (row == -1) {
+        List<Integer> complaintIds = UIUtilities.selectedIds(selectedTable(), 0);
+        if (complaintIds.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please select a complaint first!");
             return;
         }
 
-        int complaintId = (int) complaintsTable.getValueAt(row, 0);
-        String[] technicians = {"Tech1", "Tech2", "Tech3"}; // Should fetch from database
+        // The directory is normally loaded at startup; read it once if not
+        if (!TechnicianDirectory.isLoaded()) {
+            assignButton.setEnabled(false);
+            DatabaseExecutor.submitReadToEdt(TechnicianDirectory::load, technicians -> {
+                assignButton.setEnabled(true);
+                chooseTechnician(complaintIds, technicians);
+            }, error -> {
+                assignButton.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Error loading technicians: " + error.getMessage());
+            });
+            return;
+        }
+        chooseTechnician(complaintIds, TechnicianDirectory.list());
+    }
+
+    private void chooseTechnician(List<Integer> complaintIds, List<TechnicianDirectory.Technician> technicians) {
+        if (technicians.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No technicians are registered yet!");
+            return;
+        }
+        // The least loaded technician is offered first
+        TechnicianDirectory.Technician leastLoaded = technicians.stream()
+            .min(Comparator.comparingInt(TechnicianDirectory.Technician::getOpenComplaints))
+            .get();
 
-        String selectedTech = (String) JOptionPane.showInputDialog(
+        TechnicianDirectory.Technician selected = (TechnicianDirectory.Technician) JOptionPane.showInputDialog(
             this,
-            "Choose Technician:",
+            complaintIds.size() == 1 ? "Choose Technician:" : "Choose Technician for " + complaintIds.size() + " complaints:",
             "Assign Complaint",
             JOptionPane.QUESTION_MESSAGE,
             null,
-            technicians,
-            technicians[0]
+            technicians.toArray(),
+            leastLoaded
         );
 
-        if (selectedTech != null) {
-            try (Connection conn = DBConnection.getConnection()) {
-                String sql = "UPDATE complaints SET status = 'In Progress', " +
-                           "assigned_to = ? WHERE complaint_id = ?";
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setString(1, selectedTech);
-                stmt.setInt(2, complaintId);
-                stmt.executeUpdate();
-
-                JOptionPane.showMessageDialog(this, "Complaint assigned successfully!");
+        if (selected != null) {
+            String selectedTech = selected.getName();
+            assignButton.setEnabled(false);
+            // Every selected complaint and its status counters in one transaction
+            DatabaseExecutor.submitToEdt(UnitOfWork.of(conn -> ComplaintBulkUpdate.assign(conn, complaintIds, selectedTech)),
+            result -> {
+                StatusCountService.invalidate();
+                TechnicianDirectory.applied(result.getBefore(), result.getAfter());
+                assignButton.setEnabled(true);
+                JOptionPane.showMessageDialog(this, result.size() == 1
+                    ? "Complaint assigned successfully!"
+                    : result.size() + " complaints assigned successfully!");
                 refreshTable();
-            } catch (SQLException e) {
-                JOptionPane.showMessageDialog(this, "Error assigning complaint: " + e.getMessage());
-            }
+            }, error -> {
+                assignButton.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Error assigning complaint: " + error.getMessage());
+            });
         }
     }
 
+    private void autoAssign() {
+        autoAssignBtn.setEnabled(false);
+        DatabaseExecutor.submitToEdt(AssignmentEngine::run, assigned -> {
+            StatusCountService.invalidate();
+            autoAssignBtn.setEnabled(true);
+            JOptionPane.showMessageDialog(this, assigned == AssignmentEngine.BUSY
+                ? "Another client is assigning the queue right now. Please try again shortly."
+                : assigned == 0
+                ? "No pending complaints to assign."
+                : assigned + " complaints assigned automatically. Review them under Auto-Assigned.");
+            refreshTable();
+        }, error -> {
+            autoAssignBtn.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Error assigning complaints: " + error.getMessage());
+        });
+    }
+
     private void viewDetails() {
-        int row = complaintsTable.getSelectedRow();
+        JTable table = selectedTable();
+        int row = table.getSelectedRow();
         if (row == -1) {
             JOptionPane.showMessageDialog(this, "Please select a complaint first!");
             return;
         }
 
-        int complaintId = (int) complaintsTable.getValueAt(row, 0);
-        try (Connection conn = DBConnection.getConnection()) {
+        int complaintId = (int) table.getValueAt(row, 0);
+        DatabaseExecutor.submitToEdt(conn -> {
             String sql = "SELECT c.*, u.name FROM complaints c " +
                         "JOIN users u ON c.user_id = u.user_id " +
                         "WHERE c.complaint_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, complaintId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                String details = String.format(
-                    "Complaint Details:\n\n" +
-                    "ID: %d\n" +
-                    "Student: %s\n" +
-                    "Category: %s\n" +
-                    "Subcategory: %s\n" +
-                    "Location: %s\n" +
-                    "Description: %s\n" +
-                    "Priority: %s\n" +
-                    "Status: %s\n" +
-                    "Created: %s",
-                    rs.getInt("complaint_id"),
-                    rs.getString("name"),
-                    rs.getString("category"),
-                    rs.getString("subcategory"),
-                    rs.getString("location"),
-                    rs.getString("description"),
-                    rs.getString("priority"),
-                    rs.getString("status"),
-                    rs.getTimestamp("created_at")
-                );
-
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, complaintId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    return String.format(
+                        "Complaint Details:\n\n" +
+                        "ID: %d\n" +
+                        "Student: %s\n" +
+                        "Category: %s\n" +
+                        "Subcategory: %s\n" +
+                        "Location: %s\n" +
+                        "Description: %s\n" +
+                        "Priority: %s\n" +
+                        "Status: %s\n" +
+                        "Created: %s",
+                        rs.getInt("complaint_id"),
+                        rs.getString("name"),
+                        rs.getString("category"),
+                        rs.getString("subcategory"),
+                        rs.getString("location"),
+                        rs.getString("description"),
+                        rs.getString("priority"),
+                        rs.getString("status"),
+                        rs.getTimestamp("created_at")
+                    );
+                }
+            }
+        }, details -> {
+            if (details != null) {
                 JOptionPane.showMessageDialog(
                     this,
                     details,
@@ -178,17 +240,23 @@ public class WardenDashboard extends JFrame {
                     JOptionPane.INFORMATION_MESSAGE
                 );
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error fetching details: " + e.getMessage());
-        }
+        }, error -> JOptionPane.showMessageDialog(this, "Error fetching details: " + error.getMessage()));
     }
 
     private void refreshTable() {
-        Object[][] newData = fetchComplaints();
-        complaintsTable.setModel(new DefaultTableModel(
-            newData,
-            new String[]{"ID", "Student", "Category", "Location", "Priority", "Status", "Date"}
-        ));
+        // Delta after the first load: an assignment moves one row out of the queue
+        pager.refresh(ComplaintFilter.all().withStatus("Pending"));
+        countsQuery.submitRead(conn -> StatusCountService.get(conn, StatusCountService.Scope.global()),
+            counts -> countsLabel.setText("Pending: " + counts.getPending() + "   In progress: " + counts.getInProgress()),
+            error -> System.out.println("Error loading complaint counts: " + error.getMessage()));
+        autoAssignedQuery.submitRead(conn -> AssignmentEngine.recent(conn, AUTO_ASSIGNED_SHOWN), assignments -> {
+            DefaultTableModel model = (DefaultTableModel) autoAssignedTable.getModel();
+            model.setRowCount(0);
+            for (AssignmentEngine.AutoAssignment a : assignments) {
+                model.addRow(new Object[]{a.getComplaintId(), a.getCategory(), a.getLocation(), a.getPriority(),
+                                          a.getTechnician(), a.getReason(), a.getAssignedAt()});
+            }
+        }, error -> System.out.println("Error loading automatic assignments: " + error.getMessage()));
     }
 
     private void logout() {
@@ -200,6 +268,7 @@ public class WardenDashboard extends JFrame {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
+            BackgroundJobs.stop();
             dispose();
             new com.unifix.auth.LoginPage();
         }
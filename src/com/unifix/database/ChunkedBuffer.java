@@ -0,0 +1,63 @@
+package com.unifix.database;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An append-only list stored in fixed-size chunks. Growing allocates one
+ * more chunk instead of copying everything into an array twice the size, so
+ * filling it with millions of rows never needs a second full copy in memory.
+ */
+public class ChunkedBuffer<T> implements Iterable<T> {
+    public static final int CHUNK_SIZE = 4096;
+
+    private final List<Object[]> chunks = new ArrayList<>();
+    private int size;
+
+    public void add(T value) {
+        int offset = size % CHUNK_SIZE;
+        if (offset == 0) {
+            chunks.add(new Object[CHUNK_SIZE]);
+        }
+        chunks.get(chunks.size() - 1)[offset] = value;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        return (T) chunks.get(index / CHUNK_SIZE)[index % CHUNK_SIZE];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public T next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+}
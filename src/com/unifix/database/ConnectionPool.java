@@ -0,0 +1,334 @@
+package com.unifix.database;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * Bounded JDBC connection pool.
+ *
+ * Borrowers wait at most borrowTimeoutMs for a free slot. Idle connections are
+ * reused most-recently-used first, validated if they sat idle for a while, and
+ * retired once they exceed the idle timeout (above minSize) or the max lifetime.
+ */
+public class ConnectionPool implements DataSource {
+    private final String name;
+    private final String url;
+    private final Properties connectionProps;
+    private final PoolConfig config;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
+    private volatile long lastWriteAt;
+    private PrintWriter logWriter;
+
+    public ConnectionPool(String name, String url, String user, String password, PoolConfig config) {
+        this.name = name;
+        this.url = url;
+        this.config = config;
+        this.connectionProps = new Properties();
+        connectionProps.setProperty("user", user);
+        connectionProps.setProperty("password", password);
+        this.permits = new Semaphore(config.getMaxSize(), true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "unifix-pool-" + name);
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = config.getHousekeepingIntervalMs();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens minSize connections (at least one) up front so the first screens
+     * do not pay the handshake and a bad configuration is reported early.
+     */
+    public void warmUp() throws SQLException {
+        fillTo(Math.max(1, config.getMinSize()));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool '" + name + "' has been shut down", "08003");
+        }
+
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(config.getBorrowTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + config.getBorrowTimeoutMs() +
+                    "ms waiting for a database connection (" + getStats() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        try {
+            PooledConnection pooled = takeIdle();
+            if (pooled == null) {
+                pooled = create();
+            }
+            pooled.touch();
+            active.incrementAndGet();
+            recordWait(System.nanoTime() - start);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Polls idle connections until one passes the lifetime and validation checks.
+     */
+    private PooledConnection takeIdle() {
+        while (true) {
+            PooledConnection pooled;
+            synchronized (idle) {
+                pooled = idle.pollFirst();
+            }
+            if (pooled == null) {
+                return null;
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - pooled.getCreatedAt() > config.getMaxLifetimeMs()) {
+                destroy(pooled);
+                continue;
+            }
+            if (now - pooled.getLastUsedAt() > config.getValidateAfterIdleMs() && !isValid(pooled)) {
+                destroy(pooled);
+                continue;
+            }
+            return pooled;
+        }
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.getRaw().isValid(config.getValidationTimeoutSec());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection create() throws SQLException {
+        Connection raw = DriverManager.getConnection(url, connectionProps);
+        total.incrementAndGet();
+        createdCount.incrementAndGet();
+        return new PooledConnection(this, raw, config.getStatementCacheSize());
+    }
+
+    private void destroy(PooledConnection pooled) {
+        pooled.closeQuietly();
+        total.decrementAndGet();
+        destroyedCount.incrementAndGet();
+    }
+
+    /**
+     * Called by a connection handle when the borrower closes it.
+     */
+    void release(PooledConnection pooled) {
+        active.decrementAndGet();
+        try {
+            boolean expired = System.currentTimeMillis() - pooled.getCreatedAt() > config.getMaxLifetimeMs();
+            if (shutdown || expired || !pooled.reset()) {
+                destroy(pooled);
+            } else {
+                pooled.touch();
+                synchronized (idle) {
+                    idle.addFirst(pooled);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void recordWait(long nanos) {
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(nanos);
+        long max;
+        do {
+            max = maxWaitNanos.get();
+        } while (nanos > max && !maxWaitNanos.compareAndSet(max, nanos));
+    }
+
+    /**
+     * Background pass: retire idle/old connections, then top back up to minSize.
+     */
+    private void housekeep() {
+        if (shutdown) {
+            return;
+        }
+        List<PooledConnection> retired = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (idle) {
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                PooledConnection pooled = it.next();
+                boolean tooOld = now - pooled.getCreatedAt() > config.getMaxLifetimeMs();
+                boolean idleTooLong = now - pooled.getLastUsedAt() > config.getIdleTimeoutMs()
+                    && total.get() - retired.size() > config.getMinSize();
+                if (tooOld || idleTooLong) {
+                    it.remove();
+                    retired.add(pooled);
+                }
+            }
+        }
+        for (PooledConnection pooled : retired) {
+            destroy(pooled);
+        }
+
+        try {
+            fillTo(config.getMinSize());
+        } catch (SQLException e) {
+            System.out.println("⚠️ Pool '" + name + "' could not refill to minimum size: " + e.getMessage());
+        }
+    }
+
+    private void fillTo(int size) throws SQLException {
+        while (!shutdown && total.get() < size) {
+            PooledConnection pooled = create();
+            synchronized (idle) {
+                idle.addLast(pooled);
+            }
+        }
+    }
+
+    public PoolStats getStats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        long borrows = borrowCount.get();
+        double avgWaitMs = borrows == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / borrows;
+        return new PoolStats(
+            total.get(), active.get(), idleCount, waiting.get(),
+            config.getMinSize(), config.getMaxSize(),
+            borrows, timeoutCount.get(), createdCount.get(), destroyedCount.get(),
+            avgWaitMs, maxWaitNanos.get() / 1_000_000.0
+        );
+    }
+
+    /**
+     * Called when a borrower writes; ReplicaRouter uses it for read-your-writes.
+     */
+    void noteWrite() {
+        lastWriteAt = System.currentTimeMillis();
+    }
+
+    /**
+     * When a connection from this pool last prepared, ran or committed a write,
+     * or 0 if never.
+     */
+    public long getLastWriteAt() {
+        return lastWriteAt;
+    }
+
+    public PoolConfig getConfig() {
+        return config;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Closes idle connections and stops housekeeping. Borrowed connections are
+     * closed as they come back.
+     */
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        List<PooledConnection> drained;
+        synchronized (idle) {
+            drained = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (PooledConnection pooled : drained) {
+            destroy(pooled);
+        }
+    }
+
+    // ---- DataSource boilerplate ----
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections always use the configured credentials");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        this.logWriter = out;
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
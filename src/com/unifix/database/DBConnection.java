@@ -2,6 +2,8 @@ package com.unifix.database;
 
 import java.io.*;
 import java.sql.*;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 public class DBConnection {
@@ -9,7 +11,12 @@ public class DBConnection {
     private static String USER;
     private static String PASSWORD;
     private static String DB_NAME;
+    private static PoolConfig POOL_CONFIG;
+    private static Properties CONFIG = new Properties();
     private static boolean isInitialized = false;
+    private static ConnectionPool pool;
+    private static ReplicaRouter replicas;
+    private static DatabaseBackend BACKEND = DatabaseBackend.MYSQL;
 
     private static void loadConfiguration() {
         if (!isInitialized) {
@@ -17,54 +24,165 @@ public class DBConnection {
                 Properties prop = new Properties();
                 prop.load(input);
 
-                String host = prop.getProperty("db.host", "localhost");
-                String port = prop.getProperty("db.port", "3306");
+                BACKEND = DatabaseBackend.fromProperties(prop);
                 DB_NAME = prop.getProperty("db.name", "unifix_db");
                 
-                URL = String.format("jdbc:mysql://%s:%s/%s", host, port, DB_NAME);
-                USER = prop.getProperty("db.user", "root");
+                URL = BACKEND.buildUrl(prop);
+                USER = prop.getProperty("db.user", BACKEND.isEmbedded() ? "sa" : "root");
                 PASSWORD = prop.getProperty("db.password", "");
+                POOL_CONFIG = PoolConfig.fromProperties(prop);
+                CONFIG = prop;
                 
                 isInitialized = true;
             } catch (IOException e) {
                 System.out.println("❌ Failed to load database configuration: " + e.getMessage());
                 // Use default values if config file is not found
-                URL = "jdbc:mysql://localhost:3306/unifix_db";
+                URL = DatabaseBackend.MYSQL.buildUrl(new Properties());
                 USER = "root";
                 PASSWORD = "";
                 DB_NAME = "unifix_db";
+                POOL_CONFIG = PoolConfig.fromProperties(new Properties());
                 isInitialized = true;
             }
         }
     }
 
-    public static Connection getConnection() {
+    /**
+     * Settings from db_config.properties, for database components that have
+     * their own optional keys. Never null.
+     */
+    static synchronized Properties getConfig() {
+        loadConfiguration();
+        return CONFIG;
+    }
+
+    /**
+     * A numeric setting from db_config.properties for components outside this
+     * package, or the default when it is missing or malformed.
+     */
+    public static synchronized long getLongSetting(String key, long defaultValue) {
         loadConfiguration();
-        Connection conn = null;
+        return PoolConfig.longValue(CONFIG, key, defaultValue);
+    }
+
+    /**
+     * The configured database engine (db.backend).
+     */
+    public static synchronized DatabaseBackend getBackend() {
+        loadConfiguration();
+        return BACKEND;
+    }
+
+    /**
+     * Borrows a connection from the shared pool. Closing the returned
+     * connection hands it back to the pool. Returns null if the database
+     * cannot be reached, as callers already check for that.
+     */
+    public static Connection getConnection() {
+        try {
+            return getPool().getConnection();
+        } catch (SQLException e) {
+            System.out.println("❌ Database Connection Failed: " + e.getMessage());
+        } catch (ClassNotFoundException e) {
+            System.out.println("❌ JDBC Driver not found (is its jar in lib/?): " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Borrows a connection for read-only work such as dashboard listings and
+     * reports. It comes from a read replica when db.replicas is configured and
+     * one is in sync, otherwise from the primary. Never write through it.
+     * Returns null if the database cannot be reached.
+     */
+    public static Connection getReadConnection() {
         try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            conn = DriverManager.getConnection(URL, USER, PASSWORD);
-            System.out.println("✅ Database Connected Successfully!");
+            return getReplicaRouter().getReadConnection();
         } catch (SQLException e) {
-            if (e.getMessage().contains("Unknown database")) {
+            System.out.println("❌ Database Connection Failed: " + e.getMessage());
+        } catch (ClassNotFoundException e) {
+            System.out.println("❌ JDBC Driver not found (is its jar in lib/?): " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Returns the shared pooled DataSource, creating it on first use.
+     */
+    public static synchronized ConnectionPool getPool() throws SQLException, ClassNotFoundException {
+        if (pool != null) {
+            return pool;
+        }
+        loadConfiguration();
+        Class.forName(BACKEND.getDriverClass());
+
+        ConnectionPool newPool = new ConnectionPool("primary", URL, USER, PASSWORD, POOL_CONFIG);
+        try {
+            try {
+                newPool.warmUp();
+            } catch (SQLException e) {
+                // Embedded databases are created on first connect; only a server can lack one
+                if (BACKEND.isEmbedded() || e.getMessage() == null || !e.getMessage().contains("Unknown database")) {
+                    throw e;
+                }
                 System.out.println("⚠️ Database does not exist. Attempting to create it...");
                 createDatabase();
-                // Try connecting again
-                try {
-                    conn = DriverManager.getConnection(URL, USER, PASSWORD);
-                    System.out.println("✅ Database Connected Successfully!");
-                } catch (SQLException e2) {
-                    System.out.println("❌ Database Connection Failed After Create Attempt: " + e2.getMessage());
-                }
-            } else {
-                System.out.println("❌ Database Connection Failed: " + e.getMessage());
+                newPool.warmUp();
             }
-        } catch (ClassNotFoundException e) {
-            System.out.println("❌ MySQL JDBC Driver not found: " + e.getMessage());
+        } catch (SQLException e) {
+            newPool.shutdown();
+            throw e;
+        }
+
+        pool = newPool;
+        replicas = new ReplicaRouter(pool, BACKEND, CONFIG, USER, PASSWORD, POOL_CONFIG);
+        Runtime.getRuntime().addShutdownHook(new Thread(DBConnection::shutdown, "unifix-pool-shutdown"));
+        System.out.println("✅ Database Connected Successfully! " + pool.getStats());
+        return pool;
+    }
+
+    // Read under the same lock as getPool(), so a concurrent shutdown() cannot null it in between;
+    // the borrow itself happens outside the lock
+    private static synchronized ReplicaRouter getReplicaRouter() throws SQLException, ClassNotFoundException {
+        getPool();
+        return replicas;
+    }
+
+    /**
+     * Current pool counters, or null if the pool has not been started yet.
+     */
+    public static synchronized PoolStats getPoolStats() {
+        return pool == null ? null : pool.getStats();
+    }
+
+    /**
+     * Prepared statement cache hit/miss counters across all pooled connections.
+     */
+    public static StatementCacheStats getStatementCacheStats() {
+        return StatementCache.getStats();
+    }
+
+    /**
+     * Health, lag and pool counters for each read replica; empty if none are configured.
+     */
+    public static synchronized List<String> getReplicaStatus() {
+        return replicas == null ? Collections.emptyList() : replicas.describe();
+    }
+
+    /**
+     * Closes all pooled connections. Safe to call more than once.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            QueryMetrics.dumpIfConfigured();
+            replicas.shutdown();
+            replicas = null;
+            pool.shutdown();
+            pool = null;
         }
-        return conn;
     }
     
+    // Creates the empty database; SchemaMigrator then builds the tables
     private static void createDatabase() {
         String baseUrl = URL.substring(0, URL.lastIndexOf("/"));
         try (Connection conn = DriverManager.getConnection(baseUrl, USER, PASSWORD)) {
@@ -72,124 +190,10 @@ public class DBConnection {
                 String sql = "CREATE DATABASE IF NOT EXISTS " + DB_NAME;
                 stmt.executeUpdate(sql);
                 System.out.println("✅ Database " + DB_NAME + " created successfully!");
-                
-                // Create initial schema
-                try (Connection dbConn = DriverManager.getConnection(URL, USER, PASSWORD)) {
-                    createInitialSchema(dbConn);
-                }
+                SchemaCapabilities.invalidate();
             }
         } catch (SQLException e) {
             System.out.println("❌ Error creating database: " + e.getMessage());
         }
     }
-    
-    private static void createInitialSchema(Connection conn) {
-        try {
-            ScriptRunner runner = new ScriptRunner(conn, false, true);
-            
-            // Try to run the schema SQL file if it exists
-            File schemaFile = new File("sql/unifix_schema.sql");
-            if (schemaFile.exists()) {
-                System.out.println("✅ Running schema SQL script...");
-                runner.runScript(new BufferedReader(new FileReader(schemaFile)));
-            } else {
-                createTablesManually(conn);
-            }
-        } catch (Exception e) {
-            System.out.println("❌ Error creating schema: " + e.getMessage());
-            // Fallback to manual table creation
-            createTablesManually(conn);
-        }
-    }
-    
-    private static void createTablesManually(Connection conn) {
-        try (Statement stmt = conn.createStatement()) {
-            // Create users table
-            stmt.executeUpdate(
-                "CREATE TABLE IF NOT EXISTS users (" +
-                "user_id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "name VARCHAR(100) NOT NULL, " +
-                "email VARCHAR(100) UNIQUE NOT NULL, " +
-                "password VARCHAR(100) NOT NULL, " +
-                "role ENUM('Student', 'Warden', 'Technician', 'Admin') NOT NULL, " +
-                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"
-            );
-            System.out.println("✅ Users table created successfully!");
-
-            // Create complaints table with image_path
-            stmt.executeUpdate(
-                "CREATE TABLE IF NOT EXISTS complaints (" +
-                "complaint_id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "user_id INT, " +
-                "category VARCHAR(100), " +
-                "description TEXT, " +
-                "image_path VARCHAR(255), " +
-                "location VARCHAR(100), " +
-                "status ENUM('Pending', 'In Progress', 'Resolved') DEFAULT 'Pending', " +
-                "assigned_to VARCHAR(100), " +
-                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                "FOREIGN KEY (user_id) REFERENCES users(user_id))"
-            );
-            System.out.println("✅ Complaints table created successfully!");
-
-            // Create solutions table
-            stmt.executeUpdate(
-                "CREATE TABLE IF NOT EXISTS solutions (" +
-                "solution_id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "complaint_id INT, " +
-                "topic VARCHAR(100), " +
-                "resolution TEXT, " +
-                "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                "FOREIGN KEY (complaint_id) REFERENCES complaints(complaint_id))"
-            );
-            System.out.println("✅ Solutions table created successfully!");
-        } catch (SQLException e) {
-            System.out.println("❌ Error creating tables: " + e.getMessage());
-        }
-    }
-    
-    // Simple ScriptRunner class to execute SQL scripts
-    private static class ScriptRunner {
-        private Connection connection;
-        private boolean stopOnError;
-        private boolean autoCommit;
-        
-        public ScriptRunner(Connection connection, boolean stopOnError, boolean autoCommit) {
-            this.connection = connection;
-            this.stopOnError = stopOnError;
-            this.autoCommit = autoCommit;
-        }
-        
-        public void runScript(BufferedReader reader) throws IOException, SQLException {
-            StringBuilder command = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // Skip comments and empty lines
-                if (line.trim().startsWith("--") || line.trim().isEmpty()) {
-                    continue;
-                }
-                
-                command.append(line);
-                
-                if (line.trim().endsWith(";")) {
-                    // Execute the command
-                    try (Statement statement = connection.createStatement()) {
-                        String sql = command.toString().trim();
-                        // Skip USE statements as we're already connected to the DB
-                        if (!sql.toUpperCase().startsWith("USE")) {
-                            statement.execute(sql);
-                        }
-                    } catch (SQLException e) {
-                        if (stopOnError) {
-                            throw e;
-                        } else {
-                            System.out.println("⚠️ Error executing: " + command + " : " + e.getMessage());
-                        }
-                    }
-                    
-                    command = new StringBuilder();
-                }
-            }
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.unifix.database;
+
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * The database engines DBConnection can talk to, chosen with db.backend in
+ * db_config.properties.
+ *
+ * MYSQL is the production server. H2 runs in-process in MySQL compatibility
+ * mode, so the application, the migrations and benchmarks can run on a
+ * machine with no database server; put the H2 jar (2.x) in lib/ to use it.
+ */
+public enum DatabaseBackend {
+    MYSQL("com.mysql.cj.jdbc.Driver", false),
+    H2("org.h2.Driver", true);
+
+    // Prepare on the server; the driver-side cache is off because PooledConnection
+    // keeps its own per-connection statement cache (see StatementCache).
+    // rewriteBatchedStatements lets executeBatch send many rows per round trip.
+    private static final String MYSQL_OPTIONS = "?useServerPrepStmts=true&cachePrepStmts=false&rewriteBatchedStatements=true";
+
+    // MySQL-style behaviour (ENUM, AUTO_INCREMENT, AFTER, backticks) and
+    // lower-case identifiers so metadata matches what MySQL reports
+    private static final String H2_OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE";
+
+    private final String driverClass;
+    private final boolean embedded;
+
+    DatabaseBackend(String driverClass, boolean embedded) {
+        this.driverClass = driverClass;
+        this.embedded = embedded;
+    }
+
+    public String getDriverClass() {
+        return driverClass;
+    }
+
+    /**
+     * True for in-process engines: there is no server to create the database on.
+     */
+    public boolean isEmbedded() {
+        return embedded;
+    }
+
+    public static DatabaseBackend fromProperties(Properties prop) {
+        String name = prop.getProperty("db.backend", "mysql").trim().toUpperCase(Locale.ROOT);
+        try {
+            return valueOf(name);
+        } catch (IllegalArgumentException e) {
+            System.out.println("⚠️ Unknown db.backend " + name + " (using mysql)");
+            return MYSQL;
+        }
+    }
+
+    /**
+     * Builds the JDBC URL for this backend from db_config.properties.
+     */
+    public String buildUrl(Properties prop) {
+        String dbName = prop.getProperty("db.name", "unifix_db");
+        switch (this) {
+            case H2:
+                // db.h2.path=mem keeps everything in memory for the life of the JVM
+                String path = prop.getProperty("db.h2.path", "./data/" + dbName).trim();
+                if (path.equals("mem")) {
+                    return "jdbc:h2:mem:" + dbName + ";DB_CLOSE_DELAY=-1" + H2_OPTIONS;
+                }
+                return "jdbc:h2:" + path + H2_OPTIONS;
+            case MYSQL:
+            default:
+                String host = prop.getProperty("db.host", "localhost");
+                String port = prop.getProperty("db.port", "3306");
+                return String.format("jdbc:mysql://%s:%s/%s%s", host, port, dbName, MYSQL_OPTIONS);
+        }
+    }
+}
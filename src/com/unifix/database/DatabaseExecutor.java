@@ -0,0 +1,164 @@
+package com.unifix.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs JDBC work off the Swing event thread.
+ *
+ * Work is queued on a small bounded pool of daemon threads, each task borrows
+ * a pooled connection for its duration, and the result comes back as a
+ * CompletableFuture. Use {@link #onEdt} to apply the result to the UI.
+ * Cancelling the future aborts the statement on the server if it is running.
+ */
+public final class DatabaseExecutor {
+
+    /**
+     * A unit of database work run with a borrowed connection.
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private DatabaseExecutor() {
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        Properties config = DBConnection.getConfig();
+        int threads = Math.max(1, PoolConfig.intValue(config, "db.executor.threads", 4));
+        int queueSize = Math.max(1, PoolConfig.intValue(config, "db.executor.queueSize", 256));
+        AtomicInteger counter = new AtomicInteger();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(queueSize),
+            r -> {
+                Thread t = new Thread(r, "unifix-db-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Queues work that needs a connection. The connection is returned to the
+     * pool when the work finishes, fails or is cancelled.
+     */
+    public static <T> CompletableFuture<T> submit(SqlWork<T> work) {
+        return submit(work, false);
+    }
+
+    /**
+     * Like {@link #submit} for work that only reads. It may run on a read
+     * replica (see {@link DBConnection#getReadConnection()}), so it must not write.
+     */
+    public static <T> CompletableFuture<T> submitRead(SqlWork<T> work) {
+        return submit(work, true);
+    }
+
+    private static <T> CompletableFuture<T> submit(SqlWork<T> work, boolean readOnly) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        AtomicReference<Connection> running = new AtomicReference<>();
+
+        // Abort the statement on the server if the caller gives up on it
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                PooledConnection.cancelRunning(running.get());
+            }
+        });
+
+        try {
+            EXECUTOR.execute(() -> {
+                if (future.isDone()) {
+                    return; // superseded before it started
+                }
+                try (Connection conn = readOnly ? DBConnection.getReadConnection() : DBConnection.getConnection()) {
+                    if (conn == null) {
+                        throw new SQLException("Unable to connect to database. Please check your database configuration.");
+                    }
+                    running.set(conn);
+                    T result = work.run(conn);
+                    running.set(null);
+                    future.complete(result);
+                } catch (Throwable e) {
+                    running.set(null);
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new SQLException("Too many database requests queued; please try again", e));
+        }
+        return future;
+    }
+
+    /**
+     * Delivers the outcome of a database future on the Swing event thread.
+     * Nothing is delivered if the future was cancelled (i.e. superseded).
+     */
+    public static <T> CompletableFuture<T> onEdt(CompletableFuture<T> future,
+                                                 Consumer<? super T> onSuccess,
+                                                 Consumer<? super Throwable> onError) {
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (error == null) {
+                    onSuccess.accept(result);
+                } else {
+                    Throwable cause = unwrap(error);
+                    if (!(cause instanceof CancellationException)) {
+                        onError.accept(cause);
+                    }
+                }
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Convenience for {@code onEdt(submit(work), onSuccess, onError)}.
+     */
+    public static <T> CompletableFuture<T> submitToEdt(SqlWork<T> work,
+                                                       Consumer<? super T> onSuccess,
+                                                       Consumer<? super Throwable> onError) {
+        return onEdt(submit(work), onSuccess, onError);
+    }
+
+    /**
+     * Convenience for {@code onEdt(submitRead(work), onSuccess, onError)}.
+     */
+    public static <T> CompletableFuture<T> submitReadToEdt(SqlWork<T> work,
+                                                           Consumer<? super T> onSuccess,
+                                                           Consumer<? super Throwable> onError) {
+        return onEdt(submitRead(work), onSuccess, onError);
+    }
+
+    /**
+     * Strips the CompletionException wrapper so dialogs show the real error.
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,186 @@
+package com.unifix.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Wraps a statement handed out by a pooled connection so that every
+ * execute call is timed and reported to {@link QueryMetrics}. Result sets
+ * are wrapped too, to count the rows the caller actually reads.
+ */
+class InstrumentedStatement implements InvocationHandler {
+    private final Statement target;
+    private final String preparedSql;
+    private String lastSql;
+    private String firstBatchSql;
+
+    private InstrumentedStatement(Statement target, String preparedSql) {
+        this.target = target;
+        this.preparedSql = preparedSql;
+    }
+
+    /**
+     * @param preparedSql the SQL of a prepared/callable statement, null for a plain Statement
+     */
+    static Statement wrap(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+            : statement instanceof PreparedStatement ? PreparedStatement.class
+            : Statement.class;
+        return (Statement) Proxy.newProxyInstance(
+            Statement.class.getClassLoader(),
+            new Class<?>[] { type },
+            new InstrumentedStatement(statement, preparedSql)
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Instrumented[" + target + "]";
+            case "addBatch":
+                if (firstBatchSql == null && args != null && args.length == 1) {
+                    firstBatchSql = (String) args[0];
+                }
+                break;
+            case "clearBatch":
+                firstBatchSql = null;
+                break;
+            case "getResultSet":
+                return wrapResultSet(invokeTarget(method, args), lastSql);
+            default:
+                break;
+        }
+
+        if (!name.startsWith("execute")) {
+            return invokeTarget(method, args);
+        }
+
+        String sql;
+        if (args != null && args.length > 0 && args[0] instanceof String) {
+            sql = (String) args[0];
+        } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+            sql = preparedSql != null ? preparedSql : firstBatchSql;
+            firstBatchSql = null;
+        } else {
+            sql = preparedSql;
+        }
+        lastSql = sql;
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invokeTarget(method, args);
+        } catch (Throwable e) {
+            QueryMetrics.record(sql, System.nanoTime() - start, 0, true);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (result instanceof ResultSet) {
+            QueryMetrics.record(sql, elapsed, -1, false);
+            return wrapResultSet(result, sql);
+        }
+        QueryMetrics.record(sql, elapsed, rowsOf(result), false);
+        return result;
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long rowsOf(Object result) {
+        if (result instanceof Integer || result instanceof Long) {
+            return ((Number) result).longValue();
+        }
+        long rows = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rows += Math.max(0, count);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                rows += Math.max(0, count);
+            }
+        }
+        return rows;
+    }
+
+    private static Object wrapResultSet(Object result, String sql) {
+        if (!(result instanceof ResultSet)) {
+            return result;
+        }
+        return Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] { ResultSet.class },
+            new RowCounter((ResultSet) result, sql)
+        );
+    }
+
+    /**
+     * Counts rows as next() advances and reports them once, at the end of
+     * the result or when it is closed.
+     */
+    private static final class RowCounter implements InvocationHandler {
+        private final ResultSet target;
+        private final String sql;
+        private long rows;
+        private boolean reported;
+
+        RowCounter(ResultSet target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    report();
+                    break;
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (method.getName().equals("next")) {
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else {
+                    report();
+                }
+            }
+            return result;
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                QueryMetrics.addRows(sql, rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.unifix.database;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-linear buckets: four buckets per
+ * power of two microseconds. Percentiles are reported as the bucket midpoint,
+ * within about 12% of the true value, and the whole histogram stays a fixed
+ * 256 counters.
+ */
+class LatencyHistogram {
+    private static final int BUCKETS = 256;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void record(long micros) {
+        counts.incrementAndGet(bucket(Math.max(0, micros)));
+    }
+
+    /**
+     * Latency in milliseconds at the given percentile (0-100), or 0 if empty.
+     */
+    double percentileMs(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return midpointMicros(i) / 1000.0;
+            }
+        }
+        return midpointMicros(BUCKETS - 1) / 1000.0;
+    }
+
+    static int bucket(long micros) {
+        if (micros < 4) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) ((micros >> (exponent - 2)) & 3);
+        return Math.min(BUCKETS - 1, 4 + (exponent - 2) * 4 + sub);
+    }
+
+    static double midpointMicros(int bucket) {
+        if (bucket < 4) {
+            return bucket;
+        }
+        int exponent = (bucket - 4) / 4 + 2;
+        int sub = (bucket - 4) % 4;
+        long lower = (4L + sub) << (exponent - 2);
+        long upper = ((5L + sub) << (exponent - 2)) - 1;
+        return (lower + upper) / 2.0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.unifix.database;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Runs queries for one view where only the newest request matters, such as a
+ * table refresh or a filter change. Submitting a new request cancels the one
+ * still in flight, so a slow stale result can never overwrite a newer one.
+ */
+public class LatestQuery {
+    private CompletableFuture<?> current;
+
+    public synchronized <T> CompletableFuture<T> submit(DatabaseExecutor.SqlWork<T> work,
+                                                        Consumer<? super T> onSuccess,
+                                                        Consumer<? super Throwable> onError) {
+        return track(DatabaseExecutor.submit(work), onSuccess, onError);
+    }
+
+    /**
+     * Same as {@link #submit} for read-only work that may run on a read replica.
+     */
+    public synchronized <T> CompletableFuture<T> submitRead(DatabaseExecutor.SqlWork<T> work,
+                                                            Consumer<? super T> onSuccess,
+                                                            Consumer<? super Throwable> onError) {
+        return track(DatabaseExecutor.submitRead(work), onSuccess, onError);
+    }
+
+    private <T> CompletableFuture<T> track(CompletableFuture<T> future,
+                                           Consumer<? super T> onSuccess,
+                                           Consumer<? super Throwable> onError) {
+        cancel();
+        current = future;
+        return DatabaseExecutor.onEdt(future, onSuccess, onError);
+    }
+
+    /**
+     * Cancels the request in flight, if any.
+     */
+    public synchronized void cancel() {
+        if (current != null && !current.isDone()) {
+            current.cancel(true);
+        }
+        current = null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.unifix.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A server-wide lock by name (MySQL GET_LOCK), for work that only one
+ * client at a time may do, such as a migration or an assignment cycle.
+ *
+ * The lock belongs to the connection: release it on the same connection
+ * before the connection goes back to the pool. An embedded database has a
+ * single process, so there every acquire succeeds.
+ * <pre>
+ * if (NamedLock.acquire(conn, "unifix_job", 0)) {
+ *     try { ... } finally { NamedLock.release(conn, "unifix_job"); }
+ * }
+ * </pre>
+ */
+public final class NamedLock {
+    private NamedLock() {
+    }
+
+    /**
+     * Takes the lock, waiting up to timeoutSeconds (0 to not wait).
+     *
+     * @return false if another connection holds it
+     */
+    public static boolean acquire(Connection conn, String name, int timeoutSeconds) throws SQLException {
+        if (DBConnection.getBackend().isEmbedded()) {
+            return true;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, name);
+            stmt.setInt(2, timeoutSeconds);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    public static void release(Connection conn, String name) throws SQLException {
+        if (DBConnection.getBackend().isEmbedded()) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, name);
+            stmt.executeQuery().close();
+        }
+    }
+}
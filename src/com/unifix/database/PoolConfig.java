@@ -0,0 +1,102 @@
+package com.unifix.database;
+
+import java.util.Properties;
+
+/**
+ * Connection pool settings read from db_config.properties.
+ * Every key is optional; the defaults suit a single desktop client.
+ */
+public class PoolConfig {
+    private int minSize = 2;
+    private int maxSize = 10;
+    private long borrowTimeoutMs = 5000;
+    private long idleTimeoutMs = 5 * 60 * 1000L;
+    private long maxLifetimeMs = 30 * 60 * 1000L;
+    private long validateAfterIdleMs = 5000;
+    private int validationTimeoutSec = 2;
+    private long housekeepingIntervalMs = 30 * 1000L;
+    private int statementCacheSize = 64;
+
+    public static PoolConfig fromProperties(Properties prop) {
+        PoolConfig config = new PoolConfig();
+        config.minSize = intValue(prop, "db.pool.minSize", config.minSize);
+        config.maxSize = intValue(prop, "db.pool.maxSize", config.maxSize);
+        config.borrowTimeoutMs = longValue(prop, "db.pool.borrowTimeoutMs", config.borrowTimeoutMs);
+        config.idleTimeoutMs = longValue(prop, "db.pool.idleTimeoutMs", config.idleTimeoutMs);
+        config.maxLifetimeMs = longValue(prop, "db.pool.maxLifetimeMs", config.maxLifetimeMs);
+        config.validateAfterIdleMs = longValue(prop, "db.pool.validateAfterIdleMs", config.validateAfterIdleMs);
+        config.validationTimeoutSec = intValue(prop, "db.pool.validationTimeoutSec", config.validationTimeoutSec);
+        config.housekeepingIntervalMs = longValue(prop, "db.pool.housekeepingIntervalMs", config.housekeepingIntervalMs);
+        config.statementCacheSize = intValue(prop, "db.pool.statementCacheSize", config.statementCacheSize);
+
+        // Keep the sizes sane even if the file is hand-edited badly
+        config.maxSize = Math.max(1, config.maxSize);
+        config.minSize = Math.max(0, Math.min(config.minSize, config.maxSize));
+        return config;
+    }
+
+    static int intValue(Properties prop, String key, int defaultValue) {
+        String value = prop.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.out.println("⚠️ Invalid value for " + key + ": " + value + " (using " + defaultValue + ")");
+            return defaultValue;
+        }
+    }
+
+    static long longValue(Properties prop, String key, long defaultValue) {
+        String value = prop.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            System.out.println("⚠️ Invalid value for " + key + ": " + value + " (using " + defaultValue + ")");
+            return defaultValue;
+        }
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getBorrowTimeoutMs() {
+        return borrowTimeoutMs;
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public long getMaxLifetimeMs() {
+        return maxLifetimeMs;
+    }
+
+    public long getValidateAfterIdleMs() {
+        return validateAfterIdleMs;
+    }
+
+    public int getValidationTimeoutSec() {
+        return validationTimeoutSec;
+    }
+
+    public long getHousekeepingIntervalMs() {
+        return housekeepingIntervalMs;
+    }
+
+    /**
+     * Prepared statements kept open per pooled connection; 0 disables caching.
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+}
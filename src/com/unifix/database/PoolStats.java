@@ -0,0 +1,94 @@
+package com.unifix.database;
+
+/**
+ * Point-in-time snapshot of the connection pool counters.
+ */
+public class PoolStats {
+    private final int total;
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowCount;
+    private final long timeoutCount;
+    private final long createdCount;
+    private final long destroyedCount;
+    private final double avgBorrowWaitMs;
+    private final double maxBorrowWaitMs;
+
+    PoolStats(int total, int active, int idle, int waiting, int minSize, int maxSize,
+              long borrowCount, long timeoutCount, long createdCount, long destroyedCount,
+              double avgBorrowWaitMs, double maxBorrowWaitMs) {
+        this.total = total;
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowCount = borrowCount;
+        this.timeoutCount = timeoutCount;
+        this.createdCount = createdCount;
+        this.destroyedCount = destroyedCount;
+        this.avgBorrowWaitMs = avgBorrowWaitMs;
+        this.maxBorrowWaitMs = maxBorrowWaitMs;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public long getDestroyedCount() {
+        return destroyedCount;
+    }
+
+    public double getAvgBorrowWaitMs() {
+        return avgBorrowWaitMs;
+    }
+
+    public double getMaxBorrowWaitMs() {
+        return maxBorrowWaitMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Pool[total=%d, active=%d, idle=%d, waiting=%d, min=%d, max=%d, borrows=%d, " +
+            "timeouts=%d, created=%d, destroyed=%d, avgWait=%.2fms, maxWait=%.2fms]",
+            total, active, idle, waiting, minSize, maxSize, borrowCount,
+            timeoutCount, createdCount, destroyedCount, avgBorrowWaitMs, maxBorrowWaitMs
+        );
+    }
+}
@@ -0,0 +1,337 @@
+package com.unifix.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A physical connection owned by {@link ConnectionPool}. Callers never see it
+ * directly; each borrow gets a fresh proxy whose close() hands the physical
+ * connection back to the pool instead of closing the socket.
+ */
+class PooledConnection {
+    private final ConnectionPool pool;
+    private final Connection raw;
+    private final long createdAt;
+    private final StatementCache statementCache;
+    private volatile long lastUsedAt;
+    private volatile boolean broken;
+
+    PooledConnection(ConnectionPool pool, Connection raw, int statementCacheSize) {
+        this.pool = pool;
+        this.raw = raw;
+        this.statementCache = statementCacheSize > 0 ? new StatementCache(statementCacheSize) : null;
+        this.createdAt = System.currentTimeMillis();
+        this.lastUsedAt = createdAt;
+    }
+
+    Connection getRaw() {
+        return raw;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    long getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    void touch() {
+        lastUsedAt = System.currentTimeMillis();
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    /**
+     * Creates the handle given to a caller for one borrow.
+     */
+    Connection newHandle() {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new Handle()
+        );
+    }
+
+    /**
+     * Asks the server to abort whatever the given borrowed connection is
+     * running. Used when a newer request supersedes a query still in flight.
+     */
+    static void cancelRunning(Connection handle) {
+        if (handle != null && Proxy.isProxyClass(handle.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(handle);
+            if (handler instanceof Handle) {
+                ((Handle) handler).cancelStatements();
+            }
+        }
+    }
+
+    /**
+     * Puts the physical connection back into a clean state before reuse.
+     * Returns false if the connection cannot be trusted any more.
+     */
+    boolean reset() {
+        if (broken) {
+            return false;
+        }
+        try {
+            if (!raw.getAutoCommit()) {
+                raw.rollback();
+                raw.setAutoCommit(true);
+            }
+            if (raw.isReadOnly()) {
+                raw.setReadOnly(false);
+            }
+            raw.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            System.out.println("⚠️ Discarding pooled connection that failed to reset: " + e.getMessage());
+            return false;
+        }
+    }
+
+    void closeQuietly() {
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+        try {
+            raw.close();
+        } catch (SQLException e) {
+            System.out.println("⚠️ Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    private static boolean isWrite(String sql) {
+        String s = sql.trim();
+        return s.regionMatches(true, 0, "INSERT", 0, 6) || s.regionMatches(true, 0, "UPDATE", 0, 6)
+            || s.regionMatches(true, 0, "DELETE", 0, 6) || s.regionMatches(true, 0, "REPLACE", 0, 7);
+    }
+
+    private class Handle implements InvocationHandler {
+        private boolean closed;
+        private boolean wrote;
+        // Statements opened through this handle; closed on release so that
+        // callers which forget to close them do not leak on the pooled socket
+        private final List<Statement> openStatements = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        closeStatements();
+                        if (wrote) {
+                            // Stamp again once the write is committed and visible
+                            pool.noteWrite();
+                        }
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + raw + (closed ? ", closed" : "") + "]";
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Connection has already been returned to the pool", "08003");
+            }
+
+            boolean writing = ((name.equals("prepareStatement") || name.equals("prepareCall")) && isWrite((String) args[0]))
+                || (name.equals("setAutoCommit") && Boolean.FALSE.equals(args[0]));
+            if (writing) {
+                noteWrite();
+            }
+
+            try {
+                Object result;
+                if (statementCache != null && name.equals("prepareStatement")) {
+                    result = prepareCached(args);
+                } else {
+                    result = method.invoke(raw, args);
+                }
+                if (result instanceof Statement) {
+                    openStatements.add((Statement) result);
+                    if (!writing) {
+                        // Not known to write from its SQL: createStatement(), or a write
+                        // the prefix check misses; watch what it executes instead
+                        result = WriteWatch.wrap(this, (Statement) result);
+                    }
+                    if (QueryMetrics.isEnabled()) {
+                        String sql = name.equals("createStatement") ? null : (String) args[0];
+                        result = InstrumentedStatement.wrap((Statement) result, sql);
+                    }
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    // SQLSTATE class 08 is "connection exception"
+                    if (state != null && state.startsWith("08")) {
+                        broken = true;
+                    }
+                }
+                throw cause;
+            }
+        }
+
+        /**
+         * Routes the prepareStatement overloads that are keyed purely by SQL
+         * text and cursor options through the statement cache.
+         */
+        private Object prepareCached(Object[] args) throws SQLException {
+            String sql = (String) args[0];
+            int type = ResultSet.TYPE_FORWARD_ONLY;
+            int concurrency = ResultSet.CONCUR_READ_ONLY;
+            int generatedKeys = Statement.NO_GENERATED_KEYS;
+
+            if (args.length == 2 && args[1] instanceof Integer) {
+                generatedKeys = (Integer) args[1];
+            } else if (args.length == 3) {
+                type = (Integer) args[1];
+                concurrency = (Integer) args[2];
+            } else if (args.length != 1) {
+                // Column-index / column-name / holdability variants are rare; skip the cache
+                if (args.length == 2 && args[1] instanceof int[]) {
+                    return raw.prepareStatement(sql, (int[]) args[1]);
+                }
+                if (args.length == 2 && args[1] instanceof String[]) {
+                    return raw.prepareStatement(sql, (String[]) args[1]);
+                }
+                return raw.prepareStatement(sql, (Integer) args[1], (Integer) args[2], (Integer) args[3]);
+            }
+
+            final int finalType = type;
+            final int finalConcurrency = concurrency;
+            final int finalGeneratedKeys = generatedKeys;
+            String key = StatementCache.key(sql, type, concurrency, generatedKeys);
+            return statementCache.get(key, () -> {
+                if (finalGeneratedKeys != Statement.NO_GENERATED_KEYS) {
+                    return raw.prepareStatement(sql, finalGeneratedKeys);
+                }
+                return raw.prepareStatement(sql, finalType, finalConcurrency);
+            });
+        }
+
+        void noteWrite() {
+            wrote = true;
+            pool.noteWrite();
+        }
+
+        private void cancelStatements() {
+            List<Statement> running;
+            synchronized (openStatements) {
+                running = new ArrayList<>(openStatements);
+            }
+            for (Statement statement : running) {
+                try {
+                    statement.cancel();
+                } catch (SQLException e) {
+                    // Statement already finished or closed; nothing to cancel
+                }
+            }
+        }
+
+        private void closeStatements() {
+            List<Statement> statements;
+            synchronized (openStatements) {
+                statements = new ArrayList<>(openStatements);
+                openStatements.clear();
+            }
+            for (Statement statement : statements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    broken = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Wraps a statement so that running an update or a batch on it marks the
+     * borrow as having written, whatever SQL it was prepared with.
+     */
+    private static final class WriteWatch implements InvocationHandler {
+        private final Handle owner;
+        private final Statement target;
+
+        private WriteWatch(Handle owner, Statement target) {
+            this.owner = owner;
+            this.target = target;
+        }
+
+        static Statement wrap(Handle owner, Statement statement) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+            return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[] { type },
+                new WriteWatch(owner, statement)
+            );
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return target.toString();
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                case "executeBatch":
+                case "executeLargeBatch":
+                    owner.noteWrite();
+                    break;
+                case "execute":
+                    if (args != null && args.length > 0 && isWrite((String) args[0])) {
+                        owner.noteWrite();
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.unifix.database;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Per-query latency and row counts for everything run through pooled connections.
+ *
+ * Statements are grouped by fingerprint (literals replaced by '?') so
+ * "... WHERE user_id = 5" and "... WHERE user_id = 7" count as one query.
+ * Executions slower than db.metrics.slowQueryMs are appended to the slow
+ * query log together with the application method that issued them.
+ * At most 500 fingerprints are tracked; statements seen after that (e.g.
+ * SQL built with ever new literals the fingerprint misses) count as "(other)".
+ *
+ * Settings (db_config.properties, all optional):
+ * db.metrics.enabled (true), db.metrics.slowQueryMs (500),
+ * db.metrics.slowLogFile (logs/slow_queries.log), db.metrics.dumpFile
+ * (written on shutdown when set).
+ */
+public final class QueryMetrics {
+    private static final int MAX_FINGERPRINTS = 2000;
+    private static final int MAX_ENTRIES = 500;
+    private static final String OTHER = "(other)";
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+    // Fingerprinting is a char scan; cache it per distinct SQL string
+    private static final Map<String, String> FINGERPRINTS = new ConcurrentHashMap<>();
+
+    private static volatile boolean loaded;
+    private static boolean enabled = true;
+    private static long slowQueryMs = 500;
+    private static String slowLogFile = "logs/slow_queries.log";
+    private static String dumpFile;
+
+    private QueryMetrics() {
+    }
+
+    private static void loadConfiguration() {
+        if (loaded) {
+            return;
+        }
+        synchronized (QueryMetrics.class) {
+            if (!loaded) {
+                Properties config = DBConnection.getConfig();
+                enabled = !"false".equalsIgnoreCase(config.getProperty("db.metrics.enabled", "true").trim());
+                slowQueryMs = PoolConfig.longValue(config, "db.metrics.slowQueryMs", slowQueryMs);
+                slowLogFile = config.getProperty("db.metrics.slowLogFile", slowLogFile).trim();
+                dumpFile = config.getProperty("db.metrics.dumpFile");
+                loaded = true;
+            }
+        }
+    }
+
+    public static boolean isEnabled() {
+        loadConfiguration();
+        return enabled;
+    }
+
+    /**
+     * Normalises SQL text so executions that differ only in literal values group together.
+     */
+    public static String fingerprint(String sql) {
+        if (sql == null) {
+            return "(unknown)";
+        }
+        String cached = FINGERPRINTS.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+
+        StringBuilder out = new StringBuilder(sql.length());
+        int n = sql.length();
+        boolean space = false;
+        for (int i = 0; i < n; i++) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                // String literal: skip to the closing quote
+                int j = i + 1;
+                while (j < n) {
+                    char d = sql.charAt(j);
+                    if (d == '\\') {
+                        j += 2;
+                        continue;
+                    }
+                    if (d == c) {
+                        if (j + 1 < n && sql.charAt(j + 1) == c) {
+                            j += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    j++;
+                }
+                appendToken(out, "?", space);
+                space = false;
+                i = j;
+            } else if (Character.isDigit(c) && (out.length() == 0 || !isIdentifierChar(out.charAt(out.length() - 1)) || space)) {
+                int j = i;
+                while (j + 1 < n && (Character.isLetterOrDigit(sql.charAt(j + 1)) || sql.charAt(j + 1) == '.')) {
+                    j++;
+                }
+                appendToken(out, "?", space);
+                space = false;
+                i = j;
+            } else if (Character.isWhitespace(c)) {
+                space = out.length() > 0;
+            } else {
+                appendToken(out, String.valueOf(c), space);
+                space = false;
+            }
+        }
+        String result = IN_LIST.matcher(out).replaceAll("(?+)");
+
+        if (FINGERPRINTS.size() >= MAX_FINGERPRINTS) {
+            FINGERPRINTS.clear();
+        }
+        FINGERPRINTS.put(sql, result);
+        return result;
+    }
+
+    private static void appendToken(StringBuilder out, String token, boolean space) {
+        if (space) {
+            out.append(' ');
+        }
+        out.append(token);
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    /**
+     * Records one execution. rows is -1 when not known yet (queries count
+     * their rows as the result set is read, see {@link #addRows}).
+     */
+    static void record(String sql, long elapsedNanos, long rows, boolean failed) {
+        loadConfiguration();
+        String fingerprint = fingerprint(sql);
+        Entry entry = ENTRIES.get(fingerprint);
+        if (entry == null) {
+            // Size check and insert are not atomic; concurrent first calls may add a few past the cap
+            entry = ENTRIES.computeIfAbsent(ENTRIES.size() < MAX_ENTRIES ? fingerprint : OTHER, Entry::new);
+        }
+        long micros = elapsedNanos / 1000;
+        entry.calls.incrementAndGet();
+        entry.totalMicros.addAndGet(micros);
+        entry.maxMicros.accumulateAndGet(micros, Math::max);
+        entry.histogram.record(micros);
+        if (rows > 0) {
+            entry.rows.addAndGet(rows);
+        }
+        if (failed) {
+            entry.errors.incrementAndGet();
+        }
+
+        long elapsedMs = elapsedNanos / 1_000_000;
+        if (elapsedMs >= slowQueryMs) {
+            logSlowQuery(sql, elapsedMs, findCaller());
+        }
+    }
+
+    static void addRows(String sql, long rows) {
+        if (rows > 0) {
+            Entry entry = ENTRIES.get(fingerprint(sql));
+            if (entry == null) {
+                entry = ENTRIES.get(OTHER);
+            }
+            if (entry != null) {
+                entry.rows.addAndGet(rows);
+            }
+        }
+    }
+
+    /**
+     * The first stack frame outside the database layer, the JDK and the driver,
+     * e.g. "AdminDashboard.fetchAvgResolutionTime". A lambda is named after
+     * the method that declares it.
+     */
+    private static String findCaller() {
+        Optional<String> caller = StackWalker.getInstance().walk(frames -> frames
+            .filter(f -> !isInfrastructure(f.getClassName()))
+            .findFirst()
+            .map(f -> {
+                String cls = f.getClassName();
+                return cls.substring(cls.lastIndexOf('.') + 1) + "." + enclosingMethod(f.getMethodName())
+                       + ":" + f.getLineNumber();
+            }));
+        return caller.orElse("(unknown)");
+    }
+
+    // javac names a lambda body "lambda$<enclosing method>$<n>"
+    private static String enclosingMethod(String methodName) {
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', "lambda$".length());
+            if (end > 0) {
+                return methodName.substring("lambda$".length(), end);
+            }
+        }
+        return methodName;
+    }
+
+    private static boolean isInfrastructure(String className) {
+        return className.startsWith("com.unifix.database.")
+            || className.startsWith("java.")
+            || className.startsWith("javax.")
+            || className.startsWith("jdk.")
+            || className.startsWith("sun.")
+            || className.startsWith("com.sun.proxy.")
+            || className.startsWith("com.mysql.");
+    }
+
+    private static synchronized void logSlowQuery(String sql, long elapsedMs, String caller) {
+        String line = String.format("%s  %6d ms  %-45s  %s",
+            new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date()), elapsedMs, caller,
+            sql.replaceAll("\\s+", " "));
+        System.out.println("⚠️ Slow query (" + elapsedMs + " ms) from " + caller);
+        if (slowLogFile.isEmpty()) {
+            return;
+        }
+        try {
+            Path path = Paths.get(slowLogFile);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (Writer writer = new FileWriter(path.toFile(), true)) {
+                writer.write(line);
+                writer.write(System.lineSeparator());
+            }
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not write slow query log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Current counters for every fingerprint, most total time first.
+     */
+    public static List<QueryStats> snapshot() {
+        List<QueryStats> result = new ArrayList<>();
+        for (Entry entry : ENTRIES.values()) {
+            result.add(entry.toStats());
+        }
+        result.sort(Comparator.comparingDouble(QueryStats::getTotalMs).reversed());
+        return result;
+    }
+
+    public static void reset() {
+        ENTRIES.clear();
+    }
+
+    public static long getSlowQueryMs() {
+        loadConfiguration();
+        return slowQueryMs;
+    }
+
+    /**
+     * Writes the current metrics as a text report.
+     */
+    public static void dump(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path))) {
+            out.println("UniFix query metrics - " + new Date());
+            out.println(DBConnection.getPoolStats());
+            out.println(DBConnection.getStatementCacheStats());
+            out.println();
+            for (QueryStats stats : snapshot()) {
+                out.println(stats);
+            }
+        }
+    }
+
+    /**
+     * Dumps to db.metrics.dumpFile if configured; called on shutdown.
+     */
+    static void dumpIfConfigured() {
+        loadConfiguration();
+        if (dumpFile == null || dumpFile.trim().isEmpty() || ENTRIES.isEmpty()) {
+            return;
+        }
+        try {
+            dump(Paths.get(dumpFile.trim()));
+            System.out.println("✅ Query metrics written to " + dumpFile.trim());
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not write query metrics: " + e.getMessage());
+        }
+    }
+
+    private static final class Entry {
+        final String fingerprint;
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong rows = new AtomicLong();
+        final AtomicLong totalMicros = new AtomicLong();
+        final AtomicLong maxMicros = new AtomicLong();
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        QueryStats toStats() {
+            return new QueryStats(fingerprint, calls.get(), errors.get(), rows.get(),
+                totalMicros.get() / 1000.0, maxMicros.get() / 1000.0,
+                histogram.percentileMs(50), histogram.percentileMs(95), histogram.percentileMs(99));
+        }
+    }
+}
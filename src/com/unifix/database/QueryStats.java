@@ -0,0 +1,79 @@
+package com.unifix.database;
+
+/**
+ * Point-in-time counters for one SQL fingerprint (the statement text with
+ * literals replaced by '?').
+ */
+public class QueryStats {
+    private final String fingerprint;
+    private final long calls;
+    private final long errors;
+    private final long rows;
+    private final double totalMs;
+    private final double maxMs;
+    private final double p50Ms;
+    private final double p95Ms;
+    private final double p99Ms;
+
+    QueryStats(String fingerprint, long calls, long errors, long rows, double totalMs, double maxMs,
+               double p50Ms, double p95Ms, double p99Ms) {
+        this.fingerprint = fingerprint;
+        this.calls = calls;
+        this.errors = errors;
+        this.rows = rows;
+        this.totalMs = totalMs;
+        this.maxMs = maxMs;
+        this.p50Ms = p50Ms;
+        this.p95Ms = p95Ms;
+        this.p99Ms = p99Ms;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Rows read from result sets plus rows reported changed by updates.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public double getTotalMs() {
+        return totalMs;
+    }
+
+    public double getMeanMs() {
+        return calls == 0 ? 0 : totalMs / calls;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public double getP50Ms() {
+        return p50Ms;
+    }
+
+    public double getP95Ms() {
+        return p95Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("calls=%d rows=%d errors=%d total=%.1fms mean=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms  %s",
+            calls, rows, errors, totalMs, getMeanMs(), p50Ms, p95Ms, p99Ms, maxMs, fingerprint);
+    }
+}
@@ -0,0 +1,210 @@
+package com.unifix.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only work to MySQL read replicas, round-robin, and everything
+ * else to the primary.
+ *
+ * A background check reads each replica's replication lag; a replica that
+ * is unreachable, not replicating or further behind than
+ * db.replica.maxLagSeconds is skipped until it catches up. After this client
+ * writes to the primary, reads stay on the primary until the replicas have
+ * had time to apply the write, so a student sees the complaint they just
+ * submitted (read-your-writes).
+ *
+ * Settings (db_config.properties):
+ * db.replicas=host1:3306,host2:3306 (none by default), db.replica.user and
+ * db.replica.password (default: the primary's), db.replica.maxLagSeconds (5),
+ * db.replica.readYourWritesMs (5000), db.replica.lagCheckIntervalMs (5000).
+ */
+class ReplicaRouter {
+    private final ConnectionPool primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final long maxLagMs;
+    private final long readYourWritesMs;
+    private final ScheduledExecutorService lagChecker;
+
+    ReplicaRouter(ConnectionPool primary, DatabaseBackend backend, Properties config,
+                  String user, String password, PoolConfig poolConfig) {
+        this.primary = primary;
+        this.maxLagMs = PoolConfig.longValue(config, "db.replica.maxLagSeconds", 5) * 1000;
+        this.readYourWritesMs = PoolConfig.longValue(config, "db.replica.readYourWritesMs", 5000);
+        long interval = Math.max(500, PoolConfig.longValue(config, "db.replica.lagCheckIntervalMs", 5000));
+
+        String endpoints = config.getProperty("db.replicas", "").trim();
+        if (!endpoints.isEmpty() && backend.isEmbedded()) {
+            System.out.println("⚠️ db.replicas is ignored for the embedded " + backend + " backend");
+        } else if (!endpoints.isEmpty()) {
+            String replicaUser = config.getProperty("db.replica.user", user);
+            String replicaPassword = config.getProperty("db.replica.password", password);
+            for (String endpoint : endpoints.split(",")) {
+                endpoint = endpoint.trim();
+                if (endpoint.isEmpty()) {
+                    continue;
+                }
+                Properties replicaConfig = new Properties();
+                replicaConfig.putAll(config);
+                int colon = endpoint.lastIndexOf(':');
+                replicaConfig.setProperty("db.host", colon < 0 ? endpoint : endpoint.substring(0, colon));
+                replicaConfig.setProperty("db.port", colon < 0 ? "3306" : endpoint.substring(colon + 1));
+                ConnectionPool pool = new ConnectionPool("replica-" + endpoint, backend.buildUrl(replicaConfig),
+                    replicaUser, replicaPassword, poolConfig);
+                replicas.add(new Replica(endpoint, pool));
+            }
+        }
+
+        if (replicas.isEmpty()) {
+            lagChecker = null;
+            return;
+        }
+        lagChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "unifix-replica-lag");
+            t.setDaemon(true);
+            return t;
+        });
+        // First check right away so replicas are only used once known to be in sync
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    /**
+     * A connection for read-only work: a healthy replica if one is usable,
+     * otherwise the primary.
+     */
+    Connection getReadConnection() throws SQLException {
+        if (replicas.isEmpty()) {
+            return primary.getConnection();
+        }
+        long lastWrite = primary.getLastWriteAt();
+        long sinceWrite = lastWrite == 0 ? Long.MAX_VALUE : System.currentTimeMillis() - lastWrite;
+        if (sinceWrite < readYourWritesMs) {
+            return primary.getConnection();
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            // The replica must be healthy and far enough behind our last write
+            if (!replica.healthy || replica.lagMs >= sinceWrite) {
+                continue;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    private void checkLag() {
+        for (Replica replica : replicas) {
+            try (Connection conn = replica.pool.getConnection()) {
+                long lagMs = readLagMs(conn);
+                if (lagMs < 0) {
+                    replica.markDown("replication is not running");
+                } else if (lagMs > maxLagMs) {
+                    replica.markDown("lagging " + lagMs / 1000 + "s behind the primary");
+                } else {
+                    replica.markUp(lagMs);
+                }
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Seconds_Behind_Source in ms; -1 when replication is stopped, 0 when the
+     * server is not a replica at all (e.g. pointed at the primary in testing).
+     */
+    private static long readLagMs(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            ResultSet rs;
+            try {
+                rs = stmt.executeQuery("SHOW REPLICA STATUS");
+            } catch (SQLException e) {
+                // MySQL before 8.0.22
+                rs = stmt.executeQuery("SHOW SLAVE STATUS");
+            }
+            try (ResultSet status = rs) {
+                if (!status.next()) {
+                    return 0;
+                }
+                ResultSetMetaData meta = status.getMetaData();
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    String column = meta.getColumnLabel(i);
+                    if (column.equals("Seconds_Behind_Source") || column.equals("Seconds_Behind_Master")) {
+                        long seconds = status.getLong(i);
+                        return status.wasNull() ? -1 : seconds * 1000;
+                    }
+                }
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * One line per replica for the DB Stats view.
+     */
+    List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        for (Replica replica : replicas) {
+            lines.add(replica.endpoint + ": " + (replica.healthy ? "up, lag " + replica.lagMs + " ms" : "down")
+                + ", " + replica.pool.getStats());
+        }
+        return lines;
+    }
+
+    void shutdown() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            replica.pool.shutdown();
+        }
+    }
+
+    private static final class Replica {
+        final String endpoint;
+        final ConnectionPool pool;
+        volatile boolean healthy;
+        volatile long lagMs;
+
+        Replica(String endpoint, ConnectionPool pool) {
+            this.endpoint = endpoint;
+            this.pool = pool;
+        }
+
+        void markUp(long lag) {
+            if (!healthy) {
+                System.out.println("✅ Read replica " + endpoint + " is in sync (lag " + lag + " ms)");
+            }
+            lagMs = lag;
+            healthy = true;
+        }
+
+        void markDown(String reason) {
+            if (healthy) {
+                System.out.println("⚠️ Read replica " + endpoint + " skipped: " + reason);
+            }
+            healthy = false;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.unifix.database;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cached view of which tables and columns exist in the connected schema.
+ *
+ * The schema is introspected once (one DatabaseMetaData.getColumns call for the
+ * whole catalog) and kept until {@link #invalidate()} is called after a
+ * migration, so screens no longer probe INFORMATION_SCHEMA on every click.
+ */
+public final class SchemaCapabilities {
+    private static volatile Map<String, Set<String>> tables;
+
+    private SchemaCapabilities() {
+    }
+
+    /**
+     * Introspects the schema now. Called at startup so the first screen
+     * does not pay for it; later calls reuse the cached result.
+     */
+    public static void load() {
+        snapshot();
+    }
+
+    /**
+     * Drops the cached schema so the next lookup re-reads it. Call after any DDL.
+     */
+    public static void invalidate() {
+        tables = null;
+    }
+
+    public static boolean hasTable(String table) {
+        return snapshot().containsKey(table.toLowerCase(Locale.ROOT));
+    }
+
+    public static boolean hasColumn(String table, String column) {
+        Set<String> columns = snapshot().get(table.toLowerCase(Locale.ROOT));
+        return columns != null && columns.contains(column.toLowerCase(Locale.ROOT));
+    }
+
+    public static boolean hasColumns(String table, String... columns) {
+        for (String column : columns) {
+            if (!hasColumn(table, column)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * complaints.image_path was added after the first release.
+     */
+    public static boolean hasComplaintImagePath() {
+        return hasColumn("complaints", "image_path");
+    }
+
+    /**
+     * users.register_no/address/phone were added for the student profile page.
+     */
+    public static boolean hasUserProfileColumns() {
+        return hasColumns("users", "register_no", "address", "phone");
+    }
+
+    private static Map<String, Set<String>> snapshot() {
+        Map<String, Set<String>> current = tables;
+        if (current != null) {
+            return current;
+        }
+        synchronized (SchemaCapabilities.class) {
+            if (tables == null) {
+                Map<String, Set<String>> loaded = introspect();
+                if (loaded == null) {
+                    // Database unreachable: report nothing and try again next time
+                    return Collections.emptyMap();
+                }
+                tables = loaded;
+            }
+            return tables;
+        }
+    }
+
+    private static Map<String, Set<String>> introspect() {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                return null;
+            }
+            Map<String, Set<String>> result = new HashMap<>();
+            DatabaseMetaData meta = conn.getMetaData();
+            try (ResultSet rs = meta.getColumns(conn.getCatalog(), null, "%", "%")) {
+                while (rs.next()) {
+                    String table = rs.getString("TABLE_NAME").toLowerCase(Locale.ROOT);
+                    String column = rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT);
+                    result.computeIfAbsent(table, t -> new HashSet<>()).add(column);
+                }
+            }
+            System.out.println("✅ Schema capabilities loaded for " + result.size() + " tables");
+            return Collections.unmodifiableMap(result);
+        } catch (SQLException e) {
+            System.out.println("❌ Error reading schema metadata: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.unifix.database;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Brings the schema up to date from the numbered scripts in sql/migrations.
+ *
+ * Scripts are named V&lt;n&gt;__&lt;description&gt;.sql and applied in order. Each applied
+ * version is recorded in schema_version with a checksum of its script, so an
+ * edited script is detected instead of silently diverging. When the schema is
+ * already current, startup costs a single query of the (small) version
+ * history, which also catches edited scripts and a lower-numbered script
+ * added after later ones were applied.
+ *
+ * Each script runs in a transaction together with its schema_version row.
+ * MySQL commits DDL implicitly, so for DDL scripts that only guarantees the
+ * version row is written after every statement succeeded; errors meaning
+ * "already exists" are skipped so databases created before this runner
+ * existed are adopted without changes.
+ *
+ * Clients starting together migrate one at a time: the first takes the
+ * unifix_migrate lock (MySQL GET_LOCK) and the others wait for it, then find
+ * the schema current. Seed inserts in the scripts are written to be re-runnable.
+ */
+public final class SchemaMigrator {
+    public static final String MIGRATIONS_DIR = "sql/migrations";
+
+    private static final String LOCK_NAME = "unifix_migrate";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    // Table/column/index already exists: MySQL error codes and their SQL states
+    private static final Set<Integer> ALREADY_APPLIED_CODES = Set.of(1050, 1060, 1061);
+    private static final Set<String> ALREADY_APPLIED_STATES = Set.of("42S01", "42S21", "42S11");
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Migrates the application database using a pooled connection.
+     *
+     * @return the number of migrations applied
+     */
+    public static int migrate() throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("Unable to connect to database. Please check your database configuration.");
+            }
+            return migrate(conn);
+        }
+    }
+
+    /**
+     * Migrates the database behind the given connection.
+     *
+     * @return the number of migrations applied
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        List<Migration> available = loadMigrations();
+        if (available.isEmpty()) {
+            System.out.println("⚠️ No migrations found in " + MIGRATIONS_DIR);
+            return 0;
+        }
+        int latest = available.get(available.size() - 1).version;
+
+        // Fast path: one round trip when nothing is pending
+        Map<Integer, Long> applied = appliedChecksums(conn);
+        if (applied != null) {
+            verifyChecksums(available, applied);
+            if (pending(available, applied) == 0) {
+                System.out.println("✅ Schema is up to date (version " + latest + ")");
+                return 0;
+            }
+        }
+
+        if (!NamedLock.acquire(conn, LOCK_NAME, LOCK_TIMEOUT_SECONDS)) {
+            throw new SQLException("Another client has been migrating the schema for over "
+                                   + LOCK_TIMEOUT_SECONDS + " seconds; try again when it finishes.");
+        }
+        try {
+            // Another client may have migrated while this one waited
+            applied = appliedChecksums(conn);
+            if (applied == null) {
+                createVersionTable(conn);
+                applied = new HashMap<>();
+            }
+            verifyChecksums(available, applied);
+            if (pending(available, applied) == 0) {
+                System.out.println("✅ Schema is up to date (version " + latest + ")");
+                return 0;
+            }
+            return applyPending(conn, available, applied, latest);
+        } finally {
+            NamedLock.release(conn, LOCK_NAME);
+        }
+    }
+
+    private static int pending(List<Migration> available, Map<Integer, Long> applied) {
+        int count = 0;
+        for (Migration migration : available) {
+            if (!applied.containsKey(migration.version)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int applyPending(Connection conn, List<Migration> available, Map<Integer, Long> applied,
+                                    int latest) throws SQLException {
+        int count = 0;
+        for (Migration migration : available) {
+            if (!applied.containsKey(migration.version)) {
+                apply(conn, migration);
+                count++;
+            }
+        }
+        SchemaCapabilities.invalidate();
+        System.out.println("✅ Applied " + count + " migration(s); schema is at version " + latest);
+        return count;
+    }
+
+    private static void createVersionTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS schema_version (" +
+                "version INT PRIMARY KEY, " +
+                "description VARCHAR(200) NOT NULL, " +
+                "checksum BIGINT NOT NULL, " +
+                "installed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "execution_ms INT NOT NULL)"
+            );
+        }
+    }
+
+    /**
+     * Checksum of every applied version, or null if schema_version does not
+     * exist yet.
+     */
+    private static Map<Integer, Long> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getLong("checksum"));
+            }
+        } catch (SQLException e) {
+            // 1146 / 42S02: table doesn't exist
+            if (e.getErrorCode() == 1146 || "42S02".equals(e.getSQLState())) {
+                return null;
+            }
+            throw e;
+        }
+        return applied;
+    }
+
+    private static void verifyChecksums(List<Migration> available, Map<Integer, Long> applied) throws SQLException {
+        for (Migration migration : available) {
+            Long recorded = applied.get(migration.version);
+            if (recorded != null && recorded != migration.checksum) {
+                throw new SQLException("Migration V" + migration.version + " (" + migration.fileName +
+                    ") was changed after it was applied. Add a new migration instead of editing it.");
+            }
+        }
+    }
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        System.out.println("⚙️ Applying migration V" + migration.version + ": " + migration.description);
+        long start = System.currentTimeMillis();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            new ScriptRunner(conn, true)
+                .ignoreErrors(ALREADY_APPLIED_CODES, ALREADY_APPLIED_STATES)
+                .runScript(new BufferedReader(new StringReader(migration.script)));
+
+            String sql = "INSERT INTO schema_version (version, description, checksum, execution_ms) " +
+                         "VALUES (?, ?, ?, ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, migration.version);
+                stmt.setString(2, migration.description);
+                stmt.setLong(3, migration.checksum);
+                stmt.setInt(4, (int) (System.currentTimeMillis() - start));
+                stmt.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException | IOException e) {
+            conn.rollback();
+            throw new SQLException("Migration V" + migration.version + " failed: " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static List<Migration> loadMigrations() throws SQLException {
+        List<Migration> migrations = new ArrayList<>();
+        File[] files = new File(MIGRATIONS_DIR).listFiles();
+        if (files == null) {
+            return migrations;
+        }
+        for (File file : files) {
+            Matcher m = FILE_NAME.matcher(file.getName());
+            if (!m.matches()) {
+                continue;
+            }
+            try {
+                String script = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+                migrations.add(new Migration(Integer.parseInt(m.group(1)), m.group(2).replace('_', ' '),
+                    file.getName(), script));
+            } catch (IOException e) {
+                throw new SQLException("Cannot read migration " + file + ": " + e.getMessage(), e);
+            }
+        }
+        migrations.sort(Comparator.comparingInt(mig -> mig.version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version == migrations.get(i - 1).version) {
+                throw new SQLException("Duplicate migration version V" + migrations.get(i).version);
+            }
+        }
+        return migrations;
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final String fileName;
+        final String script;
+        final long checksum;
+
+        Migration(int version, String description, String fileName, String script) {
+            this.version = version;
+            this.description = description;
+            this.fileName = fileName;
+            this.script = script;
+            this.checksum = checksum(script);
+        }
+
+        // Line endings are normalised so a CRLF/LF checkout does not look like an edit
+        private static long checksum(String script) {
+            CRC32 crc = new CRC32();
+            crc.update(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+            return crc.getValue();
+        }
+    }
+}
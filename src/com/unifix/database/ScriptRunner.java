@@ -0,0 +1,367 @@
+package com.unifix.database;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Executes a SQL script read as a stream, so large seed or restore files
+ * never have to fit in memory.
+ *
+ * The tokenizer understands quoted strings and identifiers, "--", "#" and
+ * block comments, and the mysql client's DELIMITER command. Consecutive
+ * INSERT/UPDATE/DELETE/REPLACE statements are sent with addBatch/executeBatch;
+ * with rewriteBatchedStatements=true on the URL the driver sends each batch
+ * in a few round trips instead of one per statement.
+ */
+public class ScriptRunner {
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final Connection connection;
+    private final boolean stopOnError;
+    private final Set<Integer> ignoredErrorCodes = new HashSet<>();
+    private final Set<String> ignoredSqlStates = new HashSet<>();
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private final List<String> batch = new ArrayList<>();
+    private Statement batchStatement;
+    private long statements;
+    private long batchedStatements;
+    private long batches;
+    private long errors;
+
+    public ScriptRunner(Connection connection, boolean stopOnError) {
+        this.connection = connection;
+        this.stopOnError = stopOnError;
+    }
+
+    /**
+     * Errors that mean "already done" (e.g. duplicate column) rather than failure.
+     * They are logged and skipped even when stopOnError is set.
+     */
+    public ScriptRunner ignoreErrors(Set<Integer> errorCodes, Set<String> sqlStates) {
+        ignoredErrorCodes.addAll(errorCodes);
+        ignoredSqlStates.addAll(sqlStates);
+        return this;
+    }
+
+    /**
+     * Maximum number of DML statements sent in one executeBatch call.
+     * 1 disables batching.
+     */
+    public ScriptRunner batchSize(int size) {
+        this.batchSize = Math.max(1, size);
+        return this;
+    }
+
+    public ScriptStats runScript(Reader reader) throws IOException, SQLException {
+        long start = System.nanoTime();
+        statements = batchedStatements = batches = errors = 0;
+
+        StatementReader tokenizer = new StatementReader(reader);
+        try {
+            String sql;
+            while ((sql = tokenizer.next()) != null) {
+                // Skip USE statements as we're already connected to the DB
+                if (startsWithKeyword(sql, "USE")) {
+                    continue;
+                }
+                statements++;
+                if (batchSize > 1 && isBatchable(sql)) {
+                    addToBatch(sql);
+                } else {
+                    flushBatch();
+                    execute(sql);
+                }
+            }
+            flushBatch();
+        } finally {
+            closeBatchStatement();
+        }
+        return new ScriptStats(statements, batchedStatements, batches, errors,
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static boolean isBatchable(String sql) {
+        return startsWithKeyword(sql, "INSERT") || startsWithKeyword(sql, "UPDATE")
+            || startsWithKeyword(sql, "DELETE") || startsWithKeyword(sql, "REPLACE");
+    }
+
+    private static boolean startsWithKeyword(String sql, String keyword) {
+        return sql.regionMatches(true, 0, keyword, 0, keyword.length())
+            && (sql.length() == keyword.length() || !Character.isLetterOrDigit(sql.charAt(keyword.length())));
+    }
+
+    private void addToBatch(String sql) throws SQLException {
+        if (batchStatement == null) {
+            batchStatement = connection.createStatement();
+        }
+        batchStatement.addBatch(sql);
+        batch.add(sql);
+        if (batch.size() >= batchSize) {
+            flushBatch();
+        }
+    }
+
+    private void flushBatch() throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> pending = new ArrayList<>(batch);
+        batch.clear();
+        batches++;
+        batchedStatements += pending.size();
+        try {
+            batchStatement.executeBatch();
+        } catch (BatchUpdateException e) {
+            // Re-run only the statements that did not succeed, one at a time,
+            // so the usual error policy (ignore / log / stop) applies to each
+            int[] counts = e.getUpdateCounts();
+            for (int i = 0; i < pending.size(); i++) {
+                boolean failedOrSkipped = counts == null || i >= counts.length
+                    || counts[i] == Statement.EXECUTE_FAILED;
+                if (failedOrSkipped) {
+                    execute(pending.get(i));
+                }
+            }
+        } finally {
+            batchStatement.clearBatch();
+        }
+    }
+
+    private void closeBatchStatement() {
+        if (batchStatement != null) {
+            try {
+                batchStatement.close();
+            } catch (SQLException e) {
+                System.out.println("⚠️ Error closing batch statement: " + e.getMessage());
+            }
+            batchStatement = null;
+        }
+        batch.clear();
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            if (ignoredErrorCodes.contains(e.getErrorCode()) || ignoredSqlStates.contains(e.getSQLState())) {
+                System.out.println("⚠️ Skipping, already applied: " + e.getMessage());
+            } else if (stopOnError) {
+                throw e;
+            } else {
+                errors++;
+                System.out.println("⚠️ Error executing: " + abbreviate(sql) + " : " + e.getMessage());
+            }
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= 200 ? sql : sql.substring(0, 200) + "...";
+    }
+
+    /**
+     * Splits a character stream into statements without loading it whole.
+     * Comments are dropped except MySQL executable comments, which are kept.
+     */
+    static class StatementReader {
+        private final Reader in;
+        private final char[] buf = new char[8192];
+        private int pos;
+        private int len;
+        private String delimiter = ";";
+
+        StatementReader(Reader reader) {
+            this.in = reader instanceof BufferedReader ? reader : new BufferedReader(reader, 65536);
+        }
+
+        /**
+         * Returns the next statement without its delimiter, or null at end of input.
+         */
+        String next() throws IOException {
+            StringBuilder sql = new StringBuilder();
+            while (true) {
+                int c = read();
+                if (c < 0) {
+                    String last = sql.toString().trim();
+                    return last.isEmpty() ? null : last;
+                }
+                char ch = (char) c;
+
+                // DELIMITER is a client command and only valid between statements
+                if (isBlank(sql) && (ch == 'D' || ch == 'd') && lookingAt("ELIMITER", 0)
+                        && isWhitespace(peek(8))) {
+                    skip(8);
+                    delimiter = readLine().trim();
+                    if (delimiter.isEmpty()) {
+                        throw new IOException("DELIMITER command without a delimiter");
+                    }
+                    sql.setLength(0);
+                    continue;
+                }
+
+                if (ch == delimiter.charAt(0) && lookingAt(delimiter, 1)) {
+                    skip(delimiter.length() - 1);
+                    String statement = sql.toString().trim();
+                    if (!statement.isEmpty()) {
+                        return statement;
+                    }
+                    sql.setLength(0);
+                    continue;
+                }
+
+                switch (ch) {
+                    case '\'':
+                    case '"':
+                    case '`':
+                        sql.append(ch);
+                        copyQuoted(ch, sql);
+                        break;
+                    case '-':
+                        if (peek(0) == '-' && (isWhitespace(peek(1)) || peek(1) < 0)) {
+                            readLine();
+                            sql.append('\n');
+                        } else {
+                            sql.append(ch);
+                        }
+                        break;
+                    case '#':
+                        readLine();
+                        sql.append('\n');
+                        break;
+                    case '/':
+                        if (peek(0) == '*') {
+                            if (peek(1) == '!') {
+                                // MySQL executable comment: part of the statement
+                                sql.append(ch);
+                                copyBlockComment(sql);
+                            } else {
+                                copyBlockComment(null);
+                                sql.append(' ');
+                            }
+                        } else {
+                            sql.append(ch);
+                        }
+                        break;
+                    default:
+                        sql.append(ch);
+                        break;
+                }
+            }
+        }
+
+        private void copyQuoted(char quote, StringBuilder sql) throws IOException {
+            int c;
+            while ((c = read()) >= 0) {
+                sql.append((char) c);
+                if (c == '\\' && quote != '`') {
+                    int escaped = read();
+                    if (escaped >= 0) {
+                        sql.append((char) escaped);
+                    }
+                } else if (c == quote) {
+                    if (peek(0) == quote) {
+                        sql.append((char) read()); // doubled quote
+                    } else {
+                        return;
+                    }
+                }
+            }
+            throw new IOException("Unterminated " + quote + " quoted text in script");
+        }
+
+        // Consumes "* ... */" (the '/' was already read); appends it to sql if not null
+        private void copyBlockComment(StringBuilder sql) throws IOException {
+            int prev = -1;
+            int c;
+            while ((c = read()) >= 0) {
+                if (sql != null) {
+                    sql.append((char) c);
+                }
+                if (prev == '*' && c == '/') {
+                    return;
+                }
+                prev = c;
+            }
+            throw new IOException("Unterminated /* comment in script");
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = read()) >= 0 && c != '\n') {
+                line.append((char) c);
+            }
+            return line.toString();
+        }
+
+        private boolean lookingAt(String text, int from) throws IOException {
+            for (int i = from; i < text.length(); i++) {
+                int c = peek(i - from);
+                if (c < 0 || Character.toUpperCase((char) c) != Character.toUpperCase(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isBlank(StringBuilder sql) {
+            for (int i = 0; i < sql.length(); i++) {
+                if (!Character.isWhitespace(sql.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isWhitespace(int c) {
+            return c >= 0 && Character.isWhitespace((char) c);
+        }
+
+        private int read() throws IOException {
+            if (pos >= len && !fill(1)) {
+                return -1;
+            }
+            return buf[pos++];
+        }
+
+        private int peek(int ahead) throws IOException {
+            if (pos + ahead >= len && !fill(ahead + 1)) {
+                return -1;
+            }
+            return buf[pos + ahead];
+        }
+
+        private void skip(int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                read();
+            }
+        }
+
+        // Ensures at least 'needed' unread chars are buffered; false at end of input
+        private boolean fill(int needed) throws IOException {
+            if (pos > 0) {
+                System.arraycopy(buf, pos, buf, 0, len - pos);
+                len -= pos;
+                pos = 0;
+            }
+            while (len < needed) {
+                int n = in.read(buf, len, buf.length - len);
+                if (n < 0) {
+                    return false;
+                }
+                len += n;
+            }
+            return true;
+        }
+    }
+}
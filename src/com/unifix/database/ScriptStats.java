@@ -0,0 +1,56 @@
+package com.unifix.database;
+
+/**
+ * Counters for one {@link ScriptRunner#runScript} call.
+ */
+public class ScriptStats {
+    private final long statements;
+    private final long batchedStatements;
+    private final long batches;
+    private final long errors;
+    private final long elapsedMs;
+
+    ScriptStats(long statements, long batchedStatements, long batches, long errors, long elapsedMs) {
+        this.statements = statements;
+        this.batchedStatements = batchedStatements;
+        this.batches = batches;
+        this.errors = errors;
+        this.elapsedMs = elapsedMs;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    /**
+     * Statements sent through executeBatch rather than one at a time.
+     */
+    public long getBatchedStatements() {
+        return batchedStatements;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * Statements that failed and were skipped (only when not stopping on error).
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public double getStatementsPerSecond() {
+        return elapsedMs == 0 ? statements * 1000.0 : statements * 1000.0 / elapsedMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ScriptStats[statements=%d, batched=%d in %d batches, errors=%d, elapsed=%dms, %.0f stmt/s]",
+            statements, batchedStatements, batches, errors, elapsedMs, getStatementsPerSecond());
+    }
+}
@@ -0,0 +1,245 @@
+package com.unifix.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL
+ * text. Combined with useServerPrepStmts=true this means a statement is parsed
+ * and prepared on the server once per pooled connection instead of per click.
+ *
+ * Callers use the statements exactly as before; close() on a cached statement
+ * only clears its parameters and settings and puts it back in the cache. A
+ * statement given a cursor name or closeOnCompletion() cannot be reset, so
+ * close() really closes it and the next use prepares it again.
+ */
+class StatementCache {
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+    private static final AtomicLong BYPASSES = new AtomicLong();
+
+    /**
+     * Opens a real statement on the physical connection on a cache miss.
+     */
+    interface Preparer {
+        PreparedStatement prepare() throws SQLException;
+    }
+
+    private final int maxSize;
+    private final Map<String, Entry> entries;
+
+    StatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    static String key(String sql, int resultSetType, int concurrency, int autoGeneratedKeys) {
+        return resultSetType + "/" + concurrency + "/" + autoGeneratedKeys + "/" + sql;
+    }
+
+    /**
+     * Returns a statement for the given key, preparing one only on a miss.
+     */
+    synchronized PreparedStatement get(String key, Preparer preparer) throws SQLException {
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.inUse) {
+            HITS.incrementAndGet();
+            entry.inUse = true;
+            return entry.newHandle();
+        }
+        if (entry != null) {
+            // Same SQL already open in this borrow (e.g. nested loop); use a one-off statement
+            BYPASSES.incrementAndGet();
+            return preparer.prepare();
+        }
+
+        MISSES.incrementAndGet();
+        entry = new Entry(key, preparer.prepare());
+        entry.inUse = true;
+        entries.put(key, entry);
+        evictOverflow();
+        return entry.newHandle();
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            EVICTIONS.incrementAndGet();
+            if (eldest.inUse) {
+                eldest.evicted = true;
+            } else {
+                eldest.closeQuietly();
+            }
+        }
+    }
+
+    private synchronized void giveBack(Entry entry) {
+        entry.inUse = false;
+        if (entry.evicted) {
+            entry.closeQuietly();
+        }
+    }
+
+    /**
+     * Closes every cached statement; used when the physical connection goes away.
+     */
+    synchronized void clear() {
+        List<Entry> all = new ArrayList<>(entries.values());
+        entries.clear();
+        for (Entry entry : all) {
+            entry.closeQuietly();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    static StatementCacheStats getStats() {
+        return new StatementCacheStats(HITS.get(), MISSES.get(), EVICTIONS.get(), BYPASSES.get());
+    }
+
+    private class Entry {
+        private final String key;
+        private final PreparedStatement raw;
+        private boolean inUse;
+        private boolean evicted;
+
+        Entry(String key, PreparedStatement raw) {
+            this.key = key;
+            this.raw = raw;
+        }
+
+        PreparedStatement newHandle() {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                new Handle(this)
+            );
+        }
+
+        void closeQuietly() {
+            try {
+                raw.close();
+            } catch (SQLException e) {
+                System.out.println("⚠️ Error closing cached statement: " + e.getMessage());
+            }
+        }
+    }
+
+    private class Handle implements InvocationHandler {
+        private final Entry entry;
+        private final List<ResultSet> openResults = new ArrayList<>();
+        private boolean closed;
+        private boolean settingsChanged;
+        private boolean unresettable;
+
+        Handle(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || entry.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + entry.key + "]";
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                case "setFetchSize":
+                case "setFetchDirection":
+                case "setQueryTimeout":
+                case "setMaxFieldSize":
+                case "setEscapeProcessing":
+                case "setPoolable":
+                    settingsChanged = true;
+                    break;
+                case "setCursorName":
+                case "closeOnCompletion":
+                    unresettable = true;
+                    break;
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+
+            try {
+                Object result = method.invoke(entry.raw, args);
+                if (result instanceof ResultSet) {
+                    openResults.add((ResultSet) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Leaves the statement as a fresh prepare would, then returns it to the cache.
+         */
+        private void release() {
+            if (unresettable) {
+                discard();
+                return;
+            }
+            try {
+                for (ResultSet rs : openResults) {
+                    rs.close();
+                }
+                openResults.clear();
+                entry.raw.clearParameters();
+                entry.raw.clearBatch();
+                entry.raw.clearWarnings();
+                if (settingsChanged) {
+                    entry.raw.setMaxRows(0);
+                    entry.raw.setFetchSize(0);
+                    entry.raw.setQueryTimeout(0);
+                    entry.raw.setMaxFieldSize(0);
+                    entry.raw.setFetchDirection(ResultSet.FETCH_FORWARD);
+                    entry.raw.setEscapeProcessing(true);
+                    entry.raw.setPoolable(true);
+                }
+                giveBack(entry);
+            } catch (SQLException e) {
+                // Do not hand a half-reset statement to the next caller
+                discard();
+            }
+        }
+
+        private void discard() {
+            synchronized (StatementCache.this) {
+                entries.remove(entry.key, entry);
+            }
+            entry.closeQuietly();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.unifix.database;
+
+/**
+ * Point-in-time snapshot of the prepared statement cache counters,
+ * summed over every pooled connection.
+ */
+public class StatementCacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long bypasses;
+
+    StatementCacheStats(long hits, long misses, long evictions, long bypasses) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.bypasses = bypasses;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Prepares that skipped the cache because the same SQL was already in use.
+     */
+    public long getBypasses() {
+        return bypasses;
+    }
+
+    public double getHitRatio() {
+        long lookups = hits + misses + bypasses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StatementCache[hits=%d, misses=%d, evictions=%d, bypasses=%d, hitRatio=%.1f%%]",
+            hits, misses, evictions, bypasses, getHitRatio() * 100);
+    }
+}
@@ -0,0 +1,73 @@
+package com.unifix.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Reads large results row by row instead of buffering them. The statement
+ * is forward-only and read-only; on MySQL its fetch size is
+ * Integer.MIN_VALUE, which makes Connector/J stream rows off the socket as
+ * they are read, and elsewhere rows are fetched FETCH_SIZE at a time.
+ *
+ * While a MySQL result streams, the connection cannot run any other
+ * statement, so handlers must not use it. Rows should be handled quickly:
+ * the server holds the result open until the last row is read.
+ */
+public final class StreamingReader {
+    public static final int FETCH_SIZE = 1000;
+
+    /**
+     * Receives one row; the result set is positioned on it and must not be moved.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        void accept(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Turns the current row into a value.
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private StreamingReader() {
+    }
+
+    /**
+     * Runs the query and passes each row to the handler as it arrives.
+     *
+     * @return the number of rows read
+     */
+    public static long forEach(Connection conn, String sql, List<?> params, RowHandler handler) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DBConnection.getBackend() == DatabaseBackend.MYSQL ? Integer.MIN_VALUE : FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            long rows = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.accept(rs);
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Runs the query and keeps every mapped row in a {@link ChunkedBuffer},
+     * for callers that need the rows afterwards but not the driver's copy of them.
+     */
+    public static <T> ChunkedBuffer<T> collect(Connection conn, String sql, List<?> params,
+                                               RowMapper<T> mapper) throws SQLException {
+        ChunkedBuffer<T> rows = new ChunkedBuffer<>();
+        forEach(conn, sql, params, rs -> rows.add(mapper.map(rs)));
+        return rows;
+    }
+}
@@ -0,0 +1,121 @@
+package com.unifix.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs several statements as one transaction: one commit (and one log
+ * flush) instead of one per statement, and no partial state if a step fails.
+ *
+ * If the transaction is chosen as a deadlock victim or times out waiting for
+ * a lock, it is rolled back and the whole work is run again, up to
+ * db.tx.maxRetries times (default 3) with a short randomised back-off. The
+ * work is therefore re-executed from the start and must not have side
+ * effects outside the database.
+ *
+ * <pre>
+ * DatabaseExecutor.submitToEdt(UnitOfWork.of(conn -&gt; { ...several updates... }), ok, error);
+ * </pre>
+ */
+public final class UnitOfWork {
+    private static final long BASE_BACKOFF_MS = 20;
+
+    private static volatile int maxRetries = -1;
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Wraps work so that it runs transactionally on whatever connection it is given.
+     */
+    public static <T> DatabaseExecutor.SqlWork<T> of(DatabaseExecutor.SqlWork<T> work) {
+        return conn -> run(conn, work);
+    }
+
+    /**
+     * Runs the work in a transaction on a pooled connection.
+     */
+    public static <T> T run(DatabaseExecutor.SqlWork<T> work) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("Unable to connect to database. Please check your database configuration.");
+            }
+            return run(conn, work);
+        }
+    }
+
+    /**
+     * Runs the work in a transaction on the given connection, committing on
+     * success, rolling back on failure and retrying deadlocks / lock-wait timeouts.
+     */
+    public static <T> T run(Connection conn, DatabaseExecutor.SqlWork<T> work) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        int retries = getMaxRetries();
+        try {
+            conn.setAutoCommit(false);
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    T result = work.run(conn);
+                    conn.commit();
+                    return result;
+                } catch (SQLException e) {
+                    rollbackQuietly(conn, e);
+                    if (!isRetryable(e) || attempt >= retries) {
+                        throw e;
+                    }
+                    System.out.println("⚠️ Transaction conflict (" + e.getMessage() + "), retrying "
+                        + (attempt + 1) + "/" + retries);
+                    backOff(attempt);
+                } catch (RuntimeException | Error e) {
+                    rollbackQuietly(conn, e);
+                    throw e;
+                }
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Deadlock (MySQL 1213), lock wait timeout (1205) or any SQLSTATE class 40
+     * "transaction rollback" error, which other engines use for the same cases.
+     */
+    static boolean isRetryable(SQLException e) {
+        for (SQLException current = e; current != null; current = current.getNextException()) {
+            String state = current.getSQLState();
+            if (current.getErrorCode() == 1213 || current.getErrorCode() == 1205
+                    || (state != null && state.startsWith("40"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void rollbackQuietly(Connection conn, Throwable cause) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static void backOff(int attempt) throws SQLException {
+        long ceiling = BASE_BACKOFF_MS << attempt;
+        try {
+            Thread.sleep(ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while retrying transaction", e);
+        }
+    }
+
+    private static int getMaxRetries() {
+        if (maxRetries < 0) {
+            Properties config = DBConnection.getConfig();
+            maxRetries = Math.max(0, PoolConfig.intValue(config, "db.tx.maxRetries", 3));
+        }
+        return maxRetries;
+    }
+}
@@ -1,5 +1,6 @@
 package com.unifix.main;
 
+import com.unifix.database.SchemaMigrator;
 import java.awt.*;
 import java.io.*;
 import java.nio.file.*;
@@ -122,8 +123,8 @@ public class FirstTimeSetup extends JFrame {
                         userField.getText(),
                         new String(passwordField.getPassword()))) {
                     
-                    // Create tables
-                    createTables(dbConn);
+                    // Create tables from sql/migrations
+                    SchemaMigrator.migrate(dbConn);
                 }
 
                 // Save configuration
@@ -150,48 +151,6 @@ public class FirstTimeSetup extends JFrame {
         }
     }
 
-    private void createTables(Connection conn) throws SQLException {
-        try (Statement stmt = conn.createStatement()) {
-            // Create users table
-            stmt.executeUpdate(
-                "CREATE TABLE IF NOT EXISTS users (" +
-                "user_id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "name VARCHAR(100) NOT NULL, " +
-                "email VARCHAR(100) UNIQUE NOT NULL, " +
-                "password VARCHAR(100) NOT NULL, " +
-                "role ENUM('Student', 'Warden', 'Technician', 'Admin') NOT NULL, " +
-                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"
-            );
-
-            // Create complaints table
-            stmt.executeUpdate(
-                "CREATE TABLE IF NOT EXISTS complaints (" +
-                "complaint_id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "user_id INT, " +
-                "category VARCHAR(100), " +
-                "subcategory VARCHAR(100), " +
-                "description TEXT, " +
-                "location VARCHAR(100), " +
-                "priority ENUM('Low', 'Medium', 'High') DEFAULT 'Low', " +
-                "status ENUM('Pending', 'In Progress', 'Resolved') DEFAULT 'Pending', " +
-                "assigned_to VARCHAR(100), " +
-                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                "FOREIGN KEY (user_id) REFERENCES users(user_id))"
-            );
-
-            // Create solutions table
-            stmt.executeUpdate(
-                "CREATE TABLE IF NOT EXISTS solutions (" +
-                "solution_id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "complaint_id INT, " +
-                "topic VARCHAR(100), " +
-                "resolution TEXT, " +
-                "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                "FOREIGN KEY (complaint_id) REFERENCES complaints(complaint_id))"
-            );
-        }
-    }
-
     private void saveConfiguration() {
         try (FileWriter writer = new FileWriter(CONFIG_FILE)) {
             writer.write("db.host=" + hostField.getText() + "\n");
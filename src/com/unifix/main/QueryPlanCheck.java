@@ -0,0 +1,379 @@
+package com.unifix.main;
+
+import com.unifix.database.DBConnection;
+import com.unifix.database.DatabaseBackend;
+import com.unifix.database.SchemaMigrator;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs EXPLAIN on every SQL statement the application issues and fails when
+ * one reads a whole table, or sorts more rows than --max-rows, so a missing
+ * index shows up here rather than as a slow dashboard in production.
+ *
+ * Meant for a local database: --seed=N first fills it with N synthetic
+ * complaints (see SyntheticData) so the optimizer sees a realistic size.
+ * The indexes the checked queries rely on are in sql/migrations.
+ *
+ * When adding or changing a query in com.unifix, update the catalogue below
+ * (single-row INSERTs are left out: they have no access path to check).
+ *
+ * Usage: java com.unifix.main.QueryPlanCheck [--seed=N] [--max-rows=N]
+ * Exit status is 1 if any query fails the check.
+ */
+public class QueryPlanCheck {
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("(\\w+)\\.(\\w+)\\.tableScan");
+
+    /**
+     * One application query. Parameters name sample values (see loadSamples);
+     * allowScan explains why a whole-table read is expected.
+     */
+    private static final class PlannedQuery {
+        final String name;
+        final String sql;
+        final String[] params;
+        String allowScan;
+
+        PlannedQuery(String name, String sql, String... params) {
+            this.name = name;
+            this.sql = sql;
+            this.params = params;
+        }
+
+        PlannedQuery allowScan(String reason) {
+            this.allowScan = reason;
+            return this;
+        }
+    }
+
+    // ComplaintRepository's listing query; its pages are checked at the default page size
+    private static final String PAGE_SELECT =
+        "SELECT c.complaint_id, c.user_id, u.name, c.category, c.location, " +
+        "c.description, c.priority, c.status, c.assigned_to, c.created_at " +
+        "FROM complaints c JOIN users u ON c.user_id = u.user_id ";
+
+    // StatusCountService's "resolved today" count; the per-status counts are counter rows
+    private static final String RESOLVED_TODAY =
+        "SELECT COUNT(*) FROM complaints WHERE status = 'Resolved' AND created_at >= CURRENT_DATE";
+
+    private static final List<PlannedQuery> QUERIES = List.of(
+        new PlannedQuery("ComplaintRepository.page",
+            PAGE_SELECT + "ORDER BY c.created_at DESC, c.complaint_id DESC LIMIT 101"),
+        new PlannedQuery("ComplaintRepository.page(next)",
+            PAGE_SELECT + "WHERE (c.created_at < ? OR (c.created_at = ? AND c.complaint_id < ?)) " +
+            "ORDER BY c.created_at DESC, c.complaint_id DESC LIMIT 101", "created", "created", "complaint"),
+        new PlannedQuery("ComplaintRepository.page(user, next)",
+            PAGE_SELECT + "WHERE c.user_id = ? AND (c.created_at < ? OR (c.created_at = ? AND c.complaint_id < ?)) " +
+            "ORDER BY c.created_at DESC, c.complaint_id DESC LIMIT 101", "user", "created", "created", "complaint"),
+        new PlannedQuery("ComplaintRepository.page(status, next)",
+            PAGE_SELECT + "WHERE c.status = ? AND (c.created_at < ? OR (c.created_at = ? AND c.complaint_id < ?)) " +
+            "ORDER BY c.created_at DESC, c.complaint_id DESC LIMIT 101", "status", "created", "created", "complaint"),
+        new PlannedQuery("ComplaintRepository.page(status, priority order, next)",
+            PAGE_SELECT + "WHERE c.status = ? AND (c.priority IN ('Low') OR c.priority IS NULL " +
+            "OR (c.priority = 'Medium' AND c.complaint_id > ?)) " +
+            "ORDER BY c.priority DESC, c.complaint_id ASC LIMIT 101", "status", "complaint"),
+        new PlannedQuery("ComplaintRepository.fetchChanges",
+            PAGE_SELECT + "WHERE c.updated_at >= ? ORDER BY c.updated_at LIMIT 1001", "since"),
+        new PlannedQuery("ComplaintRepository.fetchChanges(user)",
+            PAGE_SELECT + "WHERE c.updated_at >= ? AND ((c.user_id = ?) OR c.complaint_id IN (?, ?)) " +
+            "ORDER BY c.updated_at LIMIT 1001", "since", "user", "complaint", "complaint"),
+        new PlannedQuery("ComplaintRepository.fetchChanges(assignee)",
+            PAGE_SELECT + "WHERE c.updated_at >= ? AND ((c.assigned_to = ? AND c.status != 'Resolved') " +
+            "OR c.complaint_id IN (?, ?)) ORDER BY c.updated_at LIMIT 1001", "since", "technician", "complaint", "complaint"),
+        new PlannedQuery("ComplaintRepository.fetchChanges(deleted)",
+            "SELECT complaint_id FROM complaint_deletions WHERE deleted_at >= ?", "since"),
+        new PlannedQuery("LoginPage.login",
+            "SELECT user_id, name, role FROM users WHERE email=? AND password=?", "email", "password"),
+        new PlannedQuery("StatusCountService(counters)",
+            "SELECT status, complaints FROM complaint_status_counters WHERE scope = ?", "scope"),
+        new PlannedQuery("StatusCountService(user)",
+            RESOLVED_TODAY + " AND user_id = ?", "user"),
+        new PlannedQuery("StatusCountService(assignee)",
+            RESOLVED_TODAY + " AND assigned_to = ?", "technician"),
+        new PlannedQuery("StatusCountService(global)",
+            RESOLVED_TODAY),
+        new PlannedQuery("StatusCounters.lock",
+            "SELECT user_id, status, assigned_to FROM complaints WHERE complaint_id = ? FOR UPDATE", "complaint"),
+        new PlannedQuery("StatusCounters.removingUser",
+            "SELECT status, assigned_to, COUNT(*) FROM complaints WHERE user_id = ? GROUP BY status, assigned_to", "user"),
+        new PlannedQuery("StatusCounters.reconcile",
+            "SELECT user_id, assigned_to, status, COUNT(*) FROM complaints " +
+            "WHERE status IS NOT NULL GROUP BY user_id, assigned_to, status")
+            .allowScan("periodic recount of every complaint"),
+        new PlannedQuery("ComplaintDetailCache.version",
+            "SELECT updated_at FROM complaints WHERE complaint_id = ?", "complaint"),
+        new PlannedQuery("ComplaintDetailCache.fetch",
+            "SELECT c.category, c.location, c.description, c.status, c.created_at, c.updated_at, " +
+            "c.image_path, u.name as user_name " +
+            "FROM complaints c " +
+            "JOIN users u ON c.user_id = u.user_id " +
+            "WHERE c.complaint_id = ?", "complaint"),
+        new PlannedQuery("StudentDashboard.loadProfile",
+            "SELECT email, register_no, address, phone FROM users WHERE user_id = ?", "user"),
+        new PlannedQuery("StudentDashboard.saveProfile",
+            "UPDATE users SET register_no = ?, address = ?, phone = ? WHERE user_id = ?", "text", "text", "text", "user"),
+        new PlannedQuery("ComplaintStore.load(technician)",
+            PAGE_SELECT + "WHERE c.assigned_to = ? AND c.status != 'Resolved' " +
+            "ORDER BY c.priority DESC, c.complaint_id ASC", "technician"),
+        new PlannedQuery("ComplaintCsvExport.export",
+            PAGE_SELECT + "ORDER BY c.created_at DESC, c.complaint_id DESC")
+            .allowScan("exports every complaint, streamed"),
+        new PlannedQuery("ComplaintBulkUpdate.lock",
+            "SELECT complaint_id, user_id, status, assigned_to FROM complaints WHERE complaint_id IN (?, ?) " +
+            "ORDER BY complaint_id FOR UPDATE", "complaint", "complaint"),
+        new PlannedQuery("ComplaintBulkUpdate.setStatus",
+            "UPDATE complaints SET status = ? WHERE complaint_id IN (?, ?)", "status", "complaint", "complaint"),
+        new PlannedQuery("SolutionPage.submitSolution",
+            "UPDATE complaints SET status = 'Resolved' WHERE complaint_id = ?", "complaint"),
+        new PlannedQuery("ComplaintBulkUpdate.assign",
+            "UPDATE complaints SET status = 'In Progress', assigned_to = ? WHERE complaint_id IN (?, ?)",
+            "technician", "complaint", "complaint"),
+        new PlannedQuery("TechnicianDirectory.load",
+            "SELECT u.user_id, u.name, COALESCE(SUM(s.complaints), 0) FROM users u " +
+            "LEFT JOIN complaint_status_counters s " +
+            "ON s.scope = CONCAT('assignee:', u.name) AND s.status <> 'Resolved' " +
+            "WHERE u.role = 'Technician' " +
+            "GROUP BY u.user_id, u.name ORDER BY u.name"),
+        new PlannedQuery("ComplaintBulkUpdate.assign(override)",
+            "DELETE FROM complaint_auto_assignments WHERE complaint_id IN (?, ?)", "complaint", "complaint"),
+        new PlannedQuery("AssignmentEngine.run(queue)",
+            PAGE_SELECT + "WHERE c.status = ? ORDER BY c.priority DESC, c.complaint_id ASC", "status"),
+        new PlannedQuery("AssignmentEngine.run(skills)",
+            "SELECT assigned_to, category, COUNT(*) FROM complaints " +
+            "WHERE status = 'Resolved' AND assigned_to IS NOT NULL GROUP BY assigned_to, category")
+            .allowScan("resolved history per technician, recounted every ten minutes"),
+        new PlannedQuery("AssignmentEngine.run(whereabouts)",
+            "SELECT assigned_to, location, COUNT(*) FROM complaints " +
+            "WHERE status = 'In Progress' AND assigned_to IS NOT NULL GROUP BY assigned_to, location"),
+        new PlannedQuery("AssignmentEngine.write(lock)",
+            "SELECT complaint_id, user_id FROM complaints WHERE complaint_id IN (?) " +
+            "AND status = 'Pending' AND assigned_to IS NULL ORDER BY complaint_id FOR UPDATE", "complaint"),
+        new PlannedQuery("AssignmentEngine.write(update)",
+            "UPDATE complaints SET status = 'In Progress', assigned_to = CASE complaint_id WHEN ? THEN ? END " +
+            "WHERE complaint_id IN (?)", "complaint", "technician", "complaint"),
+        new PlannedQuery("AssignmentEngine.recent",
+            "SELECT a.complaint_id, c.category, c.location, c.priority, a.technician, a.reason, a.assigned_at " +
+            "FROM complaint_auto_assignments a JOIN complaints c ON c.complaint_id = a.complaint_id " +
+            "WHERE c.assigned_to = a.technician AND c.status = 'In Progress' " +
+            "ORDER BY a.assigned_at DESC LIMIT 200"),
+        new PlannedQuery("WardenDashboard.viewDetails",
+            "SELECT c.*, u.name FROM complaints c " +
+            "JOIN users u ON c.user_id = u.user_id " +
+            "WHERE c.complaint_id = ?", "complaint"),
+        new PlannedQuery("AdminDashboard.users",
+            "SELECT user_id, name, email, role, created_at FROM users " +
+            "ORDER BY created_at DESC, user_id DESC LIMIT 101 OFFSET 0"),
+        new PlannedQuery("AdminDashboard.users(next)",
+            "SELECT user_id, name, email, role, created_at FROM users " +
+            "WHERE created_at < ? OR (created_at = ? AND user_id < ?) " +
+            "ORDER BY created_at DESC, user_id DESC LIMIT 101 OFFSET 0", "created", "created", "user"),
+        new PlannedQuery("AdminDashboard.users(count)",
+            "SELECT COUNT(*) FROM users")
+            .allowScan("counts the whole table"),
+        new PlannedQuery("ComplaintRepository.estimateCount(status)",
+            "SELECT COUNT(*) FROM complaints c WHERE c.status = ?", "status"),
+        new PlannedQuery("ComplaintRollups.averageResolutionHours",
+            "SELECT SUM(resolution_hours), SUM(resolutions) FROM complaint_daily_rollups " +
+            "WHERE status = 'Resolved'")
+            .allowScan("rollup rows, one per day and dimension"),
+        new PlannedQuery("ComplaintRollups.countByCategory",
+            "SELECT category, SUM(complaints) FROM complaint_daily_rollups " +
+            "GROUP BY category ORDER BY category")
+            .allowScan("rollup rows, one per day and dimension"),
+        new PlannedQuery("ComplaintRollups.refresh(days)",
+            "SELECT DISTINCT CAST(created_at AS DATE) FROM complaints WHERE updated_at >= ? " +
+            "UNION " +
+            "SELECT DISTINCT CAST(created_at AS DATE) FROM complaint_deletions " +
+            "WHERE deleted_at >= ? AND created_at IS NOT NULL", "since", "since"),
+        new PlannedQuery("ComplaintRollups.recompute",
+            "SELECT COALESCE(c.location, ''), COALESCE(c.category, ''), c.status, " +
+            "COUNT(DISTINCT c.complaint_id), COUNT(s.solution_id), " +
+            "COALESCE(SUM(TIMESTAMPDIFF(HOUR, c.created_at, s.updated_at)), 0) " +
+            "FROM complaints c LEFT JOIN solutions s ON s.complaint_id = c.complaint_id AND c.status = 'Resolved' " +
+            "WHERE c.created_at >= ? AND c.created_at < ? AND c.status IS NOT NULL " +
+            "GROUP BY COALESCE(c.location, ''), COALESCE(c.category, ''), c.status", "day", "nextDay"),
+        new PlannedQuery("AdminDashboard.removeUser(deletions)",
+            "INSERT INTO complaint_deletions (complaint_id, created_at) " +
+            "SELECT complaint_id, created_at FROM complaints WHERE user_id = ?", "user"),
+        new PlannedQuery("AdminDashboard.removeUser(solutions)",
+            "DELETE FROM solutions WHERE complaint_id IN (SELECT complaint_id FROM complaints WHERE user_id = ?)", "user"),
+        new PlannedQuery("AdminDashboard.removeUser(auto assignments)",
+            "DELETE FROM complaint_auto_assignments WHERE complaint_id IN " +
+            "(SELECT complaint_id FROM complaints WHERE user_id = ?)", "user"),
+        new PlannedQuery("AdminDashboard.removeUser(complaints)",
+            "DELETE FROM complaints WHERE user_id = ?", "user"),
+        new PlannedQuery("AdminDashboard.removeUser(user)",
+            "DELETE FROM users WHERE user_id = ?", "user")
+    );
+
+    public static void main(String[] args) {
+        int seed = 0;
+        long maxRows = 1000;
+        for (String arg : args) {
+            if (arg.startsWith("--seed=")) {
+                seed = Integer.parseInt(arg.substring("--seed=".length()));
+            } else if (arg.startsWith("--max-rows=")) {
+                maxRows = Long.parseLong(arg.substring("--max-rows=".length()));
+            } else {
+                System.out.println("Usage: QueryPlanCheck [--seed=N] [--max-rows=N]");
+                System.exit(2);
+            }
+        }
+
+        int failures;
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                System.out.println("❌ Database connection failed!");
+                System.exit(1);
+            }
+            SchemaMigrator.migrate(conn);
+            if (seed > 0) {
+                new SyntheticData(conn).load(seed);
+            }
+            failures = check(conn, maxRows);
+        } catch (SQLException e) {
+            System.out.println("❌ Query plan check failed: " + e.getMessage());
+            failures = 1;
+        } finally {
+            DBConnection.shutdown();
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static int check(Connection conn, long maxRows) throws SQLException {
+        Map<String, Object> samples = loadSamples(conn);
+        boolean h2 = DBConnection.getBackend() == DatabaseBackend.H2;
+        int failures = 0;
+
+        for (PlannedQuery query : QUERIES) {
+            List<String> problems;
+            try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + query.sql)) {
+                for (int i = 0; i < query.params.length; i++) {
+                    stmt.setObject(i + 1, samples.get(query.params[i]));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    problems = h2 ? checkH2(conn, rs, maxRows) : checkMySql(rs, maxRows);
+                }
+            } catch (SQLException e) {
+                System.out.println("❌ " + query.name + ": EXPLAIN failed: " + e.getMessage());
+                failures++;
+                continue;
+            }
+
+            if (problems.isEmpty()) {
+                System.out.println("✅ " + query.name);
+            } else if (query.allowScan != null) {
+                System.out.println("⚠️ " + query.name + " (" + query.allowScan + "): " + String.join("; ", problems));
+            } else {
+                System.out.println("❌ " + query.name + ": " + String.join("; ", problems));
+                failures++;
+            }
+        }
+
+        System.out.println(failures == 0
+            ? "✅ All " + QUERIES.size() + " queries use indexes"
+            : "❌ " + failures + " of " + QUERIES.size() + " queries need attention");
+        return failures;
+    }
+
+    /**
+     * MySQL's tabular EXPLAIN: type ALL is a table scan, type index a full
+     * index scan; "Using filesort" sorts the rows instead of reading them in
+     * index order. rows is the optimizer's estimate for that table.
+     */
+    private static List<String> checkMySql(ResultSet rs, long maxRows) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        while (rs.next()) {
+            String table = rs.getString("table");
+            String type = rs.getString("type");
+            long rows = rs.getLong("rows");
+            String extra = rs.getString("Extra");
+            if (rows <= maxRows) {
+                continue;
+            }
+            if ("ALL".equals(type)) {
+                problems.add("full scan of " + table + " (~" + rows + " rows)");
+            } else if ("index".equals(type)) {
+                problems.add("full index scan of " + table + " via " + rs.getString("key") + " (~" + rows + " rows)");
+            }
+            if (extra != null && extra.contains("Using filesort")) {
+                problems.add("filesort of ~" + rows + " " + table + " rows");
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * H2 returns the plan as text and marks table scans with tableScan. It does
+     * not report sorts or row estimates, so only scans of tables larger than
+     * maxRows are flagged.
+     */
+    private static List<String> checkH2(Connection conn, ResultSet rs, long maxRows) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        ResultSetMetaData meta = rs.getMetaData();
+        while (rs.next()) {
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                Matcher m = H2_TABLE_SCAN.matcher(String.valueOf(rs.getObject(i)));
+                while (m.find()) {
+                    long rows = countRows(conn, m.group(2));
+                    if (rows > maxRows) {
+                        problems.add("full scan of " + m.group(2).toLowerCase() + " (" + rows + " rows)");
+                    }
+                }
+            }
+        }
+        return problems;
+    }
+
+    private static long countRows(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Real values from the data, so the optimizer estimates for a typical
+     * student, technician and complaint rather than a value that matches nothing.
+     */
+    private static Map<String, Object> loadSamples(Connection conn) throws SQLException {
+        Map<String, Object> samples = new HashMap<>();
+        samples.put("user", first(conn, "SELECT user_id FROM complaints ORDER BY complaint_id DESC LIMIT 1", 1));
+        samples.put("technician", first(conn,
+            "SELECT assigned_to FROM complaints WHERE assigned_to IS NOT NULL ORDER BY complaint_id DESC LIMIT 1", "Technician"));
+        samples.put("complaint", first(conn, "SELECT MAX(complaint_id) FROM complaints", 1));
+        samples.put("created", first(conn,
+            "SELECT created_at FROM complaints ORDER BY complaint_id DESC LIMIT 1", new Timestamp(System.currentTimeMillis())));
+        samples.put("email", first(conn, "SELECT email FROM users ORDER BY user_id DESC LIMIT 1", "student@unifix.test"));
+        samples.put("since", new Timestamp(System.currentTimeMillis() - 60_000));
+        samples.put("password", "password");
+        samples.put("status", "Pending");
+        samples.put("text", "x");
+        samples.put("scope", "global");
+        java.time.LocalDate today = java.time.LocalDate.now();
+        samples.put("day", java.sql.Date.valueOf(today));
+        samples.put("nextDay", java.sql.Date.valueOf(today.plusDays(1)));
+        return samples;
+    }
+
+    private static Object first(Connection conn, String sql, Object fallback) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (rs.next() && rs.getObject(1) != null) {
+                return rs.getObject(1);
+            }
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,64 @@
+package com.unifix.main;
+
+import com.unifix.database.DBConnection;
+import com.unifix.database.ScriptRunner;
+import com.unifix.database.ScriptStats;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Loads a SQL file (seed data, a dump to restore) into the configured database.
+ *
+ * Usage: java com.unifix.main.RunScript <file.sql> [--continue-on-error] [--batch-size=N]
+ */
+public class RunScript {
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: RunScript <file.sql> [--continue-on-error] [--batch-size=N]");
+            System.exit(2);
+        }
+
+        String file = args[0];
+        boolean stopOnError = true;
+        int batchSize = 1000;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--continue-on-error")) {
+                stopOnError = false;
+            } else if (args[i].startsWith("--batch-size=")) {
+                batchSize = Integer.parseInt(args[i].substring("--batch-size=".length()));
+            }
+        }
+
+        System.out.println("Running " + file + "...");
+        try (Connection conn = DBConnection.getConnection();
+             Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            if (conn == null) {
+                System.out.println("❌ Database connection failed!");
+                System.exit(1);
+            }
+
+            // One transaction for the whole file: far fewer log flushes than autocommit
+            conn.setAutoCommit(false);
+            try {
+                ScriptStats stats = new ScriptRunner(conn, stopOnError)
+                    .batchSize(batchSize)
+                    .runScript(reader);
+                conn.commit();
+                System.out.println("✅ " + stats);
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException | IOException e) {
+            System.out.println("❌ Script failed: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            DBConnection.shutdown();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.unifix.main;
+
+import com.unifix.complaints.ComplaintRollups;
+import com.unifix.complaints.StatusCounters;
+import com.unifix.database.DBConnection;
+import com.unifix.database.DatabaseBackend;
+import com.unifix.utils.Location;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills a local database with generated users, complaints and solutions so
+ * query plans and timings can be checked at a realistic size.
+ *
+ * Generated users have @unifix.test e-mail addresses and generated complaints
+ * start with "Synthetic load", so they are easy to find and remove. Never
+ * point this at the production database.
+ */
+public class SyntheticData {
+    private static final String EMAIL_DOMAIN = "@unifix.test";
+    private static final String DESCRIPTION = "Synthetic load complaint ";
+    private static final String[] CATEGORIES = {"Maintenance", "Security", "Cleanliness", "Infrastructure", "Other"};
+    private static final String[] PRIORITIES = {"Low", "Medium", "High"};
+    private static final int TECHNICIANS = 25;
+    private static final int COMPLAINTS_PER_STUDENT = 20;
+    private static final int BATCH_SIZE = 1000;
+    private static final int COMMIT_EVERY = 20000;
+    private static final long TWO_YEARS_MS = 2L * 365 * 24 * 60 * 60 * 1000;
+
+    private final Connection conn;
+    private final Random random = new Random(42);
+
+    public SyntheticData(Connection conn) {
+        this.conn = conn;
+    }
+
+    /**
+     * Adds complaints until the table holds at least the given number, plus the
+     * students and technicians they belong to and a solution for each resolved one.
+     *
+     * @return the number of complaints added
+     */
+    public int load(int complaints) throws SQLException {
+        int existing = count("SELECT COUNT(*) FROM complaints");
+        int toAdd = complaints - existing;
+        if (toAdd <= 0) {
+            System.out.println("✅ complaints already holds " + existing + " rows, nothing to generate");
+            return 0;
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            List<Integer> students = ensureUsers("Student", "synthetic.student", Math.max(10, toAdd / COMPLAINTS_PER_STUDENT));
+            ensureUsers("Technician", "synthetic.tech", TECHNICIANS);
+            long start = System.currentTimeMillis();
+            insertComplaints(students, toAdd);
+            insertSolutions();
+            conn.commit();
+            System.out.println("✅ Generated " + toAdd + " complaints in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        // The bulk insert bypasses the status counters; bring them up to date in one pass
+        System.out.println("⚙️ Corrected " + StatusCounters.reconcile(conn) + " complaint counters");
+        System.out.println("⚙️ Recomputed " + ComplaintRollups.refresh(conn) + " days of complaint rollups");
+        analyze();
+        return toAdd;
+    }
+
+    private List<Integer> ensureUsers(String role, String prefix, int wanted) throws SQLException {
+        int have = count("SELECT COUNT(*) FROM users WHERE email LIKE '" + prefix + ".%'");
+        if (have < wanted) {
+            String sql = "INSERT INTO users (name, email, password, role) VALUES (?, ?, ?, ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = have; i < wanted; i++) {
+                    stmt.setString(1, userName(role, i));
+                    stmt.setString(2, prefix + "." + i + EMAIL_DOMAIN);
+                    stmt.setString(3, "synthetic");
+                    stmt.setString(4, role);
+                    stmt.addBatch();
+                    if ((i - have + 1) % BATCH_SIZE == 0) {
+                        stmt.executeBatch();
+                    }
+                }
+                stmt.executeBatch();
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        String sql = "SELECT user_id FROM users WHERE email LIKE '" + prefix + ".%'";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    private static String userName(String role, int i) {
+        return (role.equals("Technician") ? "Synthetic Technician " : "Synthetic Student ") + i;
+    }
+
+    private void insertComplaints(List<Integer> students, int rows) throws SQLException {
+        Location[] locations = Location.values();
+        long now = System.currentTimeMillis();
+        String sql = "INSERT INTO complaints (user_id, location, priority, category, description, status, assigned_to, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                // Roughly what a live system looks like: most complaints are closed
+                int roll = random.nextInt(100);
+                String status = roll < 65 ? "Resolved" : roll < 85 ? "In Progress" : "Pending";
+
+                stmt.setInt(1, students.get(random.nextInt(students.size())));
+                stmt.setString(2, locations[random.nextInt(locations.length)].toString());
+                stmt.setString(3, PRIORITIES[random.nextInt(PRIORITIES.length)]);
+                stmt.setString(4, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                stmt.setString(5, DESCRIPTION + i);
+                stmt.setString(6, status);
+                stmt.setString(7, status.equals("Pending") ? null : userName("Technician", random.nextInt(TECHNICIANS)));
+                stmt.setTimestamp(8, new Timestamp(now - (long) (random.nextDouble() * TWO_YEARS_MS)));
+                stmt.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    stmt.executeBatch();
+                }
+                if ((i + 1) % COMMIT_EVERY == 0) {
+                    conn.commit();
+                    System.out.println("⚙️ " + (i + 1) + " / " + rows + " complaints");
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void insertSolutions() throws SQLException {
+        String sql = "INSERT INTO solutions (complaint_id, topic, resolution, updated_at) " +
+                    "SELECT c.complaint_id, 'Synthetic fix', 'Resolved by synthetic load', TIMESTAMPADD(HOUR, 36, c.created_at) " +
+                    "FROM complaints c WHERE c.status = 'Resolved' AND c.description LIKE '" + DESCRIPTION + "%' " +
+                    "AND NOT EXISTS (SELECT 1 FROM solutions s WHERE s.complaint_id = c.complaint_id)";
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+    }
+
+    /**
+     * Refreshes the optimizer statistics so EXPLAIN reflects the new row counts.
+     */
+    private void analyze() throws SQLException {
+        String sql = DBConnection.getBackend() == DatabaseBackend.H2
+            ? "ANALYZE"
+            : "ANALYZE TABLE users, complaints, solutions";
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -1,11 +1,24 @@
 package com.unifix.main;
 import com.unifix.auth.LoginPage;
+import com.unifix.database.DBConnection;
+import com.unifix.database.SchemaCapabilities;
+import com.unifix.database.SchemaMigrator;
+import java.sql.SQLException;
 
 public class UniFix {
     public static void main(String[] args) {
-        if (FirstTimeSetup.isFirstRun()) {
+        // The setup wizard configures a MySQL server; embedded databases need no setup
+        if (FirstTimeSetup.isFirstRun() && !DBConnection.getBackend().isEmbedded()) {
             new FirstTimeSetup();
         } else {
+            // Apply pending migrations; a single version check when already current
+            try {
+                SchemaMigrator.migrate();
+            } catch (SQLException e) {
+                System.out.println("❌ Schema migration failed: " + e.getMessage());
+            }
+            // Read optional tables/columns once instead of on every screen
+            SchemaCapabilities.load();
             new LoginPage();
         }
     }
@@ -1,6 +1,10 @@
 package com.unifix.solutions;
 
-import com.unifix.database.DBConnection;
+import com.unifix.complaints.StatusCountService;
+import com.unifix.complaints.StatusCounters;
+import com.unifix.complaints.TechnicianDirectory;
+import com.unifix.database.DatabaseExecutor;
+import com.unifix.database.UnitOfWork;
 import java.awt.*;
 import java.sql.*;
 import javax.swing.*;
@@ -59,24 +63,43 @@ public class SolutionPage extends JFrame {
             return;
         }
 
-        try (Connection conn = DBConnection.getConnection()) {
-            // Insert solution
+        // The solution and the status change commit together: a complaint is
+        // never left Resolved without its solution, or the other way round.
+        // The complaint row is locked first, like every other status change,
+        // so the solutions insert never waits on it while holding locks of its own
+        submitButton.setEnabled(false);
+        DatabaseExecutor.submitToEdt(UnitOfWork.of(conn -> {
+            StatusCounters.Snapshot before = StatusCounters.lock(conn, complaintId);
+            if (before == null) {
+                return null;
+            }
+
             String sql = "INSERT INTO solutions (complaint_id, topic, resolution) VALUES (?, ?, ?)";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, complaintId);
-            stmt.setString(2, topic);
-            stmt.setString(3, resolution);
-            stmt.executeUpdate();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, complaintId);
+                stmt.setString(2, topic);
+                stmt.setString(3, resolution);
+                stmt.executeUpdate();
+            }
 
-            // Update complaint status
             sql = "UPDATE complaints SET status = 'Resolved' WHERE complaint_id = ?";
-            stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, complaintId);
-            stmt.executeUpdate();
-
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, complaintId);
+                stmt.executeUpdate();
+            }
+            StatusCounters.changed(conn, before, "Resolved");
+            return before;
+        }), before -> {
+            if (before == null) {
+                JOptionPane.showMessageDialog(this, "This complaint no longer exists.");
+                dispose();
+                return;
+            }
+            StatusCountService.invalidate();
+            TechnicianDirectory.applied(before, "Resolved", before.getAssignee());
             JOptionPane.showMessageDialog(this, "Solution submitted successfully!");
             dispose();
-            
+
             // Refresh parent frame if it's the TechnicianDashboard
             if (parentFrame != null && parentFrame.getClass().getSimpleName().equals("TechnicianDashboard")) {
                 try {
@@ -85,8 +108,9 @@ public class SolutionPage extends JFrame {
                     e.printStackTrace();
                 }
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error submitting solution: " + e.getMessage());
-        }
+        }, error -> {
+            submitButton.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Error submitting solution: " + error.getMessage());
+        });
     }
 }
\ No newline at end of file
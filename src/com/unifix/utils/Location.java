@@ -2,41 +2,66 @@ package com.unifix.utils;
 
 public enum Location {
     // Main Buildings
-    UNIVERSITY_BUILDING("University Building"),
-    TECHPARK_1("Tech Park 1"),
-    TECHPARK_2("Tech Park 2"),
+    UNIVERSITY_BUILDING("University Building", Area.MAIN_BUILDINGS),
+    TECHPARK_1("Tech Park 1", Area.MAIN_BUILDINGS),
+    TECHPARK_2("Tech Park 2", Area.MAIN_BUILDINGS),
     
     // Hostels
-    PAARI_HOSTEL("Hostel - Paari"),
-    KAARI_HOSTEL("Hostel - Kaari"),
-    OORI_HOSTEL("Hostel - Oori"),
-    ADHIYAMAN_HOSTEL("Hostel - Adhiyaman"),
-    NELSON_MANDELA_HOSTEL("Hostel - Nelson Mandela"),
-    AGASTHIYAR_HOSTEL("Hostel - Agasthiyar"),
-    MULLAI_HOSTEL("Hostel - Mullai"),
-    MANORANJITHAM_HOSTEL("Hostel - Manoranjitham"),
-    AVVAIYAR_HOSTEL("Hostel - Avvaiyar"),
+    PAARI_HOSTEL("Hostel - Paari", Area.HOSTELS),
+    KAARI_HOSTEL("Hostel - Kaari", Area.HOSTELS),
+    OORI_HOSTEL("Hostel - Oori", Area.HOSTELS),
+    ADHIYAMAN_HOSTEL("Hostel - Adhiyaman", Area.HOSTELS),
+    NELSON_MANDELA_HOSTEL("Hostel - Nelson Mandela", Area.HOSTELS),
+    AGASTHIYAR_HOSTEL("Hostel - Agasthiyar", Area.HOSTELS),
+    MULLAI_HOSTEL("Hostel - Mullai", Area.HOSTELS),
+    MANORANJITHAM_HOSTEL("Hostel - Manoranjitham", Area.HOSTELS),
+    AVVAIYAR_HOSTEL("Hostel - Avvaiyar", Area.HOSTELS),
     
     // Food Courts & Common Areas
-    VENDHAR_SQUARE("Vendhar Square"),
-    JAVA_CANTEEN("Java Canteen"),
+    VENDHAR_SQUARE("Vendhar Square", Area.COMMON_AREAS),
+    JAVA_CANTEEN("Java Canteen", Area.COMMON_AREAS),
     
     // Academic Blocks
-    BELL_BLOCK("Bell Block"),
-    MBA_BLOCK("MBA Block"),
-    BIOTECH_BLOCK("Bio Tech Block"),
-    TP_GANESAN_AUDITORIUM("TP Ganesan Auditorium");
+    BELL_BLOCK("Bell Block", Area.ACADEMIC_BLOCKS),
+    MBA_BLOCK("MBA Block", Area.ACADEMIC_BLOCKS),
+    BIOTECH_BLOCK("Bio Tech Block", Area.ACADEMIC_BLOCKS),
+    TP_GANESAN_AUDITORIUM("TP Ganesan Auditorium", Area.ACADEMIC_BLOCKS);
+
+    /**
+     * Groups of nearby locations.
+     */
+    public enum Area {
+        MAIN_BUILDINGS, HOSTELS, COMMON_AREAS, ACADEMIC_BLOCKS
+    }
 
     private final String displayName;
+    private final Area area;
 
-    Location(String displayName) {
+    Location(String displayName, Area area) {
         this.displayName = displayName;
+        this.area = area;
     }
 
     public String getDisplayName() {
         return displayName;
     }
 
+    public Area getArea() {
+        return area;
+    }
+
+    /**
+     * The location stored as the given name in complaints.location, or null.
+     */
+    public static Location fromDisplayName(String displayName) {
+        for (Location location : values()) {
+            if (location.displayName.equals(displayName)) {
+                return location;
+            }
+        }
+        return null;
+    }
+
     @Override
     public String toString() {
         return displayName;
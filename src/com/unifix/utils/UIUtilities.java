@@ -3,6 +3,8 @@ package com.unifix.utils;
 import javax.swing.*;
 import java.awt.*;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Utility class for UI-related functionality
@@ -69,4 +71,18 @@ public class UIUtilities {
         panel.setBackground(BACKGROUND_COLOR);
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
     }
+
+    /**
+     * The ids in the given column of a table's selected rows, skipping rows still loading
+     */
+    public static List<Integer> selectedIds(JTable table, int idColumn) {
+        List<Integer> ids = new ArrayList<>();
+        for (int row : table.getSelectedRows()) {
+            Object value = table.getValueAt(row, idColumn);
+            if (value instanceof Integer) {
+                ids.add((Integer) value);
+            }
+        }
+        return ids;
+    }
 }
\ No newline at end of file
@@ -2,7 +2,8 @@
 echo Updating UniFix Database...
 echo =============================
 
-mysql -u root < sql/update_schema.sql
+REM Apply pending migrations from sql\migrations
+java -cp "bin;lib/*;resources" com.unifix.main.UpdateDatabase
 
 if %errorlevel% neq 0 (
     echo.